@@ -12,6 +12,9 @@ import de.unistuttgart.iste.meitrex.scrumgame.crs.CrsEventTypes;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.DinoDevEventTypes;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventPersistenceService;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules.MeteredRule;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules.RuleDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -38,15 +41,28 @@ public class GamificationConfiguration {
     }
 
     @Bean
-    RuleRegistry ruleRegistry(ApplicationContext applicationContext) {
+    RuleRegistry ruleRegistry(
+            ApplicationContext applicationContext,
+            EventTypeRegistry eventTypeRegistry,
+            MeterRegistry meterRegistry,
+            EventPublisher<Event, CreateEventInput> eventPublisher
+    ) {
         RuleRegistry ruleRegistry = new RuleRegistry();
 
         Map<String, Rule> ruleBeans = applicationContext.getBeansOfType(Rule.class);
+        Map<String, List<Rule>> rulesByEventType = indexRulesByEventType(ruleBeans.values(), eventTypeRegistry);
+        rulesByEventType.forEach((eventType, rules) -> log.info("Event type {} triggers rules {}", eventType,
+                rules.stream().map(rule -> rule.getClass().getSimpleName()).toList()));
 
-        // Register each Rule bean
-        for (Rule rule : ruleBeans.values()) {
-            ruleRegistry.register(rule);
-        }
+        // each Rule bean, with metrics
+        Map<Rule, Rule> meteredRules = new IdentityHashMap<>();
+        ruleBeans.values().forEach(rule -> meteredRules.put(rule, new MeteredRule(rule, meterRegistry)));
+        Map<String, List<Rule>> meteredRulesByEventType = new HashMap<>();
+        rulesByEventType.forEach((eventType, rules) -> meteredRulesByEventType.put(eventType,
+                rules.stream().map(meteredRules::get).toList()));
+
+        // the engine only evaluates the rules of the type of each event, as it dispatches through the index
+        ruleRegistry.register(new RuleDispatcher(meteredRulesByEventType, eventPublisher));
 
         return ruleRegistry;
     }
@@ -60,6 +76,37 @@ public class GamificationConfiguration {
         return new GamificationEngine(eventPublisher, ruleRegistry, eventTypeRegistry);
     }
 
+    /**
+     * Builds the index of the rules triggered by each event type. Fails if two rules have the same id, as the id
+     * identifies a rule, e.g., in metrics, and warns about rules triggered by event types that are not registered.
+     */
+    static Map<String, List<Rule>> indexRulesByEventType(
+            Collection<Rule> rules,
+            EventTypeRegistry eventTypeRegistry
+    ) {
+        Map<UUID, Rule> rulesById = new HashMap<>();
+        Map<String, List<Rule>> rulesByEventType = new TreeMap<>();
+
+        for (Rule rule : rules) {
+            Rule ruleWithSameId = rulesById.putIfAbsent(rule.getId(), rule);
+            if (ruleWithSameId != null) {
+                throw new IllegalStateException("Rules " + rule.getClass().getName() + " and "
+                                                + ruleWithSameId.getClass().getName() + " have the same id");
+            }
+
+            for (String eventType : new LinkedHashSet<>(rule.getTriggerEventTypeIdentifiers())) {
+                if (eventTypeRegistry.findById(eventType).isEmpty()) {
+                    log.warn("Rule {} is triggered by unknown event type {}",
+                            rule.getClass().getSimpleName(), eventType);
+                }
+                rulesByEventType.computeIfAbsent(eventType, key -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        rulesByEventType.replaceAll((eventType, rulesOfType) -> List.copyOf(rulesOfType));
+        return Collections.unmodifiableMap(rulesByEventType);
+    }
+
     private void registerEventTypes(EventTypeRegistry eventTypeRegistry) {
 
         ImsEventTypes.allEventTypes().forEach(eventTypeRegistry::register);
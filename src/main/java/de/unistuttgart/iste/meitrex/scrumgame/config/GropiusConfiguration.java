@@ -3,6 +3,7 @@ package de.unistuttgart.iste.meitrex.scrumgame.config;
 import de.unistuttgart.iste.meitrex.common.graphqlclient.GraphQlRequestExecutor;
 import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthConnector;
 import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthTokenFromHeaderSupplier;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.CachingAuthConnector;
 import de.unistuttgart.iste.meitrex.scrumgame.service.auth.GropiusAuthConnector;
 import jakarta.annotation.Nullable;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +13,7 @@ import org.springframework.graphql.client.HttpGraphQlClient;
 import org.springframework.graphql.client.WebGraphQlClient;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.function.*;
 
@@ -60,9 +62,18 @@ public class GropiusConfiguration {
     @Nullable
     private String publicKeyBase64Encoded;
 
+    @Value("${dinodev.auth.user-cache.time-to-live:5m}")
+    private Duration userCacheTimeToLive;
+
+    @Value("${dinodev.auth.user-cache.negative-time-to-live:30s}")
+    private Duration userCacheNegativeTimeToLive;
+
     @Bean
     public AuthConnector authConnector(GraphQlRequestExecutor graphQlRequestExecutor) {
         Objects.requireNonNull(publicKeyBase64Encoded);
-        return new GropiusAuthConnector(graphQlRequestExecutor, publicKeyBase64Encoded);
+        return new CachingAuthConnector(
+                new GropiusAuthConnector(graphQlRequestExecutor, publicKeyBase64Encoded),
+                userCacheTimeToLive,
+                userCacheNegativeTimeToLive);
     }
 }
@@ -1,20 +1,28 @@
 package de.unistuttgart.iste.meitrex.scrumgame.controller.event;
 
 import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventCursor;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.ReminderService;
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
 import reactor.core.publisher.Flux;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 
 @Slf4j
 @Controller
@@ -24,15 +32,37 @@ public class EventController {
     private final EventService eventService;
     private final ReminderService reminderService;
 
+    private static final String CHILDREN_CACHE_KEY = EventController.class.getName() + ".children";
+
+    @Value("${dinodev.events.max-page-size:100}")
+    private int maxPageSize;
+    @Value("${dinodev.events.max-offset:10000}")
+    private int maxOffset;
+
     @SchemaMapping
-    public Page<Event> events(
+    public List<Event> events(
             Project project,
             @Argument int page,
             @Argument int size
     ) {
         reminderService.publishRemindersIfScheduled();
-        Pageable pageable = PageRequest.of(page, size);
-        return eventService.getAndSyncEvents(project, pageable);
+        int pageSize = limitPageSize(size);
+        if (pageSize == 0) {
+            return List.of();
+        }
+        return eventService.getAndSyncEvents(project, PageRequest.of(limitPage(page, pageSize), pageSize));
+    }
+
+    @SchemaMapping
+    public EventConnection eventConnection(
+            Project project,
+            @Argument int first,
+            @Argument @Nullable String after,
+            DataFetchingFieldSelectionSet selectionSet
+    ) {
+        reminderService.publishRemindersIfScheduled();
+        return eventService.getAndSyncEvents(project, limitPageSize(first),
+                EventCursor.decode(after), isTotalCountRequested(selectionSet));
     }
 
     @SchemaMapping
@@ -40,6 +70,17 @@ public class EventController {
         return eventService.getAndSyncEvents(issue);
     }
 
+    @SchemaMapping
+    public EventConnection issueEventConnection(
+            Issue issue,
+            @Argument int first,
+            @Argument @Nullable String after,
+            DataFetchingFieldSelectionSet selectionSet
+    ) {
+        return eventService.getAndSyncEvents(issue, limitPageSize(first),
+                EventCursor.decode(after), isTotalCountRequested(selectionSet));
+    }
+
     @SchemaMapping
     public Page<Event> publicEvents(
             UserInProject user,
@@ -50,6 +91,17 @@ public class EventController {
         return eventService.getPublicUserEvents(user.getProjectId(), user.getUserId(), pageable);
     }
 
+    @SchemaMapping
+    public EventConnection publicEventConnection(
+            UserInProject user,
+            @Argument int first,
+            @Argument @Nullable String after,
+            DataFetchingFieldSelectionSet selectionSet
+    ) {
+        return eventService.getPublicUserEvents(user.getProjectId(), user.getUserId(),
+                limitPageSize(first), EventCursor.decode(after), isTotalCountRequested(selectionSet));
+    }
+
     @SchemaMapping
     public Event reactToEvent(ProjectMutation projectMutation, @Argument UUID eventId, @Argument String reaction) {
         return eventService.reactToEvent(projectMutation, eventId, reaction);
@@ -69,23 +121,87 @@ public class EventController {
         return eventService.findField(event, name).orElse(null);
     }
 
-    @SchemaMapping
-    public Integer xpForCurrentUser(DefaultEvent event) {
-        return eventService.getXpForCurrentUser(event);
+    @BatchMapping(typeName = "DefaultEvent")
+    public Map<DefaultEvent, Integer> xpForCurrentUser(List<DefaultEvent> events, GraphQLContext context) {
+        Map<UUID, List<DefaultEvent>> children = getChildren(events, context);
+        return mapEvents(events, event -> eventService.getXpForCurrentUser(children.get(event.getId())));
     }
 
-    @SchemaMapping
-    public List<Reaction> reactions(DefaultEvent event) {
-        return eventService.getReactions(event);
+    @BatchMapping(typeName = "DefaultEvent")
+    public Map<DefaultEvent, List<Reaction>> reactions(List<DefaultEvent> events, GraphQLContext context) {
+        Map<UUID, List<DefaultEvent>> children = getChildren(events, context);
+        return mapEvents(events, event -> eventService.getReactions(children.get(event.getId())));
     }
 
-    @SchemaMapping
-    public List<DefaultEvent> children(DefaultEvent event) {
-        return eventService.getChildren(event);
+    @BatchMapping(typeName = "DefaultEvent")
+    public Map<DefaultEvent, List<DefaultEvent>> children(List<DefaultEvent> events, GraphQLContext context) {
+        Map<UUID, List<DefaultEvent>> children = getChildren(events, context);
+        return mapEvents(events, event -> children.get(event.getId()));
     }
 
     @SubscriptionMapping
     public Flux<Event> event(@Argument UUID projectId, @Argument UUID userId) {
         return eventService.getEventFlux(projectId, userId);
     }
+
+    /**
+     * Returns the children of the given events. The children are cached for the current request, so if the
+     * children, reactions and XP of the same events are requested, the children are only loaded once.
+     */
+    private Map<UUID, List<DefaultEvent>> getChildren(List<DefaultEvent> events, GraphQLContext context) {
+        Map<UUID, List<DefaultEvent>> cache = context.computeIfAbsent(CHILDREN_CACHE_KEY,
+                key -> new ConcurrentHashMap<UUID, List<DefaultEvent>>());
+
+        List<UUID> missingIds = events.stream()
+                .map(DefaultEvent::getId)
+                .filter(id -> !cache.containsKey(id))
+                .distinct()
+                .toList();
+        if (!missingIds.isEmpty()) {
+            Map<UUID, List<DefaultEvent>> loaded = eventService.getChildren(missingIds);
+            missingIds.forEach(id -> cache.put(id, loaded.getOrDefault(id, List.of())));
+        }
+        return cache;
+    }
+
+    private static <T> Map<DefaultEvent, T> mapEvents(List<DefaultEvent> events, Function<DefaultEvent, T> mapper) {
+        Map<DefaultEvent, T> result = new HashMap<>();
+        events.forEach(event -> result.put(event, mapper.apply(event)));
+        return result;
+    }
+
+    /**
+     * Returns the number of events to load for the given {@code first} argument of a connection, which is at most
+     * the maximum page size. Clients can load further events with the cursor of the last event.
+     *
+     * @throws IllegalArgumentException if the argument is negative
+     */
+    private int limitPageSize(int first) {
+        if (first < 0) {
+            throw new IllegalArgumentException("The number of events must not be negative, but was " + first);
+        }
+        return Math.min(first, maxPageSize);
+    }
+
+    /**
+     * Checks the page number of an offset based query. The database skips the events of all previous pages, so
+     * the number of skipped events is limited. Clients can load further events with the cursor based connections.
+     *
+     * @throws IllegalArgumentException if the page is negative or skips more than the maximum offset
+     */
+    private int limitPage(int page, int pageSize) {
+        if (page < 0) {
+            throw new IllegalArgumentException("The page must not be negative, but was " + page);
+        }
+        if ((long) page * pageSize > maxOffset) {
+            throw new IllegalArgumentException("Pages after the first " + maxOffset
+                                               + " events can only be loaded with the event connection");
+        }
+        return page;
+    }
+
+    // the total count requires an additional query, so it is only computed if the client asks for it
+    private static boolean isTotalCountRequested(DataFetchingFieldSelectionSet selectionSet) {
+        return selectionSet.contains("totalCount");
+    }
 }
@@ -64,14 +64,14 @@ public class ImsController {
 
     @SchemaMapping
     public List<Issue> sprintIssues(SprintGoalVoting sprintGoalVoting) {
-        return imsService.getIssuesByIds(
+        return imsServiceExtension.getIssuesByIds(
                 sprintGoalVoting.getPlanningMeeting().getProjectId(),
                 sprintGoalVoting.getSprintIssueIds());
     }
 
     @SchemaMapping
     public List<Issue> nonSprintIssues(SprintGoalVoting sprintGoalVoting) {
-        return imsService.getIssuesByIds(
+        return imsServiceExtension.getIssuesByIds(
                 sprintGoalVoting.getPlanningMeeting().getProjectId(),
                 sprintGoalVoting.getNonSprintIssueIds());
     }
@@ -139,4 +139,10 @@ public class PlanningMeetingController {
         log.info("Subscribing to planning meeting updates for project {}", projectId);
         return planningMeetingService.getPlanningMeetingUpdatedSubscription(projectId);
     }
+
+    @SubscriptionMapping
+    public Flux<PlanningMeetingUpdate> planningMeetingUpdates(@Argument UUID projectId) {
+        log.info("Subscribing to planning meeting delta updates for project {}", projectId);
+        return planningMeetingService.getPlanningMeetingUpdates(projectId);
+    }
 }
@@ -1,14 +1,18 @@
 package de.unistuttgart.iste.meitrex.scrumgame.controller.sprint;
 
 import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.scrumgame.service.sprint.BurnChart;
+import de.unistuttgart.iste.meitrex.scrumgame.service.sprint.BurnChartService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.sprint.SprintService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.sprint.SprintStatsService;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
+import java.time.Duration;
 import java.util.*;
 
 @Controller
@@ -17,6 +21,7 @@ public class SprintController {
 
     private final SprintService      sprintService;
     private final SprintStatsService sprintStatsService;
+    private final BurnChartService   burnChartService;
 
     @SchemaMapping
     public Sprint createSprint(ProjectMutation projectMutation, @Argument CreateSprintInput input) {
@@ -57,8 +62,27 @@ public class SprintController {
         return sprintStatsService.getSprintStats(sprint);
     }
 
+    @BatchMapping
+    public Map<SprintStats, BurnChart> dailyBurnChart(List<SprintStats> stats) {
+        return getBurnCharts(stats, Duration.ofDays(1));
+    }
+
+    @BatchMapping
+    public Map<SprintStats, BurnChart> hourlyBurnChart(List<SprintStats> stats) {
+        return getBurnCharts(stats, Duration.ofHours(1));
+    }
+
     @SchemaMapping
     public SprintUserStats userStatsByUserId(SprintStats stats, @Argument UUID userId) {
         return sprintStatsService.getUserStatsByUserId(stats, userId);
     }
+
+    private Map<SprintStats, BurnChart> getBurnCharts(List<SprintStats> stats, Duration bucketLength) {
+        Map<Sprint, BurnChart> burnCharts = burnChartService.getBurnCharts(
+                stats.stream().map(SprintStats::getSprint).toList(), bucketLength);
+
+        Map<SprintStats, BurnChart> result = new HashMap<>();
+        stats.forEach(sprintStats -> result.put(sprintStats, burnCharts.get(sprintStats.getSprint())));
+        return result;
+    }
 }
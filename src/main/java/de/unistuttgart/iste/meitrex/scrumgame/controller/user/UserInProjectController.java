@@ -1,12 +1,14 @@
 package de.unistuttgart.iste.meitrex.scrumgame.controller.user;
 
 import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
 import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.AchievementService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.user.UserInProjectService;
 import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
@@ -39,9 +41,15 @@ public class UserInProjectController {
         return userInProjectService.getUsersInProjectByProjectId(project.getId());
     }
 
-    @SchemaMapping
-    public List<AchievementProgress> achievements(UserInProject userInProject) {
-        return achievementService.getForUserInProject(userInProject.getUserId(), userInProject.getProjectId());
+    @BatchMapping
+    public List<List<AchievementProgress>> achievements(List<UserInProject> usersInProjects) {
+        List<UserProjectId> userProjectIds = usersInProjects.stream()
+                .map(userInProject -> new UserProjectId(userInProject.getUserId(), userInProject.getProjectId()))
+                .toList();
+        Map<UserProjectId, List<AchievementProgress>> achievements
+                = achievementService.getForUsersInProjects(userProjectIds);
+
+        return userProjectIds.stream().map(achievements::get).toList();
     }
 
     @SchemaMapping
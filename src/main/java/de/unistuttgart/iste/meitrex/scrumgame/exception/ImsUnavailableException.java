@@ -0,0 +1,18 @@
+package de.unistuttgart.iste.meitrex.scrumgame.exception;
+
+import de.unistuttgart.iste.meitrex.common.exception.ExceptionWithGraphQlErrorType;
+import graphql.ErrorType;
+import lombok.experimental.StandardException;
+
+/**
+ * Exception that is thrown when the IMS does not respond in time and no cached data is available.
+ */
+@StandardException
+public class ImsUnavailableException extends RuntimeException
+        implements ExceptionWithGraphQlErrorType {
+
+    @Override
+    public ErrorType getErrorType() {
+        return ErrorType.DataFetchingException;
+    }
+}
@@ -12,13 +12,16 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Persistable;
 
 import java.time.OffsetDateTime;
 import java.util.*;
 
 @Slf4j
 @Entity
-@Table(name = "event")
+@Table(name = "event", indexes = {
+        @Index(name = "idx_event_issue_id_timestamp", columnList = "issue_id, timestamp DESC")
+})
 @Getter
 @ToString(onlyExplicitlyIncluded = true)
 @EqualsAndHashCode(of = "id")
@@ -26,7 +29,7 @@ import java.util.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class EventEntity implements Event, IWithId<UUID> {
+public class EventEntity implements Event, IWithId<UUID>, Persistable<UUID> {
 
     @Id
     @Column(nullable = false)
@@ -80,6 +83,15 @@ public class EventEntity implements Event, IWithId<UUID> {
     @Setter
     private UUID userId;
 
+    /**
+     * The id of the issue this event is about, if any. This is a copy of the "issueId" field of the event data,
+     * stored in its own column so events of an issue can be found with an index lookup.
+     */
+    @Column(name = "issue_id")
+    @Nullable
+    @Setter
+    private String issueId;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @Builder.Default
     private List<UUID> visibleToUserIds = new ArrayList<>();
@@ -97,6 +109,15 @@ public class EventEntity implements Event, IWithId<UUID> {
     @Builder.Default
     private List<DataFieldEmbeddable> eventData = new ArrayList<>();
 
+    /**
+     * Events always have an assigned id, so Spring Data cannot tell new from existing events by the id alone
+     * and would issue a SELECT before every insert. This flag is cleared once the entity is persisted or loaded.
+     */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    private boolean isNew = true;
+
     @PreRemove
     private void preRemove() {
         if (parent != null) {
@@ -112,6 +133,17 @@ public class EventEntity implements Event, IWithId<UUID> {
         }
     }
 
+    @PostLoad
+    @PostPersist
+    private void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
     @NotNull
     public String getEventTypeIdentifier() {
         return eventTypeIdentifier != null
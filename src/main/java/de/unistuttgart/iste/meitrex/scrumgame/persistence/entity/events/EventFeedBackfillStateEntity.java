@@ -0,0 +1,49 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events;
+
+import de.unistuttgart.iste.meitrex.common.persistence.IWithId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.util.*;
+
+/**
+ * Progress of filling the event feed, see {@link EventFeedEntryEntity}, from the events that existed before the feed
+ * was introduced. The table contains a single row with the id {@link #ID}.
+ * <p>
+ * The existing events are processed ordered by id, so if the service stops while the feed is filled, filling
+ * continues after the last processed event on the next start.
+ */
+@Entity
+@Table(name = "event_feed_backfill_state")
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "id")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFeedBackfillStateEntity implements IWithId<UUID> {
+
+    /**
+     * Id of the single row of the table.
+     */
+    public static final UUID ID = new UUID(0, 0);
+
+    @Id
+    private UUID id;
+
+    /**
+     * Id of the last event that was added to the feed, or null if no event was processed yet.
+     */
+    @Column
+    private UUID lastEventId;
+
+    /**
+     * Whether all existing events were added to the feed.
+     */
+    @Column(nullable = false)
+    private boolean completed;
+}
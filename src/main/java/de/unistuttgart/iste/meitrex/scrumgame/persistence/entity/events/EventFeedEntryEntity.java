@@ -0,0 +1,81 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events;
+
+import de.unistuttgart.iste.meitrex.common.persistence.IWithId;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Entry of the materialized event feed. There is one entry for each top-level event and each audience of the event.
+ * The audience is either a single user, for private events, or {@link #EVERYONE} for public events. Events without a
+ * project are stored with the project id {@link #ALL_PROJECTS} and are shown in the feeds of all projects, including
+ * projects that are created later.
+ * <p>
+ * The feed is filled when events are persisted and allows to page through the events visible to a user with index
+ * scans, instead of evaluating the visibility of each event. The feed of a user is merged from the entries of the
+ * project and of {@link #ALL_PROJECTS}, each for the user and for {@link #EVERYONE}, so the index starts with both.
+ */
+@Entity
+@Table(name = "event_feed_entry",
+        indexes = @Index(name = "idx_event_feed_entry_project_audience_timestamp",
+                columnList = "project_id, audience_user_id, timestamp DESC, event_id DESC"))
+@Getter
+@ToString
+@EqualsAndHashCode(of = "id")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventFeedEntryEntity
+        implements IWithId<EventFeedEntryEntity.EventFeedEntryId>, Persistable<EventFeedEntryEntity.EventFeedEntryId> {
+
+    /**
+     * Audience id of entries that are visible to every user of the project.
+     */
+    public static final UUID EVERYONE = new UUID(0, 0);
+
+    /**
+     * Project id of entries of events without a project, which are shown in the feeds of all projects.
+     */
+    public static final UUID ALL_PROJECTS = new UUID(0, 0);
+
+    @EmbeddedId
+    private EventFeedEntryId id;
+
+    @Column(nullable = false)
+    private OffsetDateTime timestamp;
+
+    // entries are never updated, so they are new until they are persisted or loaded
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    private void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class EventFeedEntryId implements Serializable {
+
+        @Column(name = "project_id")
+        private UUID projectId;
+        @Column(name = "audience_user_id")
+        private UUID audienceUserId;
+        @Column(name = "event_id")
+        private UUID eventId;
+    }
+}
@@ -0,0 +1,40 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events;
+
+import de.unistuttgart.iste.meitrex.common.persistence.IWithId;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * State of the event synchronization with the IMS of a project.
+ * <p>
+ * The watermark is persisted, so a restart of the service continues the synchronization where it stopped
+ * instead of fetching all events of the project again.
+ */
+@Entity
+@Table(name = "event_sync_state")
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(of = "id")
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSyncStateEntity implements IWithId<UUID> {
+
+    // the id of the project
+    @Id
+    private UUID id;
+
+    /**
+     * Start time of the last successful synchronization. All events that happened before this time have been
+     * fetched from the IMS.
+     */
+    @Column(nullable = false)
+    private OffsetDateTime lastSyncedAt;
+}
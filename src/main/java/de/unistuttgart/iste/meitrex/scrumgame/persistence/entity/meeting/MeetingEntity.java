@@ -24,6 +24,13 @@ public class MeetingEntity implements IWithId<UUID> {
     @GeneratedValue
     private UUID id;
 
+    // detects concurrent updates of the same meeting by several instances, see MeetingConcurrencyControl.
+    // the default fills the column of meetings that were created before it existed
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private long version = 0;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @Builder.Default
     private List<MeetingAttendeeEmbeddable> attendees = new ArrayList<>();
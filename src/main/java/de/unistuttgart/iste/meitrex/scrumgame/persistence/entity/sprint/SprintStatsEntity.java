@@ -0,0 +1,84 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint;
+
+import de.unistuttgart.iste.meitrex.common.persistence.IWithId;
+import de.unistuttgart.iste.meitrex.generated.dto.SprintSuccessState;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Stats of a finished sprint. Stats of finished sprints do not change anymore, so they are computed once and
+ * stored, instead of being recomputed from the issues and events of the sprint.
+ * <p>
+ * Stats that depend on the current time, like the days left, are not stored but computed when loaded.
+ * The planned story points and dates of the sprint are stored to detect if the sprint was changed after the stats
+ * were computed.
+ */
+@Entity
+@Table(name = "sprint_stats")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SprintStatsEntity implements IWithId<SprintStatsEntity.SprintStatsId> {
+
+    // weak link to the sprint, sprints are identified by project and number
+    @EmbeddedId
+    private SprintStatsId id;
+
+    @Column
+    @Nullable
+    private Integer storyPointsPlanned;
+
+    @Column
+    @Nullable
+    private OffsetDateTime startDate;
+
+    @Column
+    @Nullable
+    private OffsetDateTime endDate;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private SprintSuccessState successState;
+
+    private int streak;
+    private int totalStoryPoints;
+    private double averageStoryPoints;
+    private double percentageStoryPointsCompleted;
+    private double percentageStoryPointsInProgress;
+    private double percentageStoryPointsNotStarted;
+    private int issueCount;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @OrderColumn
+    @Builder.Default
+    private List<Integer> storyPointsByDay = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @OrderColumn
+    @Builder.Default
+    private List<Integer> burnDown = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Builder.Default
+    private List<SprintUserStatsEmbeddable> userStats = new ArrayList<>();
+
+    @Embeddable
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SprintStatsId implements Serializable {
+
+        @Column(name = "project_id")
+        private UUID projectId;
+
+        @Column(name = "sprint_number")
+        private int sprintNumber;
+    }
+}
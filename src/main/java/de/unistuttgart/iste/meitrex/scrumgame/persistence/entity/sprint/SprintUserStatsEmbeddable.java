@@ -0,0 +1,21 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.util.*;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SprintUserStatsEmbeddable {
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column
+    private double storyPointsCompleted;
+
+}
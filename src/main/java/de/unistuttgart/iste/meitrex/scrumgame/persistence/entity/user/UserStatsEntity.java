@@ -5,9 +5,12 @@ import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "user_stats")
+// only changed columns are updated, so counters incremented in the database are not overwritten
+@DynamicUpdate
 @Getter
 @Setter
 @AllArgsConstructor
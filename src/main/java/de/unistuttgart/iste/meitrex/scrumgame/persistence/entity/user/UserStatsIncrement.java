@@ -0,0 +1,33 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user;
+
+import lombok.Builder;
+
+/**
+ * Amounts to add to the counters of a {@link UserStatsEntity}, see
+ * {@link de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository#increment}.
+ * Counters that are not set are not changed.
+ */
+@Builder
+public record UserStatsIncrement(
+        int issuesCompleted,
+        int issuesCreated,
+        int commentsWritten,
+        int reactionsGiven,
+        int pullRequestsCreated,
+        int pullRequestsClosed,
+        int pullRequestsReviewed,
+        int virtualCurrency,
+        int goldMedals,
+        int silverMedals,
+        int bronzeMedals
+) {
+
+    /**
+     * @return true if no counter is changed
+     */
+    public boolean isEmpty() {
+        return issuesCompleted == 0 && issuesCreated == 0 && commentsWritten == 0 && reactionsGiven == 0
+               && pullRequestsCreated == 0 && pullRequestsClosed == 0 && pullRequestsReviewed == 0
+               && virtualCurrency == 0 && goldMedals == 0 && silverMedals == 0 && bronzeMedals == 0;
+    }
+}
@@ -3,6 +3,8 @@ package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
 import de.unistuttgart.iste.meitrex.common.persistence.MeitrexRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.gamification.AchievementProgressEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.gamification.AchievementProgressEntity.AchievementProgressId;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -13,6 +15,61 @@ public interface AchievementProgressRepository
 
     void deleteAllByIdProjectId(UUID projectId);
 
+    /**
+     * Retrieves the progress of the given users in the given projects, together with the achievements.
+     * As this returns the progress of every user in every given project, callers have to filter for the
+     * combinations of user and project they need.
+     *
+     * @param userIds    the ids of the users
+     * @param projectIds the ids of the projects
+     * @return the existing progress, progress that was not made yet is not contained
+     */
+    @Query("SELECT p FROM AchievementProgressEntity p JOIN FETCH p.achievement " +
+           "WHERE p.id.userId IN :userIds AND p.id.projectId IN :projectIds")
+    List<AchievementProgressEntity> findAllForUsersInProjects(Collection<UUID> userIds, Collection<UUID> projectIds);
+
+    /**
+     * Adds the given amount to the progress of a user in a project for each of the given achievements with a single
+     * statement. Progress that does not exist yet is created.
+     *
+     * @param userId                 the id of the user
+     * @param projectId              the id of the project
+     * @param achievementIdentifiers the identifiers of the achievements
+     * @param progressToAdd          the amount to add to each progress
+     * @return the progress of each achievement after the update, by achievement identifier
+     */
+    default Map<String, Integer> incrementProgress(
+            UUID userId,
+            UUID projectId,
+            Collection<String> achievementIdentifiers,
+            int progressToAdd
+    ) {
+        if (achievementIdentifiers.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Integer> progressByAchievement = new HashMap<>();
+        // achievement identifiers do not contain commas, see DefaultAchievements
+        for (Object[] row : upsertProgress(userId, projectId, String.join(",", achievementIdentifiers),
+                progressToAdd)) {
+            progressByAchievement.put((String) row[0], ((Number) row[1]).intValue());
+        }
+        return progressByAchievement;
+    }
+
+    /**
+     * Use {@link #incrementProgress(UUID, UUID, Collection, int)} instead.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO achievement_progress_entity AS p " +
+                   "(achievement_identifier, project_id, user_id, progress) " +
+                   "SELECT DISTINCT a, :projectId, :userId, :progressToAdd " +
+                   "FROM unnest(string_to_array(:achievementIdentifiers, ',')) AS a " +
+                   "ON CONFLICT (achievement_identifier, project_id, user_id) " +
+                   "DO UPDATE SET progress = p.progress + EXCLUDED.progress " +
+                   "RETURNING p.achievement_identifier, p.progress",
+            nativeQuery = true)
+    List<Object[]> upsertProgress(UUID userId, UUID projectId, String achievementIdentifiers, int progressToAdd);
+
     @Override
     default String getEntityName() {
         return "AchievementProgress";
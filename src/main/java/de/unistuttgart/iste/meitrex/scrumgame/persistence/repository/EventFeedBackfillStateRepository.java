@@ -0,0 +1,16 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
+
+import de.unistuttgart.iste.meitrex.common.persistence.MeitrexRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedBackfillStateEntity;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+@Repository
+public interface EventFeedBackfillStateRepository extends MeitrexRepository<EventFeedBackfillStateEntity, UUID> {
+
+    @Override
+    default String getEntityName() {
+        return "EventFeedBackfillState";
+    }
+}
@@ -0,0 +1,172 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
+
+import de.unistuttgart.iste.meitrex.common.persistence.MeitrexRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity.EventFeedEntryId;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+@Repository
+public interface EventFeedEntryRepository extends MeitrexRepository<EventFeedEntryEntity, EventFeedEntryId> {
+
+    /**
+     * Selects the entries of a single feed, i.e., of one project id and one audience id, in feed order. The feed of
+     * a user is the union of four such feeds, see {@link #findEventIdsForUser}, each of which is read with a scan of
+     * the index on project, audience, timestamp and event id, which is stopped after the requested number of entries.
+     */
+    String FEED_SELECT = "SELECT event_id, timestamp FROM event_feed_entry ";
+    String FEED_ORDER  = " ORDER BY timestamp DESC, event_id DESC";
+    String FEED_AFTER  = " AND (timestamp, event_id) < (:timestamp, :eventId)";
+
+    /**
+     * Retrieves the ids of a page of the events in the feed of a user, ordered by timestamp and id, both descending.
+     *
+     * @param projectId   the project of the feed
+     * @param userId      the user of the feed
+     * @param everyone    the audience id of public entries, see {@link EventFeedEntryEntity#EVERYONE}
+     * @param allProjects the project id of events without project, see {@link EventFeedEntryEntity#ALL_PROJECTS}
+     * @param pageable    the page of events to return, use
+     *                    {@link #findEventIdsForUserAfter(UUID, UUID, UUID, UUID, OffsetDateTime, UUID, Pageable)}
+     *                    instead of large page numbers
+     * @return the ids of the events of the page
+     */
+    default List<UUID> findEventIdsForUser(
+            UUID projectId,
+            UUID userId,
+            UUID everyone,
+            UUID allProjects,
+            Pageable pageable
+    ) {
+        // each single feed can contain all events of the page and of the previous pages
+        return findEventIdsForUser(projectId, userId, everyone, allProjects,
+                pageable.getOffset() + pageable.getPageSize(), pageable.getPageSize(), pageable.getOffset());
+    }
+
+    /**
+     * Use {@link #findEventIdsForUser(UUID, UUID, UUID, UUID, Pageable)} instead.
+     */
+    @Query(value = "SELECT event_id FROM (" +
+                   "(" + FEED_SELECT + "WHERE project_id = :projectId AND audience_user_id = :userId" +
+                   FEED_ORDER + " LIMIT :feedLimit) UNION ALL " +
+                   "(" + FEED_SELECT + "WHERE project_id = :projectId AND audience_user_id = :everyone" +
+                   FEED_ORDER + " LIMIT :feedLimit) UNION ALL " +
+                   "(" + FEED_SELECT + "WHERE project_id = :allProjects AND audience_user_id = :userId" +
+                   FEED_ORDER + " LIMIT :feedLimit) UNION ALL " +
+                   "(" + FEED_SELECT + "WHERE project_id = :allProjects AND audience_user_id = :everyone" +
+                   FEED_ORDER + " LIMIT :feedLimit)" +
+                   ") AS f" + FEED_ORDER + " LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<UUID> findEventIdsForUser(
+            UUID projectId,
+            UUID userId,
+            UUID everyone,
+            UUID allProjects,
+            long feedLimit,
+            int limit,
+            long offset);
+
+    /**
+     * Retrieves the ids of the events in the feed of a user that come after the given position, i.e., that are
+     * older than the given timestamp or have the same timestamp and a smaller id. Ordered like
+     * {@link #findEventIdsForUser(UUID, UUID, UUID, UUID, Pageable)}.
+     * <p>
+     * Unlike offset based paging, this query does not get slower the further the user scrolls.
+     *
+     * @param projectId   the project of the feed
+     * @param userId      the user of the feed
+     * @param everyone    the audience id of public entries, see {@link EventFeedEntryEntity#EVERYONE}
+     * @param allProjects the project id of events without project, see {@link EventFeedEntryEntity#ALL_PROJECTS}
+     * @param timestamp   the timestamp of the last event that was already returned
+     * @param eventId     the id of the last event that was already returned
+     * @param pageable    the number of events to return, the page number should always be 0
+     * @return the ids of the events after the given position
+     */
+    default List<UUID> findEventIdsForUserAfter(
+            UUID projectId,
+            UUID userId,
+            UUID everyone,
+            UUID allProjects,
+            OffsetDateTime timestamp,
+            UUID eventId,
+            Pageable pageable
+    ) {
+        return findEventIdsForUserAfter(projectId, userId, everyone, allProjects, timestamp, eventId,
+                pageable.getPageSize());
+    }
+
+    /**
+     * Use {@link #findEventIdsForUserAfter(UUID, UUID, UUID, UUID, OffsetDateTime, UUID, Pageable)} instead.
+     */
+    @Query(value = "SELECT event_id FROM (" +
+                   "(" + FEED_SELECT + "WHERE project_id = :projectId AND audience_user_id = :userId" +
+                   FEED_AFTER + FEED_ORDER + " LIMIT :limit) UNION ALL " +
+                   "(" + FEED_SELECT + "WHERE project_id = :projectId AND audience_user_id = :everyone" +
+                   FEED_AFTER + FEED_ORDER + " LIMIT :limit) UNION ALL " +
+                   "(" + FEED_SELECT + "WHERE project_id = :allProjects AND audience_user_id = :userId" +
+                   FEED_AFTER + FEED_ORDER + " LIMIT :limit) UNION ALL " +
+                   "(" + FEED_SELECT + "WHERE project_id = :allProjects AND audience_user_id = :everyone" +
+                   FEED_AFTER + FEED_ORDER + " LIMIT :limit)" +
+                   ") AS f" + FEED_ORDER + " LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findEventIdsForUserAfter(
+            UUID projectId,
+            UUID userId,
+            UUID everyone,
+            UUID allProjects,
+            OffsetDateTime timestamp,
+            UUID eventId,
+            int limit);
+
+    /**
+     * Inserts the given entries, skipping entries that already exist. Entries are never changed, so an existing
+     * entry is equal to the one that would be inserted, e.g., if the event was added to the feed while the feed
+     * was filled from the existing events.
+     *
+     * @param entries the entries to insert
+     */
+    default void insertAllIfAbsent(Collection<EventFeedEntryEntity> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        insertAllIfAbsent(
+                joinIds(entries, EventFeedEntryId::getProjectId),
+                joinIds(entries, EventFeedEntryId::getAudienceUserId),
+                joinIds(entries, EventFeedEntryId::getEventId),
+                entries.stream().map(entry -> entry.getTimestamp().toString()).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Use {@link #insertAllIfAbsent(Collection)} instead. The columns are passed as comma separated lists, the
+     * values at the same position form one entry, so all entries are inserted with a single statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO event_feed_entry (project_id, audience_user_id, event_id, timestamp) " +
+                   "SELECT * FROM unnest(" +
+                   "cast(string_to_array(:projectIds, ',') AS uuid[]), " +
+                   "cast(string_to_array(:audienceUserIds, ',') AS uuid[]), " +
+                   "cast(string_to_array(:eventIds, ',') AS uuid[]), " +
+                   "cast(string_to_array(:timestamps, ',') AS timestamptz[])) " +
+                   "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void insertAllIfAbsent(String projectIds, String audienceUserIds, String eventIds, String timestamps);
+
+    private static String joinIds(Collection<EventFeedEntryEntity> entries, Function<EventFeedEntryId, UUID> id) {
+        return entries.stream()
+                .map(entry -> id.apply(entry.getId()).toString())
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    default String getEntityName() {
+        return "EventFeedEntry";
+    }
+}
@@ -2,11 +2,15 @@ package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
 
 import de.unistuttgart.iste.meitrex.common.persistence.MeitrexRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventEntity;
+import jakarta.annotation.Nullable;
+import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.*;
 
 @Repository
@@ -51,6 +55,20 @@ public interface EventRepository extends MeitrexRepository<EventEntity, UUID> {
            "ORDER BY e.timestamp ASC")
     List<EventEntity> findChildren(UUID parentId, UUID userId);
 
+    /**
+     * Batch variant of {@link #findChildren(UUID, UUID)}. Retrieves the children of all given events with a single
+     * query.
+     *
+     * @param parentIds the ids of the parent events
+     * @param userId    the id of the user the children must be visible to
+     * @return the children of all given events, ordered by timestamp ascending
+     */
+    @Query("SELECT e FROM EventEntity e WHERE e.parent.id IN :parentIds " +
+           "AND (e.visibility = 'PUBLIC'" +
+           "OR (e.visibility = 'PRIVATE' AND (e.userId = :userId OR :userId MEMBER OF e.visibleToUserIds))) " +
+           "ORDER BY e.timestamp ASC")
+    List<EventEntity> findChildrenOfParents(Collection<UUID> parentIds, UUID userId);
+
     @Query("SELECT e FROM EventEntity e WHERE (e.projectId = :projectId OR e.projectId IS NULL) " +
            "AND e.parent IS NULL " +
            "AND e.visibility = 'PUBLIC' " +
@@ -61,16 +79,153 @@ public interface EventRepository extends MeitrexRepository<EventEntity, UUID> {
             UUID userId,
             Pageable pageable);
 
-    @Query("SELECT e FROM EventEntity e JOIN e.eventData d WHERE d.key = 'issueId' AND d.value = :issueId " +
+    @Query("SELECT e FROM EventEntity e WHERE e.issueId = :issueId " +
            "ORDER BY e.timestamp DESC " +
            "LIMIT 1")
     Optional<EventEntity> findLastSyncForIssue(String issueId);
 
-    @Query("SELECT e FROM EventEntity e JOIN e.eventData d WHERE d.key = 'issueId' AND d.value = :issueId " +
+    @Query("SELECT e FROM EventEntity e WHERE e.issueId = :issueId " +
            "AND e.parent IS NULL " +
            "ORDER BY e.timestamp DESC")
     List<EventEntity> findForIssue(String issueId);
 
+    /**
+     * Batch variant of {@link #findForIssue(String)}. Retrieves the top-level events of all given issues
+     * with a single query.
+     *
+     * @param issueIds the ids of the issues
+     * @return the events of the issues, ordered by timestamp descending
+     */
+    @Query("SELECT e FROM EventEntity e WHERE e.issueId IN :issueIds " +
+           "AND e.parent IS NULL " +
+           "ORDER BY e.timestamp DESC")
+    List<EventEntity> findForIssues(Collection<String> issueIds);
+
+    /**
+     * Retrieves the ids of events that were created before the issue id column existed and have an issue id in
+     * their event data, ordered by id. Used to fill the issue id column in batches.
+     *
+     * @param lastId   the id of the last event of the previous batch
+     * @param pageable the number of ids to return, the page number should always be 0
+     * @return the ids of the events with an id greater than the given id
+     */
+    @Query("SELECT DISTINCT e.id FROM EventEntity e JOIN e.eventData d " +
+           "WHERE e.issueId IS NULL AND d.key = 'issueId' AND e.id > :lastId " +
+           "ORDER BY e.id ASC")
+    List<UUID> findIdsWithoutIssueIdAfter(UUID lastId, Pageable pageable);
+
+    /**
+     * Copies the issue id from the event data to the issue id column for the given events.
+     * Events that already have an issue id are not touched, so this can safely run repeatedly.
+     *
+     * @param ids the ids of the events, see {@link #findIdsWithoutIssueIdAfter(UUID, Pageable)}
+     * @return the number of updated events
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventEntity e SET e.issueId = " +
+           "(SELECT MAX(d.value) FROM EventEntity e2 JOIN e2.eventData d WHERE e2.id = e.id AND d.key = 'issueId') " +
+           "WHERE e.id IN :ids AND e.issueId IS NULL")
+    int backfillIssueIds(Collection<UUID> ids);
+
+    /**
+     * Returns the subset of the given ids for which an event already exists.
+     * Used to deduplicate a whole batch of incoming events with a single query.
+     *
+     * @param ids the ids to check
+     * @return the ids that are already persisted
+     */
+    @Query("SELECT e.id FROM EventEntity e WHERE e.id IN :ids")
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+
+    /**
+     * Retrieves top-level events that can appear in an event feed, ordered by id. Used to page through all events
+     * when the event feed is initially filled.
+     *
+     * @param lastId   the id of the last event of the previous page
+     * @param pageable the number of events to return, the page number should always be 0
+     * @return the events with an id greater than the given id
+     */
+    @Query("SELECT e FROM EventEntity e WHERE e.parent IS NULL " +
+           "AND (e.visibility = 'PUBLIC' OR e.visibility = 'PRIVATE') " +
+           "AND e.id > :lastId " +
+           "ORDER BY e.id ASC")
+    List<EventEntity> findFeedEventsAfter(UUID lastId, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findAllForUser(UUID, UUID, Pageable)}. Returns the events that come after the given
+     * position in the order timestamp descending, id descending. No count query is executed.
+     *
+     * @param projectId The ID of the project to filter the events by
+     * @param userId    The ID of the user to filter the events by
+     * @param timestamp The timestamp of the last event of the previous page, or null for the first page
+     * @param id        The id of the last event of the previous page, or null for the first page
+     * @param pageable  The number of events to return. The page number should be 0 if a position is given,
+     *                  without a position it skips the events of the previous pages like an offset
+     * @return The events after the given position
+     */
+    @Query("SELECT e FROM EventEntity e WHERE (e.projectId = :projectId OR e.projectId IS NULL) " +
+           "AND e.parent IS NULL " +
+           "AND (e.visibility = 'PUBLIC'" +
+           "OR (e.visibility = 'PRIVATE' AND (e.userId = :userId OR :userId MEMBER OF e.visibleToUserIds))) " +
+           "AND (cast(:timestamp as OffsetDateTime) IS NULL OR e.timestamp < :timestamp " +
+           "OR (e.timestamp = :timestamp AND e.id < :id)) " +
+           "ORDER BY e.timestamp DESC, e.id DESC")
+    List<EventEntity> findAllForUserAfter(
+            UUID projectId,
+            UUID userId,
+            @Nullable OffsetDateTime timestamp,
+            @Nullable UUID id,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM EventEntity e WHERE (e.projectId = :projectId OR e.projectId IS NULL) " +
+           "AND e.parent IS NULL " +
+           "AND (e.visibility = 'PUBLIC'" +
+           "OR (e.visibility = 'PRIVATE' AND (e.userId = :userId OR :userId MEMBER OF e.visibleToUserIds)))")
+    long countAllForUser(UUID projectId, UUID userId);
+
+    /**
+     * Keyset variant of {@link #findPublicEventsForUser(UUID, UUID, Pageable)}.
+     * See {@link #findAllForUserAfter(UUID, UUID, OffsetDateTime, UUID, Pageable)}.
+     */
+    @Query("SELECT e FROM EventEntity e WHERE (e.projectId = :projectId OR e.projectId IS NULL) " +
+           "AND e.parent IS NULL " +
+           "AND e.visibility = 'PUBLIC' " +
+           "AND (e.userId = :userId OR :userId MEMBER OF e.visibleToUserIds) " +
+           "AND (cast(:timestamp as OffsetDateTime) IS NULL OR e.timestamp < :timestamp " +
+           "OR (e.timestamp = :timestamp AND e.id < :id)) " +
+           "ORDER BY e.timestamp DESC, e.id DESC")
+    List<EventEntity> findPublicEventsForUserAfter(
+            UUID projectId,
+            UUID userId,
+            @Nullable OffsetDateTime timestamp,
+            @Nullable UUID id,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM EventEntity e WHERE (e.projectId = :projectId OR e.projectId IS NULL) " +
+           "AND e.parent IS NULL " +
+           "AND e.visibility = 'PUBLIC' " +
+           "AND (e.userId = :userId OR :userId MEMBER OF e.visibleToUserIds)")
+    long countPublicEventsForUser(UUID projectId, UUID userId);
+
+    /**
+     * Keyset variant of {@link #findForIssue(String)}.
+     * See {@link #findAllForUserAfter(UUID, UUID, OffsetDateTime, UUID, Pageable)}.
+     */
+    @Query("SELECT e FROM EventEntity e WHERE e.issueId = :issueId " +
+           "AND e.parent IS NULL " +
+           "AND (cast(:timestamp as OffsetDateTime) IS NULL OR e.timestamp < :timestamp " +
+           "OR (e.timestamp = :timestamp AND e.id < :id)) " +
+           "ORDER BY e.timestamp DESC, e.id DESC")
+    List<EventEntity> findForIssueAfter(
+            String issueId,
+            @Nullable OffsetDateTime timestamp,
+            @Nullable UUID id,
+            Pageable pageable);
+
+    @Query("SELECT COUNT(e) FROM EventEntity e WHERE e.issueId = :issueId AND e.parent IS NULL")
+    long countForIssue(String issueId);
+
     @Override
     default String getEntityName() {
         return "Event";
@@ -0,0 +1,15 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
+
+import de.unistuttgart.iste.meitrex.common.persistence.MeitrexRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintStatsEntity.SprintStatsId;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SprintStatsRepository extends MeitrexRepository<SprintStatsEntity, SprintStatsId> {
+
+    @Override
+    default String getEntityName() {
+        return "SprintStats";
+    }
+}
@@ -3,6 +3,12 @@ package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
 import de.unistuttgart.iste.meitrex.common.persistence.MeitrexRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -12,6 +18,116 @@ public interface UserStatsRepository extends MeitrexRepository<UserStatsEntity,
 
     void deleteAllByIdProjectId(UUID projectId);
 
+    /**
+     * Adds the given amounts to the counters of the stats of a user in a project with a single statement, without
+     * loading the stats. If the user has no stats in the project yet, they are created.
+     * As the database applies the increments, concurrent increments are not lost, also across service instances.
+     *
+     * @param userProjectId the id of the stats
+     * @param increment     the amounts to add
+     */
+    default void increment(UserProjectId userProjectId, UserStatsIncrement increment) {
+        if (increment.isEmpty()) {
+            return;
+        }
+        upsertIncrement(userProjectId.getUserId(), userProjectId.getProjectId(),
+                increment.issuesCompleted(), increment.issuesCreated(),
+                increment.commentsWritten(), increment.reactionsGiven(),
+                increment.pullRequestsCreated(), increment.pullRequestsClosed(), increment.pullRequestsReviewed(),
+                increment.virtualCurrency(),
+                increment.goldMedals(), increment.silverMedals(), increment.bronzeMedals());
+    }
+
+    /**
+     * Use {@link #increment(UserProjectId, UserStatsIncrement)} instead.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats AS s (user_id, project_id, total_xp, xp, xp_to_next_level, level, " +
+                   "issues_completed, issues_created, comments_written, reactions_given, " +
+                   "pull_requests_created, pull_requests_closed, pull_requests_reviewed, " +
+                   "virtual_currency, gold_medals, silver_medals, bronze_medals) " +
+                   "VALUES (:userId, :projectId, 0, 0, 0, 0, " +
+                   ":issuesCompleted, :issuesCreated, :commentsWritten, :reactionsGiven, " +
+                   ":pullRequestsCreated, :pullRequestsClosed, :pullRequestsReviewed, " +
+                   ":virtualCurrency, :goldMedals, :silverMedals, :bronzeMedals) " +
+                   "ON CONFLICT (user_id, project_id) DO UPDATE SET " +
+                   "issues_completed = s.issues_completed + EXCLUDED.issues_completed, " +
+                   "issues_created = s.issues_created + EXCLUDED.issues_created, " +
+                   "comments_written = s.comments_written + EXCLUDED.comments_written, " +
+                   "reactions_given = s.reactions_given + EXCLUDED.reactions_given, " +
+                   "pull_requests_created = s.pull_requests_created + EXCLUDED.pull_requests_created, " +
+                   "pull_requests_closed = s.pull_requests_closed + EXCLUDED.pull_requests_closed, " +
+                   "pull_requests_reviewed = s.pull_requests_reviewed + EXCLUDED.pull_requests_reviewed, " +
+                   "virtual_currency = s.virtual_currency + EXCLUDED.virtual_currency, " +
+                   "gold_medals = s.gold_medals + EXCLUDED.gold_medals, " +
+                   "silver_medals = s.silver_medals + EXCLUDED.silver_medals, " +
+                   "bronze_medals = s.bronze_medals + EXCLUDED.bronze_medals",
+            nativeQuery = true)
+    void upsertIncrement(UUID userId, UUID projectId,
+            int issuesCompleted, int issuesCreated,
+            int commentsWritten, int reactionsGiven,
+            int pullRequestsCreated, int pullRequestsClosed, int pullRequestsReviewed,
+            int virtualCurrency,
+            int goldMedals, int silverMedals, int bronzeMedals);
+
+    /**
+     * Loads the stats of a user in a project and locks them in the database until the current transaction has
+     * completed, so concurrent updates of the same stats are applied one after another, also across service
+     * instances. If the user has no stats in the project yet, they are created first, so there is a row to lock.
+     * <p>
+     * Must be called inside a transaction.
+     *
+     * @param userProjectId the id of the stats
+     * @return the locked stats
+     */
+    default UserStatsEntity findByIdForUpdate(UserProjectId userProjectId) {
+        insertIfAbsent(userProjectId.getUserId(), userProjectId.getProjectId());
+        return findLockedById(userProjectId).orElseThrow();
+    }
+
+    /**
+     * Use {@link #findByIdForUpdate(UserProjectId)} instead.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStatsEntity s WHERE s.id = :id")
+    Optional<UserStatsEntity> findLockedById(UserProjectId id);
+
+    /**
+     * Use {@link #findByIdForUpdate(UserProjectId)} instead.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO user_stats (user_id, project_id, total_xp, xp, xp_to_next_level, level, " +
+                   "issues_completed, issues_created, comments_written, reactions_given, " +
+                   "pull_requests_created, pull_requests_closed, pull_requests_reviewed, " +
+                   "virtual_currency, gold_medals, silver_medals, bronze_medals) " +
+                   "VALUES (:userId, :projectId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0) " +
+                   "ON CONFLICT (user_id, project_id) DO NOTHING",
+            nativeQuery = true)
+    void insertIfAbsent(UUID userId, UUID projectId);
+
+    /**
+     * Subtracts the given amount from the virtual currency of a user in a project, if the user has enough.
+     * The check and the update are a single statement, so the currency can not become negative by concurrent
+     * purchases.
+     *
+     * @return true if the currency was subtracted, false if the user does not have enough
+     */
+    default boolean spendVirtualCurrency(UserProjectId userProjectId, int amount) {
+        return subtractVirtualCurrencyIfSufficient(userProjectId.getUserId(), userProjectId.getProjectId(),
+                amount) > 0;
+    }
+
+    /**
+     * Use {@link #spendVirtualCurrency(UserProjectId, int)} instead.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserStatsEntity s SET s.virtualCurrency = s.virtualCurrency - :amount " +
+           "WHERE s.id.userId = :userId AND s.id.projectId = :projectId AND s.virtualCurrency >= :amount")
+    int subtractVirtualCurrencyIfSufficient(UUID userId, UUID projectId, int amount);
+
     @Override
     default String getEntityName() {
         return "UserStats";
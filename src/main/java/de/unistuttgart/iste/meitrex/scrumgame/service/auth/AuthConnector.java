@@ -21,7 +21,8 @@ public interface AuthConnector {
      * Get the user information for the current user.
      *
      * @return the user information
-     * @apiNote This method is only called on registration to pre-fill the user information.
+     * @apiNote This method is called on registration to pre-fill the user information and for admin checks,
+     * see {@link CachingAuthConnector} for caching the result.
      */
     Optional<BasicUserInfo> getUser();
 
@@ -23,7 +23,6 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.*;
 
 /**
  * Service for authorization checks. Can be used in Spring Security expressions using {@code @auth}.
@@ -38,6 +37,7 @@ public class AuthService {
     private final GlobalUserRoleRepository globalUserRoleRepository;
     private final ProjectRoleRepository    userRoleInProjectRepository;
     private final AuthConnector authConnector;
+    private final PrivilegeCache           privilegeCache;
 
     /**
      * Retrieves the user ID of the currently authenticated user. This is read from the JWT token.
@@ -129,6 +129,14 @@ public class AuthService {
     }
 
     private Set<ProjectPrivilege> getProjectPrivileges(UUID userId, UUID projectId) {
+        return privilegeCache.getProjectPrivileges(userId, projectId, () -> loadProjectPrivileges(userId, projectId));
+    }
+
+    private Set<GlobalPrivilege> getGlobalPrivileges(UUID userId) {
+        return privilegeCache.getGlobalPrivileges(userId, () -> loadGlobalPrivileges(userId));
+    }
+
+    private List<ProjectPrivilege> loadProjectPrivileges(UUID userId, UUID projectId) {
         UserProjectId userProjectId = new UserProjectId(userId, projectId);
 
         List<ProjectRoleEntity> roles = userInProjectRepository.findById(userProjectId)
@@ -137,17 +145,17 @@ public class AuthService {
 
         return roles.stream()
                 .flatMap(role -> role.getProjectPrivileges().stream())
-                .collect(Collectors.toUnmodifiableSet());
+                .toList();
     }
 
-    private Set<GlobalPrivilege> getGlobalPrivileges(UUID userId) {
+    private List<GlobalPrivilege> loadGlobalPrivileges(UUID userId) {
         List<GlobalUserRoleEntity> roles = globalUserRepository.findById(userId)
                 .map(GlobalUserEntity::getRoles)
                 .orElse(Collections.emptyList());
 
         return roles.stream()
                 .flatMap(role -> role.getGlobalPrivileges().stream())
-                .collect(Collectors.toUnmodifiableSet());
+                .toList();
     }
 
     private Jwt getJwt() {
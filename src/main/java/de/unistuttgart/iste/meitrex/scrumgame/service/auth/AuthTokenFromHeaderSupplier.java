@@ -1,5 +1,6 @@
 package de.unistuttgart.iste.meitrex.scrumgame.service.auth;
 
+import jakarta.annotation.Nullable;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
@@ -7,10 +8,14 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.*;
 import java.util.function.*;
 
 /**
  * Supplies the auth token from the Authorization header of the current request.
+ * <p>
+ * Work that is handed off to another thread, e.g., asynchronous event processing, can propagate the token of the
+ * original request with {@link #runWithToken(String, Runnable)}.
  */
 @Component
 @RequiredArgsConstructor
@@ -19,17 +24,65 @@ public class AuthTokenFromHeaderSupplier implements Supplier<String> {
     private static final String AUTH_HEADER   = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
+    private static final ThreadLocal<String> PROPAGATED_TOKEN = new ThreadLocal<>();
+
     @Override
     public String get() {
-        String authHeader = getAuthHeader();
-
-        if (authHeader.startsWith(BEARER_PREFIX)) {
-            authHeader = authHeader.substring(BEARER_PREFIX.length());
+        String propagatedToken = PROPAGATED_TOKEN.get();
+        if (propagatedToken != null) {
+            return propagatedToken;
         }
 
+        String authHeader = getAuthHeader();
+
         // no need to check if the token is empty, as the JWT token validator will
         // validate the token and throw an exception if it is invalid
 
+        return stripBearerPrefix(authHeader);
+    }
+
+    /**
+     * Returns the auth token of the current request, if there is a current request with an Authorization header.
+     * Unlike {@link #get()}, this method does not throw if there is no token.
+     *
+     * @return the auth token of the current request or an empty optional
+     */
+    public static Optional<String> findCurrentToken() {
+        if (PROPAGATED_TOKEN.get() != null) {
+            return Optional.of(PROPAGATED_TOKEN.get());
+        }
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(attributes.getRequest().getHeader(AUTH_HEADER))
+                .map(AuthTokenFromHeaderSupplier::stripBearerPrefix);
+    }
+
+    /**
+     * Runs the given runnable on the current thread, using the given token for all calls of {@link #get()}
+     * made by the runnable.
+     *
+     * @param token    the token to use, if null the runnable is executed without a propagated token
+     * @param runnable the runnable to execute
+     */
+    public static void runWithToken(@Nullable String token, Runnable runnable) {
+        String previousToken = PROPAGATED_TOKEN.get();
+        PROPAGATED_TOKEN.set(token);
+        try {
+            runnable.run();
+        } finally {
+            if (previousToken == null) {
+                PROPAGATED_TOKEN.remove();
+            } else {
+                PROPAGATED_TOKEN.set(previousToken);
+            }
+        }
+    }
+
+    private static String stripBearerPrefix(String authHeader) {
+        if (authHeader.startsWith(BEARER_PREFIX)) {
+            return authHeader.substring(BEARER_PREFIX.length());
+        }
         return authHeader;
     }
 
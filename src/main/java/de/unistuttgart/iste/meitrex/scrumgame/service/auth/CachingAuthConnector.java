@@ -0,0 +1,102 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import de.unistuttgart.iste.meitrex.generated.dto.BasicUserInfo;
+import jakarta.annotation.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Auth connector that caches the user information of another auth connector.
+ * <p>
+ * Looking up the user information can require a request to the authentication system, e.g., for Gropius,
+ * and is done for every admin check, see {@link AuthService#isAdmin()}.
+ * The user information is cached per subject of the JWT of the current user. An entry expires after the configured
+ * time, but never after the JWT it was loaded with, and users that were not found are cached for a shorter time.
+ * Concurrent lookups of the same user wait for a single request to the authentication system.
+ * <p>
+ * Without a JWT, e.g., outside of requests, the user information is not cached.
+ */
+public class CachingAuthConnector implements AuthConnector {
+
+    private final AuthConnector delegate;
+    private final Duration      timeToLive;
+    private final Duration      negativeTimeToLive;
+
+    private final Cache<String, CachedUser> users;
+
+    public CachingAuthConnector(AuthConnector delegate, Duration timeToLive, Duration negativeTimeToLive) {
+        this.delegate = delegate;
+        this.timeToLive = timeToLive;
+        this.negativeTimeToLive = negativeTimeToLive;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfter(new CachedUserExpiry())
+                .build();
+    }
+
+    @Override
+    public JwtDecoder getJwtDecoder() {
+        return delegate.getJwtDecoder();
+    }
+
+    @Override
+    public Optional<BasicUserInfo> getUser() {
+        Jwt jwt = findCurrentJwt();
+        if (jwt == null || jwt.getSubject() == null) {
+            return delegate.getUser();
+        }
+
+        // the loader runs on the calling thread, so the delegate uses the token of the current request
+        return users.get(jwt.getSubject(), subject -> loadUser(jwt)).user();
+    }
+
+    private CachedUser loadUser(Jwt jwt) {
+        Optional<BasicUserInfo> user = delegate.getUser();
+
+        Instant expiresAt = Instant.now().plus(user.isPresent() ? timeToLive : negativeTimeToLive);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = jwt.getExpiresAt();
+        }
+        return new CachedUser(user, expiresAt);
+    }
+
+    @Nullable
+    private static Jwt findCurrentJwt() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof JwtAuthenticationToken jwtAuthenticationToken) {
+            return jwtAuthenticationToken.getToken();
+        }
+        return null;
+    }
+
+    private record CachedUser(Optional<BasicUserInfo> user, Instant expiresAt) {
+    }
+
+    private static class CachedUserExpiry implements Expiry<String, CachedUser> {
+
+        @Override
+        public long expireAfterCreate(String subject, CachedUser cachedUser, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), cachedUser.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String subject, CachedUser cachedUser, long currentTime, long currentDuration) {
+            return expireAfterCreate(subject, cachedUser, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String subject, CachedUser cachedUser, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.unistuttgart.iste.meitrex.generated.dto.GlobalPrivilege;
+import de.unistuttgart.iste.meitrex.generated.dto.ProjectPrivilege;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Cache of the resolved privileges of users, used by {@link AuthService}.
+ * <p>
+ * The privileges of a user are the union of the privileges of all roles of the user. They are stored as
+ * {@link EnumSet}s, so a privilege check is a bit test instead of a database query.
+ * <p>
+ * Services that change roles or role assignments evict the affected entries. If this happens in a transaction, the
+ * entries are evicted again after the commit, so privileges loaded concurrently before the commit are not kept.
+ * As other instances of the service
+ * do not receive these evictions, entries also expire after the configured time, which bounds how long an instance
+ * can use outdated privileges.
+ */
+@Component
+public class PrivilegeCache {
+
+    private final Cache<UserProjectId, Set<ProjectPrivilege>> projectPrivileges;
+    private final Cache<UUID, Set<GlobalPrivilege>>           globalPrivileges;
+
+    public PrivilegeCache(@Value("${dinodev.auth.privilege-cache.expire-after-write:60s}") Duration expireAfterWrite) {
+        projectPrivileges = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        globalPrivileges = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    /**
+     * Returns the cached project privileges of the given user, or loads them if they are not cached.
+     *
+     * @param userId    the id of the user
+     * @param projectId the id of the project
+     * @param loader    loads the privileges of all roles of the user in the project
+     * @return the privileges, unmodifiable
+     */
+    public Set<ProjectPrivilege> getProjectPrivileges(
+            UUID userId,
+            UUID projectId,
+            Supplier<? extends Collection<ProjectPrivilege>> loader
+    ) {
+        return projectPrivileges.get(new UserProjectId(userId, projectId),
+                id -> compile(loader.get(), ProjectPrivilege.class));
+    }
+
+    /**
+     * Returns the cached global privileges of the given user, or loads them if they are not cached.
+     *
+     * @param userId the id of the user
+     * @param loader loads the privileges of all global roles of the user
+     * @return the privileges, unmodifiable
+     */
+    public Set<GlobalPrivilege> getGlobalPrivileges(
+            UUID userId,
+            Supplier<? extends Collection<GlobalPrivilege>> loader
+    ) {
+        return globalPrivileges.get(userId, id -> compile(loader.get(), GlobalPrivilege.class));
+    }
+
+    /**
+     * Evicts the project privileges of the given user in the given project,
+     * e.g., after a role was granted to the user.
+     */
+    public void evictProjectPrivileges(UUID userId, UUID projectId) {
+        evictNowAndAfterCommit(() -> projectPrivileges.invalidate(new UserProjectId(userId, projectId)));
+    }
+
+    /**
+     * Evicts the project privileges of all users in the given project, e.g., after a role of the project was changed.
+     */
+    public void evictProjectPrivileges(UUID projectId) {
+        evictNowAndAfterCommit(() -> projectPrivileges.asMap().keySet()
+                .removeIf(id -> projectId.equals(id.getProjectId())));
+    }
+
+    /**
+     * Evicts the global privileges of the given user, e.g., after a global role was granted to the user.
+     */
+    public void evictGlobalPrivileges(UUID userId) {
+        evictNowAndAfterCommit(() -> globalPrivileges.invalidate(userId));
+    }
+
+    /**
+     * Evicts the global privileges of all users, e.g., after a global role was changed.
+     */
+    public void evictAllGlobalPrivileges() {
+        evictNowAndAfterCommit(globalPrivileges::invalidateAll);
+    }
+
+    private static void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static <E extends Enum<E>> Set<E> compile(Collection<E> privileges, Class<E> privilegeType) {
+        EnumSet<E> compiled = EnumSet.noneOf(privilegeType);
+        compiled.addAll(privileges);
+        return Collections.unmodifiableSet(compiled);
+    }
+}
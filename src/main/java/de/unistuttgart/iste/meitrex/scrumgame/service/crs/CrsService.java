@@ -2,8 +2,8 @@ package de.unistuttgart.iste.meitrex.scrumgame.service.crs;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
-import de.unistuttgart.iste.meitrex.rulesengine.util.DefaultEventPublisher;
 import de.unistuttgart.iste.meitrex.scrumgame.external.ExternalSystemAdapter;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventIngestionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,12 +13,12 @@ import java.util.*;
 @RequiredArgsConstructor
 public class CrsService {
 
-    private final DefaultEventPublisher eventPublisher;
+    private final EventIngestionService eventIngestionService;
     private final ExternalSystemAdapter crsAdapter;
 
     public void handleWebhook(JsonNode jsonNode, Map<String, String> headers, UUID projectId) {
         List<CreateEventInput> inputs = crsAdapter.mapToDinoDevEvents(jsonNode, headers, projectId);
-        inputs.forEach(eventPublisher::publishEvent);
+        eventIngestionService.submit(inputs);
     }
 
 }
@@ -0,0 +1,62 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import jakarta.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Position of an event in a list of events that is ordered by timestamp and id, both descending.
+ * <p>
+ * Used for keyset pagination: the next page contains the events that come after the cursor, which can be
+ * found with an index lookup no matter how deep the client has scrolled. In the GraphQL API, cursors are
+ * represented as opaque strings, see {@link #encode()} and {@link #decode(String)}.
+ *
+ * @param timestamp the timestamp of the event
+ * @param id        the id of the event, used as tiebreaker for events with the same timestamp
+ */
+public record EventCursor(OffsetDateTime timestamp, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Creates a cursor pointing to the given event.
+     */
+    public static EventCursor of(Event event) {
+        return new EventCursor(event.getTimestamp(), event.getId());
+    }
+
+    /**
+     * Decodes a cursor that was created with {@link #encode()}.
+     *
+     * @param cursor the encoded cursor, may be null
+     * @return the decoded cursor or null if the given cursor is null
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Nullable
+    public static EventCursor decode(@Nullable String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            return new EventCursor(
+                    OffsetDateTime.parse(decoded.substring(0, separatorIndex)),
+                    UUID.fromString(decoded.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Encodes this cursor as an opaque string.
+     */
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 @Slf4j
@@ -21,6 +22,11 @@ import java.util.stream.*;
 @Transactional
 public class EventFactory {
 
+    /**
+     * Key of the event data field that contains the id of the issue an event is about.
+     */
+    public static final String ISSUE_ID_KEY = "issueId";
+
     private final EventTypeService eventTypeService;
     private final ModelMapper      modelMapper;
     private final EventRepository  repository;
@@ -36,12 +42,28 @@ public class EventFactory {
     }
 
     public EventEntity createEventEntity(CreateEventInput input) {
+        return createEventEntity(input, repository::findById);
+    }
+
+    /**
+     * Creates an event entity from the given input, resolving the parent event with the given function instead of
+     * querying the repository. This allows callers that already loaded the parent events, e.g., for a whole batch
+     * of events, to avoid one query per event.
+     *
+     * @param input          the input to create the event from
+     * @param parentResolver resolves the parent event by its id
+     * @return the created, not yet persisted event entity
+     */
+    public EventEntity createEventEntity(
+            CreateEventInput input,
+            Function<UUID, Optional<EventEntity>> parentResolver
+    ) {
         EventEntity eventEntity = new EventEntity();
 
         EventType eventType = eventTypeService.findEventType(input.getEventTypeIdentifier()).orElseThrow();
 
         Optional<EventEntity> parentEvent = Optional.ofNullable(input.getParentId())
-                .flatMap(repository::findById);
+                .flatMap(parentResolver);
 
         eventEntity.setId(Optional.ofNullable(input.getId()).orElseGet(UUID::randomUUID));
         eventEntity.setProjectId(input.getProjectId());
@@ -59,10 +81,20 @@ public class EventFactory {
                 .map(field -> new DataFieldEmbeddable(field.getKey(), field.getType(), field.getValue()))
                 .toList());
         eventEntity.setVisibleToUserIds(Optional.ofNullable(input.getVisibleToUserIds()).orElseGet(ArrayList::new));
+        eventEntity.setIssueId(findIssueId(input).orElse(null));
 
         return eventEntity;
     }
 
+    private static Optional<String> findIssueId(CreateEventInput input) {
+        return input.getEventData()
+                .stream()
+                .filter(field -> ISSUE_ID_KEY.equals(field.getKey()))
+                .map(DataFieldInput::getValue)
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
     private static String fillMessageTemplate(String messageTemplate, CreateEventInput input) {
         Map<String, String> eventData = input.getEventData()
                 .stream()
@@ -0,0 +1,221 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.EventVisibility;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedBackfillStateEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity.EventFeedEntryId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.EventFeedBackfillStateRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.EventFeedEntryRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.EventRepository;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Maintains the materialized event feed, see {@link EventFeedEntryEntity}, and reads events from it.
+ * <p>
+ * Entries are added when an event is persisted. Events without a project are stored once and shown in all projects
+ * when the feed is read.
+ * <p>
+ * When the application starts and the feed was not yet completely filled from the existing events, filling it
+ * continues in the background, see {@link EventFeedBackfillStateEntity}. Until this is finished, {@link #isReady()}
+ * returns false and callers should fall back to querying the events directly. Entries are inserted only if they do
+ * not exist yet, so events that are persisted while the feed is filled do not conflict with the filling.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventFeedService {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final EventFeedEntryRepository         feedRepository;
+    private final EventRepository                  eventRepository;
+    private final EventFeedBackfillStateRepository backfillStateRepository;
+
+    private final AtomicBoolean ready = new AtomicBoolean(false);
+
+    /**
+     * Adds the given event to the feeds it is visible in. Does nothing for child events and events that are not
+     * shown in feeds.
+     *
+     * @param event the persisted event
+     */
+    public void addToFeed(EventEntity event) {
+        feedRepository.insertAllIfAbsent(createFeedEntries(event));
+    }
+
+    /**
+     * Returns whether the feed contains all events. This is false while the feed is filled initially.
+     */
+    public boolean isReady() {
+        return ready.get();
+    }
+
+    /**
+     * Returns the events of the feed of the given user in the given project that come after the given position,
+     * newest first. If no position is given, the newest events are returned.
+     *
+     * @param projectId      the project of the feed
+     * @param userId         the user of the feed
+     * @param afterTimestamp the timestamp of the last event already returned, or null
+     * @param afterEventId   the id of the last event already returned, or null
+     * @param limit          the maximum number of events to return
+     * @return the events, newest first
+     */
+    public List<EventEntity> getFeedAfter(
+            UUID projectId,
+            UUID userId,
+            @Nullable OffsetDateTime afterTimestamp,
+            @Nullable UUID afterEventId,
+            int limit
+    ) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<UUID> eventIds;
+        if (afterTimestamp == null || afterEventId == null) {
+            eventIds = feedRepository.findEventIdsForUser(projectId, userId,
+                    EventFeedEntryEntity.EVERYONE, EventFeedEntryEntity.ALL_PROJECTS, pageable);
+        } else {
+            eventIds = feedRepository.findEventIdsForUserAfter(projectId, userId,
+                    EventFeedEntryEntity.EVERYONE, EventFeedEntryEntity.ALL_PROJECTS,
+                    afterTimestamp, afterEventId, pageable);
+        }
+        return loadInOrder(eventIds);
+    }
+
+    /**
+     * Returns the given page of the feed of the given user in the given project, newest first. The events of the
+     * previous pages are skipped by the database, prefer {@link #getFeedAfter} for deep pages.
+     *
+     * @param projectId the project of the feed
+     * @param userId    the user of the feed
+     * @param pageable  the page to return
+     * @return the events of the page, newest first
+     */
+    public List<EventEntity> getFeedPage(UUID projectId, UUID userId, Pageable pageable) {
+        return loadInOrder(feedRepository.findEventIdsForUser(projectId, userId,
+                EventFeedEntryEntity.EVERYONE, EventFeedEntryEntity.ALL_PROJECTS, pageable));
+    }
+
+    /**
+     * Fills the feed from the existing events if this was not completed yet, continuing after the last event
+     * that was processed. This runs in the background so the application can serve requests in the meantime.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillFeedIfIncomplete() {
+        EventFeedBackfillStateEntity state = backfillStateRepository.findById(EventFeedBackfillStateEntity.ID)
+                .orElseGet(() -> EventFeedBackfillStateEntity.builder().id(EventFeedBackfillStateEntity.ID).build());
+        if (state.isCompleted()) {
+            ready.set(true);
+            return;
+        }
+
+        Thread.ofPlatform()
+                .name("event-feed-backfill")
+                .daemon()
+                .start(() -> fillFeed(state));
+    }
+
+    /**
+     * Creates the feed entries for the given event.
+     *
+     * @param event the event
+     * @return the feed entries, empty if the event is not shown in any feed
+     */
+    static List<EventFeedEntryEntity> createFeedEntries(EventEntity event) {
+        if (event.getParent() != null) {
+            return List.of();
+        }
+
+        Set<UUID> audience = new LinkedHashSet<>();
+        if (event.getVisibility() == EventVisibility.PUBLIC) {
+            audience.add(EventFeedEntryEntity.EVERYONE);
+        } else if (event.getVisibility() == EventVisibility.PRIVATE) {
+            Optional.ofNullable(event.getUserId()).ifPresent(audience::add);
+            audience.addAll(event.getVisibleToUserIds());
+        }
+
+        if (audience.isEmpty()) {
+            return List.of();
+        }
+
+        UUID projectId = event.getProjectId() != null ? event.getProjectId() : EventFeedEntryEntity.ALL_PROJECTS;
+
+        return audience.stream()
+                .map(audienceUserId -> EventFeedEntryEntity.builder()
+                        .id(new EventFeedEntryId(projectId, audienceUserId, event.getId()))
+                        .timestamp(event.getTimestamp())
+                        .build())
+                .toList();
+    }
+
+    private void fillFeed(EventFeedBackfillStateEntity state) {
+        log.info("Filling the event feed from existing events...");
+        UUID lastId = Optional.ofNullable(state.getLastEventId()).orElse(new UUID(0, 0));
+        long count = 0;
+
+        try {
+            List<EventEntity> events;
+            do {
+                events = eventRepository.findFeedEventsAfter(lastId, PageRequest.of(0, BACKFILL_BATCH_SIZE));
+
+                feedRepository.insertAllIfAbsent(events.stream()
+                        .flatMap(event -> createFeedEntries(event).stream())
+                        .toList());
+
+                if (!events.isEmpty()) {
+                    lastId = events.getLast().getId();
+                    // the progress is saved after each batch, so filling can continue after a restart
+                    state.setLastEventId(lastId);
+                    backfillStateRepository.save(state);
+                }
+                count += events.size();
+            } while (events.size() == BACKFILL_BATCH_SIZE);
+
+            state.setCompleted(true);
+            backfillStateRepository.save(state);
+            ready.set(true);
+            log.info("Filled the event feed with {} events", count);
+        } catch (Exception e) {
+            // the feed stays unused, events are queried directly
+            log.error("Failed to fill the event feed", e);
+        }
+    }
+
+    private List<EventEntity> loadInOrder(List<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+        OrderedLookup lookup = new OrderedLookup(eventRepository.findAllById(eventIds));
+        return eventIds.stream()
+                .map(lookup::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static class OrderedLookup {
+
+        private final Map<UUID, EventEntity> eventsById;
+
+        private OrderedLookup(List<EventEntity> events) {
+            eventsById = events.stream().collect(Collectors.toMap(EventEntity::getId, Function.identity()));
+        }
+
+        @Nullable
+        private EventEntity get(UUID id) {
+            return eventsById.get(id);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthTokenFromHeaderSupplier;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Asynchronous, batched ingestion stage in front of the event publisher.
+ * <p>
+ * Events from external systems (CRS webhooks, IMS synchronization) are submitted to a bounded queue and the
+ * caller returns immediately, with a future that completes once the events are persisted. A single worker thread
+ * drains the queue into micro-batches and persists each batch with {@link EventPersistenceService#persistBatch(List)},
+ * i.e., with one query to deduplicate ids, one query to resolve parent events and batched inserts.
+ * <p>
+ * The events of a batch are published after the batch was committed, so subscribers and rules only see events that
+ * are stored, and the changes of the rules are not rolled back if the batch fails. If the batch fails, nothing was
+ * published yet and the events are processed one by one instead.
+ * <p>
+ * If the queue is full, the submitting thread blocks until there is space in the queue. This limits the memory
+ * used by the queue and slows down producers that submit events faster than they can be processed, while all
+ * events still pass the queue in the order they were submitted.
+ * <p>
+ * The auth token of the submitting request is propagated to the worker, so rules that need to access the IMS
+ * on behalf of the user still work.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventIngestionService {
+
+    private final EventPublisher<Event, CreateEventInput> eventPublisher;
+    private final EventPersistenceService                 eventPersistenceService;
+
+    @Value("${dinodev.events.ingestion.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${dinodev.events.ingestion.max-batch-size:200}")
+    private int maxBatchSize;
+
+    private BlockingQueue<PendingEvent> queue;
+    private Thread                      worker;
+    private volatile boolean            running;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("event-ingestion")
+                .daemon()
+                .start(this::processQueue);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(Duration.ofSeconds(10));
+
+        // process what is left, so no events are lost on shutdown
+        List<PendingEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            processBatch(remaining);
+        }
+    }
+
+    /**
+     * Submits the given events for asynchronous persistence and publication.
+     * The events are published in the order they are submitted.
+     * If the queue is full, this method blocks until the worker has made space for the events.
+     *
+     * @param events the events to submit
+     * @return a future that completes when all events are persisted, or completes exceptionally if at least one
+     * event could not be persisted
+     * @throws IllegalStateException if the thread is interrupted while waiting for space in the queue,
+     *                               the events that were not yet submitted are not processed in this case
+     */
+    public CompletableFuture<Void> submit(List<CreateEventInput> events) {
+        String token = AuthTokenFromHeaderSupplier.findCurrentToken().orElse(null);
+
+        CompletableFuture<?>[] persisted = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < events.size(); i++) {
+            PendingEvent pendingEvent = new PendingEvent(events.get(i), token, new CompletableFuture<>());
+            put(pendingEvent, events.size() - i);
+            persisted[i] = pendingEvent.persisted();
+        }
+        return CompletableFuture.allOf(persisted);
+    }
+
+    /**
+     * Returns the number of events that are waiting to be processed.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void put(PendingEvent pendingEvent, int remaining) {
+        try {
+            if (!queue.offer(pendingEvent)) {
+                log.warn("Event ingestion queue is full, waiting to submit {} events", remaining);
+                queue.put(pendingEvent);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting " + remaining + " events", e);
+        }
+    }
+
+    private void processQueue() {
+        while (running) {
+            try {
+                PendingEvent first = queue.take();
+
+                List<PendingEvent> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                processBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // the worker must not die, otherwise the queue fills up
+                log.error("Unexpected error in event ingestion", e);
+            }
+        }
+    }
+
+    private void processBatch(List<PendingEvent> batch) {
+        List<CreateEventInput> inputs = batch.stream().map(PendingEvent::input).toList();
+
+        Map<CreateEventInput, Event> persistedEvents;
+        try {
+            persistedEvents = eventPersistenceService.persistBatch(inputs);
+        } catch (Exception e) {
+            // the whole batch was rolled back before any event was published, fall back to processing the events
+            // one by one, so a single faulty event does not prevent the others from being persisted
+            log.warn("Failed to persist batch of {} events, retrying individually", batch.size(), e);
+            batch.forEach(this::processIndividually);
+            return;
+        }
+
+        for (PendingEvent pendingEvent : batch) {
+            Event event = persistedEvents.get(pendingEvent.input());
+            if (event != null) {
+                publishPersisted(pendingEvent, event);
+            } else {
+                // the event already existed, it is handled like a single event
+                processIndividually(pendingEvent);
+            }
+        }
+    }
+
+    private void publishPersisted(PendingEvent pendingEvent, Event event) {
+        try {
+            AuthTokenFromHeaderSupplier.runWithToken(pendingEvent.token(),
+                    () -> eventPersistenceService.publishPersisted(pendingEvent.input(), event,
+                            eventPublisher::publishEvent));
+            pendingEvent.persisted().complete(null);
+        } catch (Exception e) {
+            // the event is stored, but a subscriber or rule failed, like for a single event
+            log.error("Failed to publish event {}", pendingEvent.input(), e);
+            pendingEvent.persisted().completeExceptionally(e);
+        }
+    }
+
+    private void processIndividually(PendingEvent pendingEvent) {
+        try {
+            AuthTokenFromHeaderSupplier.runWithToken(pendingEvent.token(),
+                    () -> eventPublisher.publishEvent(pendingEvent.input()));
+            pendingEvent.persisted().complete(null);
+        } catch (Exception e) {
+            log.error("Failed to persist event {}", pendingEvent.input(), e);
+            pendingEvent.persisted().completeExceptionally(e);
+        }
+    }
+
+    private record PendingEvent(
+            CreateEventInput input,
+            @Nullable String token,
+            CompletableFuture<Void> persisted
+    ) {
+    }
+}
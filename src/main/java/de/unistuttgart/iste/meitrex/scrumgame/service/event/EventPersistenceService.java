@@ -7,38 +7,118 @@ import de.unistuttgart.iste.meitrex.generated.dto.Event;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPersistence;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.EventRepository;
+import jakarta.transaction.Transactional;
 import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 
 /**
  * Service responsible for persisting and retrieving events.
+ * <p>
+ * Besides persisting single events, this service supports a batch mode, see {@link #persistBatch(List)} and
+ * {@link #publishPersisted(CreateEventInput, Event, Consumer)}, which is used by the {@link EventIngestionService}.
  */
+@Slf4j
 @Service
 @Getter(AccessLevel.PROTECTED)
 public class EventPersistenceService
         extends AbstractCrudService<UUID, EventEntity, DefaultEvent>
         implements EventPersistence<Event, CreateEventInput> {
 
+    private static final int ISSUE_ID_BACKFILL_BATCH_SIZE = 500;
+
     private final EventRepository repository;
     private final EventFactory    eventFactory;
+    private final EventFeedService eventFeedService;
+
+    // the batch that is currently processed by this thread, if any
+    private final ThreadLocal<EventBatch>     currentBatch   = new ThreadLocal<>();
+    // the event of a committed batch that is currently published by this thread, if any
+    private final ThreadLocal<PersistedEvent> publishedEvent = new ThreadLocal<>();
 
-    public EventPersistenceService(EventRepository repository, EventFactory eventFactory, ModelMapper modelMapper) {
+    public EventPersistenceService(
+            EventRepository repository,
+            EventFactory eventFactory,
+            EventFeedService eventFeedService,
+            ModelMapper modelMapper
+    ) {
         super(repository, modelMapper, EventEntity.class, DefaultEvent.class);
         this.repository = repository;
         this.eventFactory = eventFactory;
+        this.eventFeedService = eventFeedService;
+    }
+
+    /**
+     * Fills the issue id column of events that were persisted before the column was introduced.
+     * This runs in the background in batches, so the application starts and serves requests in the meantime
+     * and no single statement locks all events. Once all events have an issue id, this only runs a single query.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIssueIds() {
+        Thread.ofPlatform()
+                .name("event-issue-id-backfill")
+                .daemon()
+                .start(this::fillIssueIds);
+    }
+
+    private void fillIssueIds() {
+        UUID lastId = new UUID(0, 0);
+        long count = 0;
+
+        try {
+            List<UUID> ids;
+            do {
+                ids = repository.findIdsWithoutIssueIdAfter(lastId,
+                        PageRequest.of(0, ISSUE_ID_BACKFILL_BATCH_SIZE));
+                if (!ids.isEmpty()) {
+                    count += repository.backfillIssueIds(ids);
+                    lastId = ids.getLast();
+                }
+            } while (ids.size() == ISSUE_ID_BACKFILL_BATCH_SIZE);
+        } catch (Exception e) {
+            // events without issue id are not found by issue, the next start continues filling
+            log.error("Failed to fill the issue id of existing events", e);
+        }
+
+        if (count > 0) {
+            log.info("Filled the issue id of {} existing events", count);
+        }
     }
 
     @Override
     public boolean exists(CreateEventInput eventRequest) {
-        return eventRequest.getId() != null && repository.existsById(eventRequest.getId());
+        if (isPublishedEvent(eventRequest)) {
+            // treated as new, so the publisher notifies the subscribers of the event
+            return false;
+        }
+        if (eventRequest.getId() == null) {
+            return false;
+        }
+        EventBatch batch = currentBatch.get();
+        if (batch != null) {
+            return batch.contains(eventRequest.getId());
+        }
+        return repository.existsById(eventRequest.getId());
     }
 
     @Override
     public Event getEvent(CreateEventInput event) {
+        if (isPublishedEvent(event)) {
+            return publishedEvent.get().event();
+        }
+        EventBatch batch = currentBatch.get();
+        if (batch != null && batch.getEntities().containsKey(event.getId())) {
+            return convertToDto(batch.getEntities().get(event.getId()));
+        }
         return getOrThrow(event.getId());
     }
 
@@ -49,12 +129,129 @@ public class EventPersistenceService
 
     @Override
     public Event persistEvent(CreateEventInput eventRequest) {
+        if (isPublishedEvent(eventRequest)) {
+            // already persisted by the batch
+            return publishedEvent.get().event();
+        }
         if (exists(eventRequest)) {
-            return getOrThrow(eventRequest.getId());
+            return getEvent(eventRequest);
         }
 
-        EventEntity eventEntity = eventFactory.createEventEntity(eventRequest);
+        EventBatch batch = currentBatch.get();
+        if (batch == null) {
+            EventEntity eventEntity = repository.save(eventFactory.createEventEntity(eventRequest));
+            eventFeedService.addToFeed(eventEntity);
+            return convertToDto(eventEntity);
+        }
+
+        EventEntity eventEntity = eventFactory.createEventEntity(eventRequest, batch::findEntity);
         eventEntity = repository.save(eventEntity);
+        eventFeedService.addToFeed(eventEntity);
+        batch.add(eventEntity);
         return convertToDto(eventEntity);
     }
+
+    /**
+     * Persists a batch of events in a single transaction, without publishing them. The events are published with
+     * {@link #publishPersisted(CreateEventInput, Event, Consumer)} after the transaction was committed, so subscribers
+     * and rules only see events that are stored and the changes of rules are not part of the transaction.
+     * <p>
+     * Before the events are processed, the ids of all events that already exist are loaded with one query
+     * and all parent events that are not part of the batch are loaded with another query.
+     * While the batch is processed, {@link #exists(CreateEventInput)} and {@link #persistEvent(CreateEventInput)}
+     * use this preloaded data instead of querying the database for each event. Inserts are flushed using
+     * JDBC batching when the transaction commits.
+     *
+     * @param eventRequests the events of the batch
+     * @return the persisted events by their requests, requests of events that already existed are not contained
+     */
+    @Transactional
+    public Map<CreateEventInput, Event> persistBatch(List<CreateEventInput> eventRequests) {
+        Set<UUID> ids = eventRequests.stream()
+                .map(CreateEventInput::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<UUID> parentIds = eventRequests.stream()
+                .map(CreateEventInput::getParentId)
+                .filter(Objects::nonNull)
+                .filter(parentId -> !ids.contains(parentId))
+                .collect(Collectors.toSet());
+
+        Set<UUID> existingIds = ids.isEmpty() ? Set.of() : repository.findExistingIds(ids);
+        List<EventEntity> parents = parentIds.isEmpty() ? List.of() : repository.findAllById(parentIds);
+
+        currentBatch.set(new EventBatch(existingIds, parents));
+        try {
+            // identity, as the requests do not identify an event if they have no id
+            Map<CreateEventInput, Event> persistedEvents = new IdentityHashMap<>();
+            for (CreateEventInput eventRequest : eventRequests) {
+                if (!exists(eventRequest)) {
+                    persistedEvents.put(eventRequest, persistEvent(eventRequest));
+                }
+            }
+            return persistedEvents;
+        } finally {
+            currentBatch.remove();
+        }
+    }
+
+    /**
+     * Publishes an event that was persisted by {@link #persistBatch(List)}. While the publisher runs, the event
+     * is treated as new, so the publisher notifies the subscribers and rules, but returns the persisted event
+     * instead of persisting it again.
+     *
+     * @param eventRequest the request of the event
+     * @param event        the persisted event
+     * @param publisher    publishes the event, which in turn calls {@link #persistEvent(CreateEventInput)} on the
+     *                     current thread
+     */
+    public void publishPersisted(CreateEventInput eventRequest, Event event, Consumer<CreateEventInput> publisher) {
+        publishedEvent.set(new PersistedEvent(eventRequest, event));
+        try {
+            publisher.accept(eventRequest);
+        } finally {
+            publishedEvent.remove();
+        }
+    }
+
+    private boolean isPublishedEvent(CreateEventInput eventRequest) {
+        PersistedEvent persistedEvent = publishedEvent.get();
+        // follow-up events published by rules are persisted as usual
+        return persistedEvent != null && persistedEvent.request() == eventRequest;
+    }
+
+    private record PersistedEvent(CreateEventInput request, Event event) {
+    }
+
+    /**
+     * Data that is preloaded for a batch of events and extended with the events persisted in the batch.
+     */
+    @Getter
+    private class EventBatch {
+
+        private final Set<UUID>             existingIds;
+        private final Map<UUID, EventEntity> entities = new HashMap<>();
+
+        private EventBatch(Set<UUID> existingIds, List<EventEntity> preloadedEntities) {
+            this.existingIds = new HashSet<>(existingIds);
+            preloadedEntities.forEach(this::add);
+        }
+
+        private boolean contains(UUID id) {
+            return existingIds.contains(id);
+        }
+
+        private void add(EventEntity entity) {
+            existingIds.add(entity.getId());
+            entities.put(entity.getId(), entity);
+        }
+
+        private Optional<EventEntity> findEntity(UUID id) {
+            EventEntity entity = entities.get(id);
+            if (entity != null) {
+                return Optional.of(entity);
+            }
+            return repository.findById(id);
+        }
+    }
 }
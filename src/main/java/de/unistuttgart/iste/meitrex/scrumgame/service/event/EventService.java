@@ -13,15 +13,17 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 
 import static de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils.findIntField;
 import static de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils.findStringField;
@@ -36,18 +38,64 @@ public class EventService {
     private final ImsService                              imsService;
     private final EventPublisher<Event, CreateEventInput> eventPublisher;
     private final EventPersistenceService                 eventPersistenceService;
+    private final EventFeedService                        eventFeedService;
+    private final EventSyncService                        eventSyncService;
+    private final ProjectEventRouter                      projectEventRouter;
 
-    // min time between event syncs
-    private static final Duration GLOBAL_SYNC_INTERVAL = Duration.ofSeconds(30);
+    /**
+     * Returns the given page of the events of the current user in the given project, newest first. The events of
+     * the previous pages are skipped by the database, so deep pages get slower, see
+     * {@link #getAndSyncEvents(Project, int, EventCursor, boolean)} for a cursor based alternative.
+     *
+     * @param project  the project
+     * @param pageable the page to return
+     * @return the events of the page
+     */
+    public List<Event> getAndSyncEvents(Project project, Pageable pageable) {
+        syncEventsFromGropius(project);
 
-    private final Map<UUID, OffsetDateTime> lastGlobalEventSyncs = new HashMap<>();
+        UUID userId = authService.getCurrentUserId();
+        List<EventEntity> events = eventFeedService.isReady()
+                ? eventFeedService.getFeedPage(project.getId(), userId, pageable)
+                : eventPersistenceService.getRepository()
+                        .findAllForUserAfter(project.getId(), userId, null, null, pageable);
+
+        return events.stream()
+                .map(eventPersistenceService::convertToDto)
+                .toList();
+    }
 
-    public Page<Event> getAndSyncEvents(Project project, Pageable pageable) {
+    /**
+     * Returns the events of the current user in the given project that come after the given cursor, newest first.
+     *
+     * @param project           the project
+     * @param first             the maximum number of events to return
+     * @param after             the cursor of the last event already loaded, or null for the newest events
+     * @param includeTotalCount whether the total number of events should be counted, which requires an
+     *                          additional query
+     * @return the events as connection
+     */
+    public EventConnection getAndSyncEvents(
+            Project project,
+            int first,
+            @Nullable EventCursor after,
+            boolean includeTotalCount
+    ) {
         syncEventsFromGropius(project);
 
-        Page<EventEntity> events = eventPersistenceService.getRepository()
-                .findAllForUser(project.getId(), authService.getCurrentUserId(), pageable);
-        return events.map(eventPersistenceService::convertToDto);
+        UUID userId = authService.getCurrentUserId();
+        OffsetDateTime afterTimestamp = after != null ? after.timestamp() : null;
+        UUID afterId = after != null ? after.id() : null;
+
+        // one more event than requested is loaded to find out whether there is a next page
+        List<EventEntity> events = eventFeedService.isReady()
+                ? eventFeedService.getFeedAfter(project.getId(), userId, afterTimestamp, afterId, first + 1)
+                : eventPersistenceService.getRepository()
+                        .findAllForUserAfter(project.getId(), userId, afterTimestamp, afterId,
+                                PageRequest.of(0, first + 1));
+
+        return toConnection(events, first, includeTotalCount,
+                () -> eventPersistenceService.getRepository().countAllForUser(project.getId(), userId));
     }
 
     public Page<Event> getPublicUserEvents(UUID projectId, UUID userId, Pageable pageable) {
@@ -56,20 +104,37 @@ public class EventService {
                 .map(eventPersistenceService::convertToDto);
     }
 
-    public void syncEventsFromGropius(Project project) {
-        OffsetDateTime lastGlobalEventSync = getLastGlobalSyncForProject(project.getId());
-        if (Duration.between(lastGlobalEventSync, OffsetDateTime.now()).abs().compareTo(GLOBAL_SYNC_INTERVAL) < 0) {
-            return;
-        }
-
-        imsService.getEventsForProject(project, lastGlobalEventSync).forEach(eventPublisher::publishEvent);
+    /**
+     * Returns the public events of the given user in the given project that come after the given cursor,
+     * newest first.
+     *
+     * @see #getAndSyncEvents(Project, int, EventCursor, boolean)
+     */
+    public EventConnection getPublicUserEvents(
+            UUID projectId,
+            UUID userId,
+            int first,
+            @Nullable EventCursor after,
+            boolean includeTotalCount
+    ) {
+        List<EventEntity> events = eventPersistenceService.getRepository()
+                .findPublicEventsForUserAfter(projectId, userId,
+                        after != null ? after.timestamp() : null,
+                        after != null ? after.id() : null,
+                        PageRequest.of(0, first + 1));
 
-        lastGlobalEventSyncs.put(project.getId(), OffsetDateTime.now());
+        return toConnection(events, first, includeTotalCount,
+                () -> eventPersistenceService.getRepository().countPublicEventsForUser(projectId, userId));
     }
 
-    private OffsetDateTime getLastGlobalSyncForProject(UUID projectId) {
-        return lastGlobalEventSyncs.getOrDefault(projectId,
-                LocalDate.of(1, 1, 1).atStartOfDay().atOffset(ZoneOffset.UTC));
+    /**
+     * Requests a background synchronization of the events of the given project with the IMS.
+     * Does not wait for the synchronization to finish.
+     *
+     * @see EventSyncService#requestSync(Project)
+     */
+    public void syncEventsFromGropius(Project project) {
+        eventSyncService.requestSync(project);
     }
 
     public List<Event> getAndSyncEvents(Issue issue) {
@@ -77,6 +142,29 @@ public class EventService {
         return getEventsForIssue(issue);
     }
 
+    /**
+     * Returns the events of the given issue that come after the given cursor, newest first.
+     *
+     * @see #getAndSyncEvents(Project, int, EventCursor, boolean)
+     */
+    public EventConnection getAndSyncEvents(
+            Issue issue,
+            int first,
+            @Nullable EventCursor after,
+            boolean includeTotalCount
+    ) {
+        syncEvents(issue);
+
+        List<EventEntity> events = eventPersistenceService.getRepository()
+                .findForIssueAfter(issue.getId(),
+                        after != null ? after.timestamp() : null,
+                        after != null ? after.id() : null,
+                        PageRequest.of(0, first + 1));
+
+        return toConnection(events, first, includeTotalCount,
+                () -> eventPersistenceService.getRepository().countForIssue(issue.getId()));
+    }
+
     public List<Event> getEventsForIssue(Issue issue) {
         return eventPersistenceService.getRepository().findForIssue(issue.getId())
                 .stream()
@@ -85,6 +173,44 @@ public class EventService {
                 .toList();
     }
 
+    private EventConnection toConnection(
+            List<EventEntity> events,
+            int first,
+            boolean includeTotalCount,
+            LongSupplier totalCount
+    ) {
+        boolean hasNextPage = events.size() > first;
+        List<Event> page = events.stream()
+                .limit(first)
+                .<Event>map(eventPersistenceService::convertToDto)
+                .toList();
+
+        return EventConnection.builder()
+                .setEvents(page)
+                .setHasNextPage(hasNextPage)
+                .setEndCursor(page.isEmpty() ? null : EventCursor.of(page.getLast()).encode())
+                .setTotalCount(includeTotalCount ? Math.toIntExact(totalCount.getAsLong()) : null)
+                .build();
+    }
+
+    /**
+     * Returns the top-level events of the given issues, loaded with a single query.
+     *
+     * @param issueIds the ids of the issues
+     * @return the events grouped by issue id, each list ordered by timestamp descending.
+     * Issues without events are not contained in the map.
+     */
+    public Map<String, List<Event>> getEventsForIssues(Collection<String> issueIds) {
+        if (issueIds.isEmpty()) {
+            return Map.of();
+        }
+        return eventPersistenceService.getRepository().findForIssues(issueIds)
+                .stream()
+                .collect(Collectors.groupingBy(EventEntity::getIssueId,
+                        Collectors.mapping(entity -> (Event) eventPersistenceService.convertToDto(entity),
+                                Collectors.toList())));
+    }
+
     /**
      * Returns a Flux of events for a given project.
      * The Flux will emit events as they are published. It will not emit events that were published before the
@@ -95,15 +221,7 @@ public class EventService {
      * @return A Flux of events for the given project
      */
     public Flux<Event> getEventFlux(UUID projectId, UUID userId) {
-        return eventPublisher.getEventStream()
-                .filter(event -> {
-                    if (event.getProjectId() == null || !event.getProjectId().equals(projectId)) {
-                        return false;
-                    }
-                    return event.getVisibility() == EventVisibility.PUBLIC
-                           || event.getUserId().equals(userId)
-                           || event.getVisibleToUserIds().contains(userId);
-                });
+        return projectEventRouter.getEvents(projectId, userId);
     }
 
     public Event reactToEvent(ProjectMutation projectMutation, UUID eventId, String reaction) {
@@ -147,15 +265,32 @@ public class EventService {
         return TemplateDataUtils.findField(event, name);
     }
 
-    public List<DefaultEvent> getChildren(DefaultEvent event) {
-        return eventPersistenceService.getRepository().findChildren(event.getId(), authService.getCurrentUserId())
+    /**
+     * Returns the children of the given events that are visible to the current user, loaded with a single query.
+     *
+     * @param parentIds the ids of the parent events
+     * @return the children grouped by the id of their parent, each list ordered by timestamp ascending.
+     * Events without children are not contained in the map.
+     */
+    public Map<UUID, List<DefaultEvent>> getChildren(Collection<UUID> parentIds) {
+        if (parentIds.isEmpty()) {
+            return Map.of();
+        }
+        return eventPersistenceService.getRepository()
+                .findChildrenOfParents(parentIds, authService.getCurrentUserId())
                 .stream()
-                .map(eventPersistenceService::convertToDto)
-                .toList();
+                .collect(Collectors.groupingBy(child -> child.getParent().getId(),
+                        Collectors.mapping(eventPersistenceService::convertToDto, Collectors.toList())));
     }
 
-    public List<Reaction> getReactions(DefaultEvent event) {
-        return getChildren(event).stream()
+    /**
+     * Returns the reactions on an event.
+     *
+     * @param children the children of the event, see {@link #getChildren(Collection)}
+     * @return the distinct reactions
+     */
+    public List<Reaction> getReactions(List<DefaultEvent> children) {
+        return children.stream()
                 .filter(child ->
                         child.getEventType().getIdentifier()
                                 .equals(DinoDevEventTypes.EVENT_REACTION.getIdentifier()))
@@ -167,11 +302,18 @@ public class EventService {
                 .toList();
     }
 
-    public Integer getXpForCurrentUser(DefaultEvent event) {
-        return getChildren(event).stream()
+    /**
+     * Returns how much XP the current user has earned for an event.
+     *
+     * @param children the children of the event, see {@link #getChildren(Collection)}
+     * @return the sum of the XP
+     */
+    public Integer getXpForCurrentUser(List<DefaultEvent> children) {
+        UUID currentUserId = authService.getCurrentUserId();
+        return children.stream()
                 .filter(child -> child.getEventType().getIdentifier()
                         .equals(DinoDevEventTypes.XP_GAIN.getIdentifier()))
-                .filter(child -> child.getUserId().equals(authService.getCurrentUserId()))
+                .filter(child -> child.getUserId().equals(currentUserId))
                 .mapToInt(child -> findIntField(child, "xp").orElse(0))
                 .sum();
     }
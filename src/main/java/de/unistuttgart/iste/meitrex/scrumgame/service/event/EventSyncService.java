@@ -0,0 +1,161 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Project;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventSyncStateEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.EventSyncStateRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthTokenFromHeaderSupplier;
+import de.unistuttgart.iste.meitrex.scrumgame.service.ims.ImsService;
+import de.unistuttgart.iste.meitrex.scrumgame.service.project.ProjectService;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Coordinates the synchronization of the events of a project with the IMS.
+ * <p>
+ * For each project, the start time of the last successful synchronization is persisted as watermark, see
+ * {@link EventSyncStateEntity}, and the next synchronization only fetches the events after it. The watermark is
+ * only advanced after all fetched events are persisted, so if persisting fails, the next synchronization fetches
+ * the same events again.
+ * A synchronization is only started if the last one is older than the configured minimum interval, and at most
+ * one synchronization per project runs at a time: concurrent requests for the same project share the running
+ * synchronization instead of querying the IMS again.
+ * <p>
+ * Synchronizations run in the background, so reading the events never waits for the IMS. If a service token is
+ * configured, all projects are synchronized periodically with that token. Otherwise, a synchronization is only
+ * started when a user requests it, using the token of that user.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventSyncService {
+
+    private static final OffsetDateTime INITIAL_WATERMARK = LocalDate.of(1, 1, 1).atStartOfDay()
+            .atOffset(ZoneOffset.UTC);
+
+    private final ImsService               imsService;
+    private final EventIngestionService    eventIngestionService;
+    private final EventSyncStateRepository syncStateRepository;
+    private final ProjectService           projectService;
+
+    // min time between event syncs of a project
+    @Value("${dinodev.events.sync.min-interval:30s}")
+    private Duration minSyncInterval;
+
+    @Value("${dinodev.events.sync.service-token:#{null}}")
+    @Nullable
+    private String serviceToken;
+
+    private final Map<UUID, OffsetDateTime>          watermarks   = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<Void>> runningSyncs = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Requests a synchronization of the events of the given project. Returns immediately, the synchronization
+     * runs in the background. Does nothing if the project was synchronized recently or no token is available
+     * to access the IMS.
+     *
+     * @param project the project to synchronize
+     * @return a future that completes when the synchronization is finished
+     */
+    public CompletableFuture<Void> requestSync(Project project) {
+        UUID projectId = project.getId();
+        if (!isDue(getWatermark(projectId))) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> runningSync = runningSyncs.get(projectId);
+        if (runningSync != null) {
+            return runningSync;
+        }
+
+        String token = serviceToken != null ? serviceToken : AuthTokenFromHeaderSupplier.findCurrentToken().orElse(null);
+        if (token == null) {
+            log.debug("No token available to synchronize the events of project {}", projectId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> sync = new CompletableFuture<>();
+        runningSync = runningSyncs.putIfAbsent(projectId, sync);
+        if (runningSync != null) {
+            return runningSync;
+        }
+
+        executor.execute(() -> {
+            Exception failure = null;
+            try {
+                AuthTokenFromHeaderSupplier.runWithToken(token, () -> sync(project));
+            } catch (Exception e) {
+                log.error("Failed to synchronize the events of project {}", projectId, e);
+                failure = e;
+            }
+            // removed before completing, so requests after the completion start a new synchronization
+            runningSyncs.remove(projectId, sync);
+            if (failure == null) {
+                sync.complete(null);
+            } else {
+                sync.completeExceptionally(failure);
+            }
+        });
+        return sync;
+    }
+
+    /**
+     * Synchronizes all projects with the service token, if one is configured.
+     */
+    @Scheduled(fixedDelayString = "${dinodev.events.sync.interval:PT30S}")
+    public void syncAllProjects() {
+        if (serviceToken == null) {
+            return;
+        }
+        projectService.getAllProjects().forEach(this::requestSync);
+    }
+
+    private void sync(Project project) {
+        UUID projectId = project.getId();
+        OffsetDateTime watermark = getWatermark(projectId);
+        // another synchronization might have finished since this one was requested
+        if (!isDue(watermark)) {
+            return;
+        }
+
+        // events that happen while fetching are fetched again next time and skipped by the ingestion
+        OffsetDateTime startedAt = OffsetDateTime.now();
+        List<CreateEventInput> events = imsService.getEventsForProject(project, watermark);
+        // the watermark must not be advanced before the events are persisted, otherwise they would be lost if
+        // persisting fails, throws if persisting failed
+        eventIngestionService.submit(events).join();
+
+        syncStateRepository.save(new EventSyncStateEntity(projectId, startedAt));
+        watermarks.put(projectId, startedAt);
+        log.debug("Synchronized {} events of project {}", events.size(), projectId);
+    }
+
+    private OffsetDateTime getWatermark(UUID projectId) {
+        return watermarks.computeIfAbsent(projectId, id -> syncStateRepository.findById(id)
+                .map(EventSyncStateEntity::getLastSyncedAt)
+                .orElse(INITIAL_WATERMARK));
+    }
+
+    private boolean isDue(OffsetDateTime watermark) {
+        return Duration.between(watermark, OffsetDateTime.now()).abs().compareTo(minSyncInterval) >= 0;
+    }
+}
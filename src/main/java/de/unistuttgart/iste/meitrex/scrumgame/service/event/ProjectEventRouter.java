@@ -0,0 +1,162 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.generated.dto.EventVisibility;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Routes published events to the subscribers of the project the event belongs to.
+ * <p>
+ * The router subscribes once to the global event stream. Subscribers are grouped by project and user, each user
+ * of a project has its own sink that is shared by all subscriptions of the user, e.g., several browser tabs.
+ * The audience of an event is computed once when it is published: public events are emitted to the sinks of all
+ * subscribed users of the project, all other events only to the sinks of the users that may see them.
+ * Events of other projects are never looked at by the subscribers of a project.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProjectEventRouter {
+
+    // number of events that are buffered for a subscriber that does not keep up, older events are dropped
+    private static final int SUBSCRIBER_BUFFER_SIZE = 256;
+
+    private final EventPublisher<Event, CreateEventInput> eventPublisher;
+
+    // project id -> user id -> topic; entries are removed when the last subscription of a user is cancelled.
+    // the inner maps are only modified inside compute of the outer map, so a project is never removed while a
+    // user subscribes to it
+    private final Map<UUID, Map<UUID, UserTopic>> topics = new ConcurrentHashMap<>();
+
+    private Disposable eventSubscription;
+
+    @PostConstruct
+    public void subscribeToEvents() {
+        eventSubscription = eventPublisher.getEventStream()
+                .filter(event -> event.getProjectId() != null)
+                .subscribe(this::route);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (eventSubscription != null) {
+            eventSubscription.dispose();
+        }
+        topics.values().forEach(userTopics -> userTopics.values().forEach(topic -> topic.sink.tryEmitComplete()));
+    }
+
+    /**
+     * Returns a Flux of the events of the given project that are visible to the given user.
+     * The Flux will emit events as they are published. It will not emit events that were published before the
+     * subscription.
+     *
+     * @param projectId the project id to subscribe to
+     * @param userId    the user id to filter events for
+     * @return a Flux of events for the given project
+     */
+    public Flux<Event> getEvents(UUID projectId, UUID userId) {
+        return Flux.defer(() -> {
+            UserTopic topic = acquire(projectId, userId);
+            return topic.sink.asFlux()
+                    .doFinally(signal -> release(projectId, userId, topic));
+        }).onBackpressureBuffer(SUBSCRIBER_BUFFER_SIZE,
+                dropped -> log.debug("Dropped event {} for slow subscriber {}", dropped.getId(), userId),
+                BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * @return the number of users with an active subscription to the given project
+     */
+    int getSubscribedUserCount(UUID projectId) {
+        return topics.getOrDefault(projectId, Map.of()).size();
+    }
+
+    private void route(Event event) {
+        Map<UUID, UserTopic> userTopics = topics.get(event.getProjectId());
+        if (userTopics == null) {
+            return;
+        }
+
+        EventAudience audience = EventAudience.of(event);
+        if (audience.isPublic()) {
+            userTopics.values().forEach(topic -> topic.emit(event));
+        } else {
+            for (UUID userId : audience.userIds()) {
+                UserTopic topic = userTopics.get(userId);
+                if (topic != null) {
+                    topic.emit(event);
+                }
+            }
+        }
+    }
+
+    private UserTopic acquire(UUID projectId, UUID userId) {
+        UserTopic[] acquired = new UserTopic[1];
+        topics.compute(projectId, (id, userTopics) -> {
+            Map<UUID, UserTopic> result = userTopics != null ? userTopics : new ConcurrentHashMap<>();
+            acquired[0] = result.computeIfAbsent(userId, key -> new UserTopic());
+            acquired[0].subscriberCount++;
+            return result;
+        });
+        return acquired[0];
+    }
+
+    private void release(UUID projectId, UUID userId, UserTopic topic) {
+        topics.computeIfPresent(projectId, (id, userTopics) -> {
+            if (--topic.subscriberCount == 0) {
+                userTopics.remove(userId, topic);
+            }
+            return userTopics.isEmpty() ? null : userTopics;
+        });
+    }
+
+    /**
+     * The users that may see an event.
+     *
+     * @param isPublic whether all users of the project may see the event
+     * @param userIds  the users that may see the event if it is not public
+     */
+    record EventAudience(boolean isPublic, Set<UUID> userIds) {
+
+        static EventAudience of(Event event) {
+            if (event.getVisibility() == EventVisibility.PUBLIC) {
+                return new EventAudience(true, Set.of());
+            }
+
+            Set<UUID> userIds = new HashSet<>();
+            if (event.getUserId() != null) {
+                userIds.add(event.getUserId());
+            }
+            if (event.getVisibleToUserIds() != null) {
+                userIds.addAll(event.getVisibleToUserIds());
+            }
+            return new EventAudience(false, userIds);
+        }
+    }
+
+    private static class UserTopic {
+
+        private final Sinks.Many<Event> sink = Sinks.many().multicast().directBestEffort();
+
+        // only modified inside compute of the topics map
+        private int subscriberCount;
+
+        // events can be published from several threads, a sink must not be called concurrently
+        synchronized void emit(Event event) {
+            sink.tryEmitNext(event);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification;
+
+import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.gamification.AchievementEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Registry of all achievements, so achievements do not have to be loaded from the database.
+ * <p>
+ * The achievements are defined in {@link DefaultAchievements} and do not change at runtime. They are still stored in
+ * the database, see {@link AchievementService#saveDefaultAchievements()}, as the progress references them.
+ * The returned entities are shared and must not be modified.
+ */
+@Component
+public class AchievementRegistry {
+
+    private final List<AchievementEntity>        achievements;
+    private final Map<String, AchievementEntity> achievementsById;
+
+    public AchievementRegistry() {
+        this.achievements = List.copyOf(DefaultAchievements.DEFAULT_ACHIEVEMENTS);
+        this.achievementsById = this.achievements.stream()
+                .collect(Collectors.toUnmodifiableMap(AchievementEntity::getId, Function.identity()));
+    }
+
+    /**
+     * @return all achievements, in the order of their definition
+     */
+    public List<AchievementEntity> getAchievements() {
+        return achievements;
+    }
+
+    /**
+     * @throws MeitrexNotFoundException if there is no achievement with the given id
+     */
+    public AchievementEntity getAchievement(String achievementId) {
+        AchievementEntity achievement = achievementsById.get(achievementId);
+        if (achievement == null) {
+            throw new MeitrexNotFoundException("Achievement not found: " + achievementId);
+        }
+        return achievement;
+    }
+}
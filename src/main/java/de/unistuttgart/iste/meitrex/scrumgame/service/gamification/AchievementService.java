@@ -1,5 +1,6 @@
 package de.unistuttgart.iste.meitrex.scrumgame.service.gamification;
 
+import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
 import de.unistuttgart.iste.meitrex.common.service.AbstractCrudService;
 import de.unistuttgart.iste.meitrex.generated.dto.AchievementProgress;
 import de.unistuttgart.iste.meitrex.generated.dto.AllowedDataType;
@@ -30,49 +31,108 @@ public class AchievementService
 
     private final AchievementProgressRepository achievementProgressRepository;
     private final AchievementRepository         achievementRepository;
+    private final AchievementRegistry           achievementRegistry;
     private final DefaultEventPublisher         eventPublisher;
 
     public AchievementService(
             AchievementProgressRepository repository,
             AchievementRepository achievementRepository,
+            AchievementRegistry achievementRegistry,
             DefaultEventPublisher eventPublisher,
             ModelMapper modelMapper
     ) {
         super(repository, modelMapper, AchievementProgressEntity.class, AchievementProgress.class);
         this.achievementProgressRepository = repository;
         this.achievementRepository = achievementRepository;
+        this.achievementRegistry = achievementRegistry;
         this.eventPublisher = eventPublisher;
     }
 
     public List<AchievementProgress> getForUserInProject(UUID userId, UUID projectId) {
-        List<AchievementEntity> achievements = achievementRepository.findAll();
         UserProjectId userProjectId = new UserProjectId(userId, projectId);
 
-        return achievements.stream()
-                .map(achievement -> findOrInitAchievementProgressEntity(userProjectId, achievement))
-                .map(this::convertToDto)
-                .toList();
+        return getForUsersInProjects(List.of(userProjectId)).get(userProjectId);
     }
 
-    public AchievementProgress logAchievementProgress(
+    /**
+     * Returns the progress of all achievements for each of the given users in their project, with a single query.
+     * Achievements without progress are returned with a progress of 0.
+     *
+     * @param userProjectIds the users in their projects
+     * @return the progress of all achievements, in the order of the achievements, for each of the given users
+     */
+    public Map<UserProjectId, List<AchievementProgress>> getForUsersInProjects(
+            Collection<UserProjectId> userProjectIds
+    ) {
+        if (userProjectIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<UUID> userIds = new HashSet<>();
+        Set<UUID> projectIds = new HashSet<>();
+        userProjectIds.forEach(userProjectId -> {
+            userIds.add(userProjectId.getUserId());
+            projectIds.add(userProjectId.getProjectId());
+        });
+
+        Map<AchievementProgressId, AchievementProgressEntity> existingProgress = new HashMap<>();
+        achievementProgressRepository.findAllForUsersInProjects(userIds, projectIds)
+                .forEach(progress -> existingProgress.put(progress.getId(), progress));
+
+        Map<UserProjectId, List<AchievementProgress>> result = new HashMap<>();
+        for (UserProjectId userProjectId : userProjectIds) {
+            result.computeIfAbsent(userProjectId, id -> achievementRegistry.getAchievements().stream()
+                    .map(achievement -> {
+                        AchievementProgressId progressId = getAchievementProgressId(id, achievement);
+                        AchievementProgressEntity progress = existingProgress.get(progressId);
+                        return progress != null ? progress : initAchievementProgressEntity(progressId, achievement);
+                    })
+                    .map(this::convertToDto)
+                    .toList());
+        }
+        return result;
+    }
+
+    public void logAchievementProgress(
             UserProjectId userProjectId,
             String achievementId,
             int progressToAdd
     ) {
-        AchievementEntity achievement = achievementRepository.findByIdOrThrow(achievementId);
+        logAchievementProgress(userProjectId, List.of(achievementId), progressToAdd);
+    }
 
-        AchievementProgressEntity achievementProgressEntity
-                = findOrInitAchievementProgressEntity(userProjectId, achievement);
+    /**
+     * Adds the given amount to the progress of the user for each of the given achievements, with a single database
+     * statement. An event is published for each achievement that is unlocked by this progress.
+     *
+     * @param userProjectId  the user in the project
+     * @param achievementIds the ids of the achievements
+     * @param progressToAdd  the amount to add to the progress of each achievement
+     * @throws MeitrexNotFoundException if one of the achievements does not exist
+     */
+    public void logAchievementProgress(
+            UserProjectId userProjectId,
+            Collection<String> achievementIds,
+            int progressToAdd
+    ) {
+        List<AchievementEntity> achievements = achievementIds.stream()
+                .distinct()
+                .map(achievementRegistry::getAchievement)
+                .toList();
 
-        int progressBefore = achievementProgressEntity.getProgress();
-        achievementProgressEntity.setProgress(progressBefore + progressToAdd);
+        Map<String, Integer> progressAfter = achievementProgressRepository.incrementProgress(
+                userProjectId.getUserId(), userProjectId.getProjectId(),
+                achievements.stream().map(AchievementEntity::getId).toList(),
+                progressToAdd);
 
-        if (achievementProgressEntity.getProgress() >= achievement.getGoal() &&
-            progressBefore < achievement.getGoal()) {
-            publishAchievementEvent(userProjectId, achievement);
-        }
+        for (AchievementEntity achievement : achievements) {
+            int progress = progressAfter.getOrDefault(achievement.getId(), 0);
+            int progressBefore = progress - progressToAdd;
 
-        return convertToDto(achievementProgressRepository.save(achievementProgressEntity));
+            if (progress >= achievement.getGoal() && progressBefore < achievement.getGoal()) {
+                publishAchievementEvent(userProjectId, achievement);
+            }
+        }
     }
 
     @PreAuthorize("@auth.hasPrivilege(@globalPrivileges.UPDATE_USER)")
@@ -86,20 +146,21 @@ public class AchievementService
         achievementRepository.saveAll(DefaultAchievements.DEFAULT_ACHIEVEMENTS);
     }
 
-    private AchievementProgressEntity findOrInitAchievementProgressEntity(
+    private static AchievementProgressId getAchievementProgressId(
             UserProjectId userProjectId,
             AchievementEntity achievement) {
-
-        AchievementProgressId achievementProgressId = new AchievementProgressId(achievement.getIdentifier(),
+        return new AchievementProgressId(achievement.getIdentifier(),
                 userProjectId.getProjectId(), userProjectId.getUserId());
+    }
 
-        return achievementProgressRepository
-                .findById(achievementProgressId)
-                .orElseGet(() -> AchievementProgressEntity.builder()
-                        .setId(achievementProgressId)
-                        .setAchievement(achievement)
-                        .setProgress(0)
-                        .build());
+    private static AchievementProgressEntity initAchievementProgressEntity(
+            AchievementProgressId achievementProgressId,
+            AchievementEntity achievement) {
+        return AchievementProgressEntity.builder()
+                .setId(achievementProgressId)
+                .setAchievement(achievement)
+                .setProgress(0)
+                .build();
     }
 
     private void publishAchievementEvent(UserProjectId userProjectId, AchievementEntity achievement) {
@@ -41,14 +41,10 @@ public class ShopService {
         KnownAsset knownAsset = input.getAsset();
         ShopItem shopItem = ShopItems.getShopItemByKnownAsset(knownAsset);
 
-        userStatsService.updateUserStats(
+        userStatsService.spendVirtualCurrency(
                 authService.getCurrentUserId(),
-                projectMutation.getProject().getId(), userStatsEntity -> {
-                    if (userStatsEntity.getVirtualCurrency() < shopItem.getPrice()) {
-                        throw new IllegalArgumentException("Not enough virtual currency to buy this item");
-                    }
-                    userStatsEntity.setVirtualCurrency(userStatsEntity.getVirtualCurrency() - shopItem.getPrice());
-                });
+                projectMutation.getProject().getId(),
+                shopItem.getPrice());
 
         return sprintService.placeAsset(projectMutation.getProject(), input, authService.getCurrentUserId());
     }
@@ -0,0 +1,151 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification;
+
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Collects increments of user stat counters in memory and writes them to the database in batches.
+ * <p>
+ * Counters like reactions or comments can change many times per second for the same user, e.g., during a
+ * retrospective. Instead of one database write per change, the increments are summed up per user, project and
+ * counter and written with a single statement per user and project on every flush.
+ * Pending increments are included when stats are read, see {@link UserStatsService#findOrInitUserStats}. The
+ * increments of a user are removed from the pending increments before they are written, so they are never counted
+ * twice. While they are written, reads do not include them yet.
+ * <p>
+ * Increments that were not flushed yet are lost if the service is not shut down gracefully.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatsAggregator {
+
+    private final UserStatsRepository userStatsRepository;
+
+    // there is at most one entry for each user in each project with pending increments
+    private final Map<UserProjectId, PendingCounters> pendingCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Adds the given increment to the pending increments of the user in the project.
+     */
+    public void add(UserProjectId userProjectId, UserStatsIncrement increment) {
+        if (increment.isEmpty()) {
+            return;
+        }
+        // compute is atomic with the removal of the counters in flush, so the increment is either added to the
+        // counters before they are written or to new counters
+        pendingCounters.compute(userProjectId, (id, counters) -> {
+            PendingCounters result = counters != null ? counters : new PendingCounters();
+            result.add(increment);
+            return result;
+        });
+    }
+
+    /**
+     * @return the increments of the user in the project that are not written to the database yet
+     */
+    public UserStatsIncrement getPending(UserProjectId userProjectId) {
+        PendingCounters counters = pendingCounters.get(userProjectId);
+        return counters != null ? counters.sum() : UserStatsIncrement.builder().build();
+    }
+
+    /**
+     * Discards the pending increments of all users in the given project, e.g., after the stats were reset.
+     */
+    public void discard(UUID projectId) {
+        pendingCounters.keySet().removeIf(id -> projectId.equals(id.getProjectId()));
+    }
+
+    /**
+     * Writes all pending increments to the database.
+     */
+    @Scheduled(fixedDelayString = "${dinodev.gamification.user-stats.flush-interval:PT2S}")
+    public void flush() {
+        pendingCounters.forEach(this::flush);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(UserProjectId userProjectId, PendingCounters counters) {
+        // the counters are removed before they are written, so the written increment is no longer pending and
+        // a concurrent flush, e.g., on shutdown, does not write it again
+        if (!pendingCounters.remove(userProjectId, counters)) {
+            return;
+        }
+        UserStatsIncrement increment = counters.sum();
+        if (increment.isEmpty()) {
+            return;
+        }
+        try {
+            userStatsRepository.increment(userProjectId, increment);
+        } catch (RuntimeException e) {
+            // the increment is pending again and written on the next flush
+            log.error("Failed to write user stats of {}", userProjectId, e);
+            add(userProjectId, increment);
+        }
+    }
+
+    private static class PendingCounters {
+
+        private final LongAdder issuesCompleted      = new LongAdder();
+        private final LongAdder issuesCreated        = new LongAdder();
+        private final LongAdder commentsWritten      = new LongAdder();
+        private final LongAdder reactionsGiven       = new LongAdder();
+        private final LongAdder pullRequestsCreated  = new LongAdder();
+        private final LongAdder pullRequestsClosed   = new LongAdder();
+        private final LongAdder pullRequestsReviewed = new LongAdder();
+        private final LongAdder virtualCurrency      = new LongAdder();
+        private final LongAdder goldMedals           = new LongAdder();
+        private final LongAdder silverMedals         = new LongAdder();
+        private final LongAdder bronzeMedals         = new LongAdder();
+
+        void add(UserStatsIncrement increment) {
+            addIfNotZero(issuesCompleted, increment.issuesCompleted());
+            addIfNotZero(issuesCreated, increment.issuesCreated());
+            addIfNotZero(commentsWritten, increment.commentsWritten());
+            addIfNotZero(reactionsGiven, increment.reactionsGiven());
+            addIfNotZero(pullRequestsCreated, increment.pullRequestsCreated());
+            addIfNotZero(pullRequestsClosed, increment.pullRequestsClosed());
+            addIfNotZero(pullRequestsReviewed, increment.pullRequestsReviewed());
+            addIfNotZero(virtualCurrency, increment.virtualCurrency());
+            addIfNotZero(goldMedals, increment.goldMedals());
+            addIfNotZero(silverMedals, increment.silverMedals());
+            addIfNotZero(bronzeMedals, increment.bronzeMedals());
+        }
+
+        UserStatsIncrement sum() {
+            return UserStatsIncrement.builder()
+                    .issuesCompleted(issuesCompleted.intValue())
+                    .issuesCreated(issuesCreated.intValue())
+                    .commentsWritten(commentsWritten.intValue())
+                    .reactionsGiven(reactionsGiven.intValue())
+                    .pullRequestsCreated(pullRequestsCreated.intValue())
+                    .pullRequestsClosed(pullRequestsClosed.intValue())
+                    .pullRequestsReviewed(pullRequestsReviewed.intValue())
+                    .virtualCurrency(virtualCurrency.intValue())
+                    .goldMedals(goldMedals.intValue())
+                    .silverMedals(silverMedals.intValue())
+                    .bronzeMedals(bronzeMedals.intValue())
+                    .build();
+        }
+
+        private static void addIfNotZero(LongAdder adder, int value) {
+            if (value != 0) {
+                adder.add(value);
+            }
+        }
+    }
+}
@@ -4,11 +4,14 @@ import de.unistuttgart.iste.meitrex.common.service.AbstractCrudService;
 import de.unistuttgart.iste.meitrex.generated.dto.UserStats;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
 import java.util.function.*;
@@ -17,14 +20,28 @@ import java.util.function.*;
 public class UserStatsService extends AbstractCrudService<UserProjectId, UserStatsEntity, UserStats> {
 
     private final UserStatsRepository userStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UserStatsAggregator userStatsAggregator;
 
-    public UserStatsService(UserStatsRepository repository, ModelMapper modelMapper) {
+    public UserStatsService(
+            UserStatsRepository repository,
+            ModelMapper modelMapper,
+            PlatformTransactionManager transactionManager,
+            UserStatsAggregator userStatsAggregator
+    ) {
         super(repository, modelMapper, UserStatsEntity.class, UserStats.class);
         this.userStatsRepository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userStatsAggregator = userStatsAggregator;
     }
 
+    /**
+     * Returns the stats of a user in a project, including the increments that are not written to the database yet,
+     * see {@link #queueUserStatsIncrement}.
+     */
     public UserStats findOrInitUserStats(UUID userId, UUID projectId) {
-        return convertToDto(findOrInitUserStatsEntity(userId, projectId));
+        return withPendingIncrements(new UserProjectId(userId, projectId),
+                convertToDto(findOrInitUserStatsEntity(userId, projectId)));
     }
 
     public UserStatsEntity findOrInitUserStatsEntity(UUID userId, UUID projectId) {
@@ -32,7 +49,26 @@ public class UserStatsService extends AbstractCrudService<UserProjectId, UserSta
                 .orElseGet(() -> UserStatsEntity.builder().id(new UserProjectId(userId, projectId)).build());
     }
 
-    public synchronized UserStats updateUserStats(
+    /**
+     * Updates the stats of a user in a project.
+     * <p>
+     * Updates of the stats of the same user in the same project are applied one after another, so no update is lost:
+     * the stats are locked in the database until the transaction has completed, also across service instances.
+     * No lock of this service is held beyond the transaction, so transactions that update the stats of several
+     * users in different orders do not wait for each other forever. The database detects such a deadlock and
+     * aborts one of the transactions instead.
+     * Only the changed columns are written, so counters that are incremented concurrently with
+     * {@link #incrementUserStats} are not overwritten, as long as the updater does not change them.
+     * <p>
+     * If this is called inside a transaction, the changes are only committed with that transaction, so other
+     * updates of the same stats wait until that transaction has completed.
+     *
+     * @param userId           the id of the user
+     * @param projectId        the id of the project
+     * @param userStatsUpdater changes the stats, the stats are saved afterward
+     * @return the updated stats
+     */
+    public UserStats updateUserStats(
             UUID userId,
             UUID projectId,
             Consumer<UserStatsEntity> userStatsUpdater
@@ -41,14 +77,80 @@ public class UserStatsService extends AbstractCrudService<UserProjectId, UserSta
         Objects.requireNonNull(userId, "userId must not be null");
         Objects.requireNonNull(projectId, "projectId must not be null");
 
-        UserStatsEntity userStats = findOrInitUserStatsEntity(userId, projectId);
-        userStatsUpdater.accept(userStats);
-        return convertToDto(userStatsRepository.save(userStats));
+        // the entity stays managed until the commit, so only the columns changed by the updater are written
+        return transactionTemplate.execute(status -> {
+            UserStatsEntity userStats = userStatsRepository.findByIdForUpdate(new UserProjectId(userId, projectId));
+            userStatsUpdater.accept(userStats);
+            return withPendingIncrements(userStats.getId(), convertToDto(userStatsRepository.save(userStats)));
+        });
+    }
+
+    /**
+     * Adds the given amounts to the counters of the stats of a user in a project, without loading the stats.
+     * Prefer this over {@link #updateUserStats} for counters, as the database applies the increment.
+     *
+     * @param userId    the id of the user
+     * @param projectId the id of the project
+     * @param increment the amounts to add
+     */
+    public void incrementUserStats(UUID userId, UUID projectId, UserStatsIncrement increment) {
+        Objects.requireNonNull(userId, "userId must not be null");
+        Objects.requireNonNull(projectId, "projectId must not be null");
+
+        userStatsRepository.increment(new UserProjectId(userId, projectId), increment);
+    }
+
+    /**
+     * Adds the given amounts to the counters of the stats of a user in a project. The increment is written to the
+     * database together with other increments of the user after a short time, see {@link UserStatsAggregator}.
+     * Use this for counters that change frequently.
+     *
+     * @param userId    the id of the user
+     * @param projectId the id of the project
+     * @param increment the amounts to add
+     */
+    public void queueUserStatsIncrement(UUID userId, UUID projectId, UserStatsIncrement increment) {
+        Objects.requireNonNull(userId, "userId must not be null");
+        Objects.requireNonNull(projectId, "projectId must not be null");
+
+        userStatsAggregator.add(new UserProjectId(userId, projectId), increment);
+    }
+
+    /**
+     * Subtracts the given amount from the virtual currency of a user in a project.
+     *
+     * @throws IllegalArgumentException if the user does not have enough virtual currency
+     */
+    public void spendVirtualCurrency(UUID userId, UUID projectId, int amount) {
+        if (!userStatsRepository.spendVirtualCurrency(new UserProjectId(userId, projectId), amount)) {
+            throw new IllegalArgumentException("Not enough virtual currency to buy this item");
+        }
     }
 
     @PreAuthorize("@auth.hasPrivilege(@globalPrivileges.UPDATE_USER)")
     @Transactional
     public void resetUserStatsInProject(UUID projectId) {
         userStatsRepository.deleteAllByIdProjectId(projectId);
+        userStatsAggregator.discard(projectId);
+    }
+
+    private UserStats withPendingIncrements(UserProjectId userProjectId, UserStats userStats) {
+        UserStatsIncrement pending = userStatsAggregator.getPending(userProjectId);
+        if (pending.isEmpty()) {
+            return userStats;
+        }
+
+        userStats.setIssuesCompleted(userStats.getIssuesCompleted() + pending.issuesCompleted());
+        userStats.setIssuesCreated(userStats.getIssuesCreated() + pending.issuesCreated());
+        userStats.setCommentsWritten(userStats.getCommentsWritten() + pending.commentsWritten());
+        userStats.setReactionsGiven(userStats.getReactionsGiven() + pending.reactionsGiven());
+        userStats.setPullRequestsCreated(userStats.getPullRequestsCreated() + pending.pullRequestsCreated());
+        userStats.setPullRequestsClosed(userStats.getPullRequestsClosed() + pending.pullRequestsClosed());
+        userStats.setPullRequestsReviewed(userStats.getPullRequestsReviewed() + pending.pullRequestsReviewed());
+        userStats.setVirtualCurrency(userStats.getVirtualCurrency() + pending.virtualCurrency());
+        userStats.setGoldMedals(userStats.getGoldMedals() + pending.goldMedals());
+        userStats.setSilverMedals(userStats.getSilverMedals() + pending.silverMedals());
+        userStats.setBronzeMedals(userStats.getBronzeMedals() + pending.bronzeMedals());
+        return userStats;
     }
 }
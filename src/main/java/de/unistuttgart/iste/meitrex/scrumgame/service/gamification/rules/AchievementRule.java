@@ -18,16 +18,19 @@ public abstract class AchievementRule implements Rule {
 
     @Override
     public UUID getId() {
-        return UUID.randomUUID();
+        return RuleIds.of(getClass());
     }
 
     @Override
     public Optional<CreateEventInput> executeAction(Event triggerEvent) {
         UserProjectId userProjectId = new UserProjectId(triggerEvent.getUserId(), triggerEvent.getProjectId());
 
-        achievements.forEach(achievement ->
-                achievementService.logAchievementProgress(userProjectId, achievement.getId(), 1));
+        achievementService.logAchievementProgress(userProjectId, getAchievementIds(), 1);
 
         return Optional.empty();
     }
+
+    protected List<String> getAchievementIds() {
+        return achievements.stream().map(AchievementEntity::getId).toList();
+    }
 }
@@ -4,7 +4,7 @@ import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
 import de.unistuttgart.iste.meitrex.generated.dto.Event;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -15,10 +15,10 @@ public class IssueCreationXpRule extends XpAndLevelRule {
     private static final int XP_FOR_ISSUE_CREATION = 200;
 
     public IssueCreationXpRule(
-            UserStatsRepository userStatsRepository,
+            UserStatsService userStatsService,
             EventPublisher<Event, CreateEventInput> eventPublisher
     ) {
-        super(userStatsRepository, eventPublisher);
+        super(userStatsService, eventPublisher);
     }
 
     @Override
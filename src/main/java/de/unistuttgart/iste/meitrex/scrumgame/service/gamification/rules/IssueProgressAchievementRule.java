@@ -63,8 +63,7 @@ public class IssueProgressAchievementRule extends AchievementRule {
         for (UUID assigneeId : assigneeIds) {
             UserProjectId userProjectId = new UserProjectId(assigneeId, triggerEvent.getProjectId());
 
-            achievements.forEach(achievement ->
-                    achievementService.logAchievementProgress(userProjectId, achievement.getId(), 1));
+            achievementService.logAchievementProgress(userProjectId, getAchievementIds(), 1);
         }
 
         return Optional.empty();
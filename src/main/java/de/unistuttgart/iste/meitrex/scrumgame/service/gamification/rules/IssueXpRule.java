@@ -5,7 +5,7 @@ import de.unistuttgart.iste.meitrex.generated.dto.Event;
 import de.unistuttgart.iste.meitrex.generated.dto.Issue;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.ims.ImsService;
 import org.springframework.stereotype.Component;
 
@@ -19,11 +19,11 @@ public class IssueXpRule extends XpAndLevelRule {
     private final ImsService imsService;
 
     public IssueXpRule(
-            UserStatsRepository userStatsRepository,
+            UserStatsService userStatsService,
             EventPublisher<Event, CreateEventInput> eventPublisher,
             ImsService imsService
     ) {
-        super(userStatsRepository, eventPublisher);
+        super(userStatsService, eventPublisher);
         this.imsService = imsService;
     }
 
@@ -3,8 +3,8 @@ package de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules;
 import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
 import de.unistuttgart.iste.meitrex.generated.dto.Event;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.DinoDevEventTypes;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils;
 import org.springframework.stereotype.Component;
 
@@ -19,10 +19,10 @@ public class MeetingXpRule extends XpAndLevelRule {
     private static final int MEETING_LEADER_FACTOR = 5;
 
     public MeetingXpRule(
-            UserStatsRepository userStatsRepository,
+            UserStatsService userStatsService,
             EventPublisher<Event, CreateEventInput> eventPublisher
     ) {
-        super(userStatsRepository, eventPublisher);
+        super(userStatsService, eventPublisher);
     }
 
     @Override
@@ -0,0 +1,84 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.rulesengine.Rule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Rule that delegates to another rule and records metrics of it.
+ * <p>
+ * For each rule, the number of condition checks and their results are counted and the execution time of the action
+ * is recorded as a histogram, tagged with the name of the rule.
+ */
+public class MeteredRule implements Rule {
+
+    private final Rule delegate;
+
+    private final Counter conditionMatched;
+    private final Counter conditionNotMatched;
+    private final Timer   actionSucceeded;
+    private final Timer   actionFailed;
+
+    public MeteredRule(Rule delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        String ruleName = delegate.getClass().getSimpleName();
+        conditionMatched = conditionCounter(meterRegistry, ruleName, true);
+        conditionNotMatched = conditionCounter(meterRegistry, ruleName, false);
+        actionSucceeded = actionTimer(meterRegistry, ruleName, "success");
+        actionFailed = actionTimer(meterRegistry, ruleName, "error");
+    }
+
+    @Override
+    public UUID getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public List<String> getTriggerEventTypeIdentifiers() {
+        return delegate.getTriggerEventTypeIdentifiers();
+    }
+
+    @Override
+    public boolean checkCondition(Event triggerEvent) {
+        boolean matched = delegate.checkCondition(triggerEvent);
+        (matched ? conditionMatched : conditionNotMatched).increment();
+        return matched;
+    }
+
+    @Override
+    public Optional<CreateEventInput> executeAction(Event triggerEvent) {
+        long start = System.nanoTime();
+        try {
+            Optional<CreateEventInput> result = delegate.executeAction(triggerEvent);
+            actionSucceeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            actionFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Counter conditionCounter(MeterRegistry meterRegistry, String ruleName, boolean matched) {
+        return Counter.builder("dinodev.gamification.rule.conditions")
+                .description("Condition checks of gamification rules")
+                .tag("rule", ruleName)
+                .tag("matched", Boolean.toString(matched))
+                .register(meterRegistry);
+    }
+
+    private static Timer actionTimer(MeterRegistry meterRegistry, String ruleName, String outcome) {
+        return Timer.builder("dinodev.gamification.rule.actions")
+                .description("Executions of the actions of gamification rules")
+                .tag("rule", ruleName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -4,7 +4,7 @@ import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
 import de.unistuttgart.iste.meitrex.generated.dto.Event;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
 import de.unistuttgart.iste.meitrex.scrumgame.crs.CrsEventTypes;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils;
 import org.springframework.stereotype.Component;
 
@@ -14,9 +14,9 @@ import java.util.*;
 public class PullRequestXpRule extends XpAndLevelRule {
 
     public PullRequestXpRule(
-            UserStatsRepository userStatsRepository,
+            UserStatsService userStatsService,
             EventPublisher<Event, CreateEventInput> eventPublisher) {
-        super(userStatsRepository, eventPublisher);
+        super(userStatsService, eventPublisher);
     }
 
     @Override
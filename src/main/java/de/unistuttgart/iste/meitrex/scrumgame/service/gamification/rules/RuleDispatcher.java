@@ -0,0 +1,85 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.rulesengine.Rule;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Rule that dispatches each event to the rules triggered by its event type only.
+ * <p>
+ * The gamification engine only knows this rule, so an event is not checked against the rules of other event types.
+ * The follow-up events of the dispatched rules are published by this rule, as a rule can only return one follow-up
+ * event. Failures of the dispatched rules are not swallowed but rethrown after all rules were applied.
+ */
+@Slf4j
+public class RuleDispatcher implements Rule {
+
+    private final Map<String, List<Rule>>                 rulesByEventType;
+    private final EventPublisher<Event, CreateEventInput> eventPublisher;
+
+    /**
+     * @param rulesByEventType the rules triggered by each event type identifier
+     * @param eventPublisher   publishes the follow-up events of the rules
+     */
+    public RuleDispatcher(
+            Map<String, List<Rule>> rulesByEventType,
+            EventPublisher<Event, CreateEventInput> eventPublisher
+    ) {
+        this.rulesByEventType = Map.copyOf(rulesByEventType);
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public UUID getId() {
+        return RuleIds.of(getClass());
+    }
+
+    @Override
+    public List<String> getTriggerEventTypeIdentifiers() {
+        return List.copyOf(rulesByEventType.keySet());
+    }
+
+    @Override
+    public boolean checkCondition(Event triggerEvent) {
+        return !getRules(triggerEvent).isEmpty();
+    }
+
+    /**
+     * Applies the rules of the event type to the event. If a rule fails, the other rules are still applied, then
+     * the failure of the first failing rule is rethrown with the failures of the other rules as suppressed
+     * exceptions, so the engine handles it like the failure of a single rule.
+     */
+    @Override
+    public Optional<CreateEventInput> executeAction(Event triggerEvent) {
+        RuntimeException failure = null;
+        for (Rule rule : getRules(triggerEvent)) {
+            try {
+                if (rule.checkCondition(triggerEvent)) {
+                    rule.executeAction(triggerEvent).ifPresent(eventPublisher::publishEvent);
+                }
+            } catch (RuntimeException e) {
+                log.error("Rule {} failed for event {}", rule.getId(), triggerEvent.getId(), e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        // the follow-up events were already published
+        return Optional.empty();
+    }
+
+    private List<Rule> getRules(Event triggerEvent) {
+        return rulesByEventType.getOrDefault(triggerEvent.getEventType().getIdentifier(), List.of());
+    }
+}
@@ -0,0 +1,19 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules;
+
+import de.unistuttgart.iste.meitrex.rulesengine.Rule;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Creates the ids of rules. The id of a rule is derived from its class, so it is the same on every call, on every
+ * instance of the service and after restarts.
+ */
+@NoArgsConstructor(access = lombok.AccessLevel.PRIVATE)
+public class RuleIds {
+
+    public static UUID of(Class<? extends Rule> ruleClass) {
+        return UUID.nameUUIDFromBytes(("rule:" + ruleClass.getName()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -6,7 +6,7 @@ import de.unistuttgart.iste.meitrex.rulesengine.DefaultEventTypes;
 import de.unistuttgart.iste.meitrex.rulesengine.Rule;
 import de.unistuttgart.iste.meitrex.scrumgame.crs.CrsEventTypes;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.DinoDevEventTypes;
 import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import lombok.RequiredArgsConstructor;
@@ -20,19 +20,37 @@ import java.util.*;
 @RequiredArgsConstructor
 public class StatCounterRule implements Rule {
 
+    // the counters to increment for each trigger event type
+    private static final Map<String, UserStatsIncrement> INCREMENTS_BY_EVENT_TYPE = Map.ofEntries(
+            Map.entry(DinoDevEventTypes.EVENT_REACTION.getIdentifier(),
+                    UserStatsIncrement.builder().reactionsGiven(1).build()),
+            Map.entry(DefaultEventTypes.USER_MESSAGE.getIdentifier(),
+                    UserStatsIncrement.builder().commentsWritten(1).build()),
+            Map.entry(ImsEventTypes.COMMENT_ON_ISSUE.getIdentifier(),
+                    UserStatsIncrement.builder().commentsWritten(1).build()),
+            Map.entry(ImsEventTypes.ISSUE_COMPLETED.getIdentifier(),
+                    UserStatsIncrement.builder().issuesCompleted(1).build()),
+            Map.entry(ImsEventTypes.ISSUE_CREATED.getIdentifier(),
+                    UserStatsIncrement.builder().issuesCreated(1).build()),
+            Map.entry(CrsEventTypes.OPEN_PULL_REQUEST.getIdentifier(),
+                    UserStatsIncrement.builder().pullRequestsCreated(1).build()),
+            Map.entry(CrsEventTypes.CLOSE_PULL_REQUEST.getIdentifier(),
+                    UserStatsIncrement.builder().pullRequestsClosed(1).build()),
+            Map.entry(CrsEventTypes.REVIEW_ACCEPT.getIdentifier(),
+                    UserStatsIncrement.builder().pullRequestsReviewed(1).build()),
+            Map.entry(CrsEventTypes.REVIEW_CHANGE_REQUEST.getIdentifier(),
+                    UserStatsIncrement.builder().pullRequestsReviewed(1).build()));
+
     private final UserStatsService userStatsService;
 
+    @Override
+    public UUID getId() {
+        return RuleIds.of(getClass());
+    }
+
     @Override
     public List<String> getTriggerEventTypeIdentifiers() {
-        return List.of(DinoDevEventTypes.EVENT_REACTION.getIdentifier(),
-                DefaultEventTypes.USER_MESSAGE.getIdentifier(),
-                ImsEventTypes.COMMENT_ON_ISSUE.getIdentifier(),
-                ImsEventTypes.ISSUE_COMPLETED.getIdentifier(),
-                ImsEventTypes.ISSUE_CREATED.getIdentifier(),
-                CrsEventTypes.OPEN_PULL_REQUEST.getIdentifier(),
-                CrsEventTypes.CLOSE_PULL_REQUEST.getIdentifier(),
-                CrsEventTypes.REVIEW_ACCEPT.getIdentifier(),
-                CrsEventTypes.REVIEW_CHANGE_REQUEST.getIdentifier());
+        return List.copyOf(INCREMENTS_BY_EVENT_TYPE.keySet());
     }
 
     @Override
@@ -42,44 +60,15 @@ public class StatCounterRule implements Rule {
 
     @Override
     public Optional<CreateEventInput> executeAction(Event triggerEvent) {
-        userStatsService.updateUserStats(triggerEvent.getUserId(), triggerEvent.getProjectId(),
-                userStats -> incrementUserStatOfEvent(triggerEvent, userStats));
+        UserStatsIncrement increment = INCREMENTS_BY_EVENT_TYPE.get(triggerEvent.getEventType().getIdentifier());
+        if (increment != null) {
+            // these counters change frequently, so they are written in batches
+            userStatsService.queueUserStatsIncrement(triggerEvent.getUserId(), triggerEvent.getProjectId(),
+                    increment);
+        }
 
         // no follow-up event
         return Optional.empty();
     }
 
-    private static void incrementUserStatOfEvent(Event triggerEvent, UserStatsEntity userStats) {
-        if (triggerEvent.getEventType().getIdentifier().equals(DinoDevEventTypes.EVENT_REACTION.getIdentifier())) {
-            userStats.setReactionsGiven(userStats.getReactionsGiven() + 1);
-        }
-
-        if (triggerEvent.getEventType().getIdentifier().equals(ImsEventTypes.ISSUE_COMPLETED.getIdentifier())) {
-            userStats.setIssuesCompleted(userStats.getIssuesCompleted() + 1);
-        }
-
-        if (triggerEvent.getEventType().getIdentifier().equals(ImsEventTypes.ISSUE_CREATED.getIdentifier())) {
-            userStats.setIssuesCreated(userStats.getIssuesCreated() + 1);
-        }
-
-        if (triggerEvent.getEventType().getIdentifier().equals(CrsEventTypes.OPEN_PULL_REQUEST.getIdentifier())) {
-            userStats.setPullRequestsCreated(userStats.getPullRequestsCreated() + 1);
-        }
-
-        if (triggerEvent.getEventType().getIdentifier().equals(CrsEventTypes.CLOSE_PULL_REQUEST.getIdentifier())) {
-            userStats.setPullRequestsClosed(userStats.getPullRequestsClosed() + 1);
-        }
-
-        if (triggerEvent.getEventType().getIdentifier().equals(CrsEventTypes.REVIEW_ACCEPT.getIdentifier())
-            || triggerEvent.getEventType().getIdentifier().equals(CrsEventTypes.REVIEW_CHANGE_REQUEST.getIdentifier())
-        ) {
-            userStats.setPullRequestsReviewed(userStats.getPullRequestsReviewed() + 1);
-        }
-
-        if (triggerEvent.getEventType().getIdentifier().equals(ImsEventTypes.COMMENT_ON_ISSUE.getIdentifier())
-            || triggerEvent.getEventType().getIdentifier().equals(DefaultEventTypes.USER_MESSAGE.getIdentifier())) {
-            userStats.setCommentsWritten(userStats.getCommentsWritten() + 1);
-        }
-    }
-
 }
@@ -6,10 +6,10 @@ import de.unistuttgart.iste.meitrex.generated.dto.DataFieldInput;
 import de.unistuttgart.iste.meitrex.generated.dto.Event;
 import de.unistuttgart.iste.meitrex.rulesengine.Rule;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsEntity;
-import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.DinoDevEventTypes;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
 import lombok.RequiredArgsConstructor;
 
 import java.util.*;
@@ -18,11 +18,14 @@ import static de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils.intF
 
 /**
  * A rule that adds XP to the user's stats and manages level ups.
+ * <p>
+ * The stats are updated with {@link UserStatsService#updateUserStats}, so XP of different users is added in parallel,
+ * while updates of the same user are not lost.
  */
 @RequiredArgsConstructor
 public abstract class XpAndLevelRule implements Rule {
 
-    private final UserStatsRepository userStatsRepository;
+    private final UserStatsService userStatsService;
     private final EventPublisher<Event, CreateEventInput> eventPublisher;
 
     /**
@@ -44,7 +47,7 @@ public abstract class XpAndLevelRule implements Rule {
 
     @Override
     public UUID getId() {
-        return UUID.randomUUID();
+        return RuleIds.of(getClass());
     }
 
     @Override
@@ -53,21 +56,24 @@ public abstract class XpAndLevelRule implements Rule {
     }
 
     @Override
-    public synchronized Optional<CreateEventInput> executeAction(Event triggerEvent) {
-        UserStatsEntity userStats = getUserStatsEntity(triggerEvent.getUserId(), triggerEvent.getProjectId());
-
+    public Optional<CreateEventInput> executeAction(Event triggerEvent) {
         int xpToAdd = getXp(triggerEvent);
         if (xpToAdd <= 0) {
             return Optional.empty();
         }
 
-        int levelBefore = userStats.getLevel();
-        userStats = addXp(userStats, xpToAdd);
-        int levelsGained = userStats.getLevel() - levelBefore;
+        List<Integer> newLevels = new ArrayList<>();
+        userStatsService.updateUserStats(triggerEvent.getUserId(), triggerEvent.getProjectId(), userStats -> {
+            int levelBefore = userStats.getLevel();
+            addXp(userStats, xpToAdd);
 
-        for (int i = 0; i < levelsGained; i++) {
-            doLevelUp(userStats, triggerEvent, i + levelBefore + 1);
-        }
+            for (int level = levelBefore + 1; level <= userStats.getLevel(); level++) {
+                newLevels.add(level);
+            }
+        });
+
+        // done after the update, so the lock of the user stats is not held while the events are processed
+        newLevels.forEach(newLevel -> doLevelUp(triggerEvent, newLevel));
 
         return Optional.of(getXpGainEvent(triggerEvent, xpToAdd));
     }
@@ -85,24 +91,20 @@ public abstract class XpAndLevelRule implements Rule {
     }
 
     public UserStatsEntity addXp(UserStatsEntity userStats, int xpToAdd) {
-        return userStatsRepository.save(XpAdder.addXp(userStats, xpToAdd));
+        return XpAdder.addXp(userStats, xpToAdd);
     }
 
-    public void doLevelUp(UserStatsEntity userStats, Event triggerEvent, int newLevel) {
+    public void doLevelUp(Event triggerEvent, int newLevel) {
         int virtualCurrency = VirtualCurrencyCalculator.getVirtualCurrencyForLevelUp(newLevel);
 
-        addVirtualCurrency(userStats, virtualCurrency);
+        userStatsService.incrementUserStats(triggerEvent.getUserId(), triggerEvent.getProjectId(),
+                UserStatsIncrement.builder().virtualCurrency(virtualCurrency).build());
 
         CreateEventInput levelUpEvent = getLevelUpEvent(triggerEvent, newLevel, virtualCurrency);
 
         eventPublisher.publishEvent(levelUpEvent);
     }
 
-    private void addVirtualCurrency(UserStatsEntity userStats, int virtualCurrency) {
-        userStats.setVirtualCurrency(userStats.getVirtualCurrency() + virtualCurrency);
-        userStatsRepository.save(userStats);
-    }
-
     private static CreateEventInput getLevelUpEvent(Event triggerEvent, int newLevel, int virtualCurrencyGained) {
         return CreateEventInput.builder()
                 .setEventTypeIdentifier(DinoDevEventTypes.LEVEL_UP.getIdentifier())
@@ -114,12 +116,4 @@ public abstract class XpAndLevelRule implements Rule {
                 .build();
     }
 
-
-    private UserStatsEntity getUserStatsEntity(UUID userId, UUID projectId) {
-        UserProjectId userProjectId = new UserProjectId(userId, projectId);
-
-        return userStatsRepository.findById(userProjectId)
-                .orElseGet(() -> UserStatsEntity.builder().id(userProjectId).build());
-    }
-
 }
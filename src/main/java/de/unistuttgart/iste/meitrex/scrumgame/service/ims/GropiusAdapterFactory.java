@@ -1,16 +1,30 @@
 package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.unistuttgart.iste.meitrex.common.graphqlclient.GraphQlRequestExecutor;
+import de.unistuttgart.iste.meitrex.generated.dto.ImsSettings;
 import de.unistuttgart.iste.meitrex.generated.dto.Project;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsAdapter;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.gropius.GropiusAdapter;
+import de.unistuttgart.iste.meitrex.scrumgame.service.project.ImsSettingsChangedEvent;
 import de.unistuttgart.iste.meitrex.scrumgame.service.project.ProjectService;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 
+/**
+ * Creates {@link GropiusAdapter}s for projects.
+ * <p>
+ * Adapters are cached per project together with the IMS settings they were created with, so IMS operations do not
+ * load the project and build a new mapping configuration each time. A cached adapter is only reused for a project
+ * with equal IMS settings, and it is discarded when the IMS settings of the project change,
+ * see {@link ImsSettingsChangedEvent}.
+ */
 @Service
 @RequiredArgsConstructor
 public class GropiusAdapterFactory implements ImsAdapterFactory {
@@ -21,15 +35,43 @@ public class GropiusAdapterFactory implements ImsAdapterFactory {
     @Value("${gropius.frontend.url}")
     private String gropiusFrontendUrl;
 
+    private final Cache<UUID, CachedAdapter> adapterCache = Caffeine.newBuilder()
+            .maximumSize(500)
+            .build();
+
     @Override
     public ImsAdapter getImsAdapterForProject(UUID projectId) {
+        CachedAdapter cachedAdapter = adapterCache.getIfPresent(projectId);
+        if (cachedAdapter != null) {
+            return cachedAdapter.adapter();
+        }
         return getImsAdapterForProject(projectService.getProjectOrThrow(projectId));
     }
 
     @Override
     public ImsAdapter getImsAdapterForProject(Project project) {
-        return new GropiusAdapter(graphQlRequestExecutor, DefaultIssueMappingConfiguration.of(project,
+        ImsSettings imsSettings = getImsSettings(project);
+        CachedAdapter cachedAdapter = adapterCache.getIfPresent(project.getId());
+        if (cachedAdapter != null && Objects.equals(cachedAdapter.imsSettings(), imsSettings)) {
+            return cachedAdapter.adapter();
+        }
+
+        ImsAdapter adapter = new GropiusAdapter(graphQlRequestExecutor, DefaultIssueMappingConfiguration.of(project,
                 gropiusFrontendUrl));
+        adapterCache.put(project.getId(), new CachedAdapter(imsSettings, adapter));
+        return adapter;
+    }
+
+    @EventListener
+    public void onImsSettingsChanged(ImsSettingsChangedEvent event) {
+        adapterCache.invalidate(event.projectId());
     }
 
+    @Nullable
+    private static ImsSettings getImsSettings(Project project) {
+        return project.getProjectSettings() != null ? project.getProjectSettings().getImsSettings() : null;
+    }
+
+    private record CachedAdapter(@Nullable ImsSettings imsSettings, ImsAdapter adapter) {
+    }
 }
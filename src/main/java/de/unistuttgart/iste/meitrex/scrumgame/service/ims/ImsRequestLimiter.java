@@ -0,0 +1,118 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
+
+import de.unistuttgart.iste.meitrex.scrumgame.exception.ImsUnavailableException;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthTokenFromHeaderSupplier;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Executes requests to the IMS with request coalescing, a concurrency limit per project and a timeout.
+ * <ul>
+ *     <li>Concurrent requests with the same key share one request to the IMS. No lock is held while waiting,
+ *     so requests with different keys never wait for each other.</li>
+ *     <li>At most the configured number of requests per project run at the same time, so a single project with
+ *     many users cannot exhaust the IMS.</li>
+ *     <li>If a request does not complete within the configured timeout, the fallback value is returned, e.g.,
+ *     the last known value. The request keeps running in the background and completes for the callers that
+ *     share it.</li>
+ * </ul>
+ * The auth token of the caller that starts a request is used for that request.
+ */
+@Slf4j
+@Component
+public class ImsRequestLimiter {
+
+    @Value("${dinodev.ims.max-concurrent-requests-per-project:4}")
+    private int maxConcurrentRequestsPerProject;
+
+    @Value("${dinodev.ims.request-timeout:10s}")
+    private Duration requestTimeout;
+
+    private final Map<UUID, Semaphore>              permitsByProject = new ConcurrentHashMap<>();
+    private final Map<Object, CompletableFuture<?>> runningRequests  = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Executes the given request, or waits for a running request with the same key.
+     *
+     * @param projectId the project the request belongs to
+     * @param key       identifies the request, requests with equal keys must return equal results
+     * @param request   the request to the IMS
+     * @param fallback  supplies the value to return if the request times out, e.g., a cached value
+     * @param <T>       the result type
+     * @return the result of the request or the fallback value
+     * @throws ImsUnavailableException if the request times out and there is no fallback value
+     */
+    public <T> T execute(UUID projectId, Object key, Supplier<T> request, Supplier<Optional<T>> fallback) {
+        CompletableFuture<T> result = getOrStartRequest(projectId, key, request);
+        try {
+            return result.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("IMS request {} of project {} timed out after {}", key, projectId, requestTimeout);
+            return fallback.get()
+                    .orElseThrow(() -> new ImsUnavailableException("The IMS did not respond in time", e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImsUnavailableException("Interrupted while waiting for the IMS", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ImsUnavailableException("The IMS request failed", e.getCause());
+        }
+    }
+
+    /**
+     * Executes the given request without fallback.
+     *
+     * @see #execute(UUID, Object, Supplier, Supplier)
+     */
+    public <T> T execute(UUID projectId, Object key, Supplier<T> request) {
+        return execute(projectId, key, request, Optional::empty);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> getOrStartRequest(UUID projectId, Object key, Supplier<T> request) {
+        CompletableFuture<T> newRequest = new CompletableFuture<>();
+        CompletableFuture<?> runningRequest = runningRequests.putIfAbsent(key, newRequest);
+        if (runningRequest != null) {
+            return (CompletableFuture<T>) runningRequest;
+        }
+
+        String token = AuthTokenFromHeaderSupplier.findCurrentToken().orElse(null);
+        Semaphore permits = permitsByProject.computeIfAbsent(projectId,
+                id -> new Semaphore(maxConcurrentRequestsPerProject));
+
+        executor.execute(() -> {
+            try {
+                permits.acquire();
+                try {
+                    AuthTokenFromHeaderSupplier.runWithToken(token, () -> newRequest.complete(request.get()));
+                } finally {
+                    permits.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                newRequest.completeExceptionally(e);
+            } catch (Exception e) {
+                newRequest.completeExceptionally(e);
+            } finally {
+                runningRequests.remove(key, newRequest);
+            }
+        });
+        return newRequest;
+    }
+}
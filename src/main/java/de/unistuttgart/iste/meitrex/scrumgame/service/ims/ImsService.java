@@ -2,7 +2,7 @@ package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
 
 import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
 import de.unistuttgart.iste.meitrex.generated.dto.*;
-import de.unistuttgart.iste.meitrex.rulesengine.util.DefaultEventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventIngestionService;
 import de.unistuttgart.iste.meitrex.scrumgame.util.DodConfirmStateFormatter;
 import de.unistuttgart.iste.meitrex.scrumgame.util.StateUtils;
 import jakarta.annotation.Nullable;
@@ -11,7 +11,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
@@ -23,25 +22,56 @@ import java.util.*;
 public class ImsService {
 
     private final ImsAdapterFactory     imsAdapterFactory;
-    private final DefaultEventPublisher eventPublisher;
+    private final EventIngestionService eventIngestionService;
+    private final IssueStore            issueStore;
+    private final ImsRequestLimiter     imsRequestLimiter;
 
-    @Cacheable(value = "issues", key = "#project.id", sync = true)
-    public synchronized List<Issue> getIssues(Project project) {
-        return imsAdapterFactory.getImsAdapterForProject(project).getIssues(project.getId());
+    /**
+     * Returns the issues of the given project from the {@link IssueStore}.
+     */
+    public List<Issue> getIssues(Project project) {
+        return issueStore.getIssues(project);
     }
 
-    @Cacheable(value = "issue", key = "#project.id + #id", sync = true)
-    public synchronized Optional<Issue> findIssue(Project project, String id) {
-        return imsAdapterFactory.getImsAdapterForProject(project).findIssue(id);
+    /**
+     * Returns the index of the issues of the given project from the {@link IssueStore}.
+     */
+    public IssueIndex getIssueIndex(Project project) {
+        return issueStore.getIndex(project);
     }
 
-    @Cacheable(value = "issue", key = "#projectId + #issueId", sync = true)
-    public synchronized Optional<Issue> findIssue(UUID projectId, String issueId) {
-        return imsAdapterFactory.getImsAdapterForProject(projectId).findIssue(issueId);
+    /**
+     * @see #getIssueIndex(Project)
+     */
+    public IssueIndex getIssueIndex(UUID projectId) {
+        return issueStore.getIndex(projectId);
+    }
+
+    /**
+     * Finds the issue with the given id. Concurrent lookups of the same issue share one request to the IMS.
+     * If the IMS does not respond in time, the issue from the {@link IssueStore} is returned, if available.
+     */
+    @Cacheable(value = "issue", key = "#project.id + #id")
+    public Optional<Issue> findIssue(Project project, String id) {
+        return imsRequestLimiter.execute(project.getId(), new IssueKey(project.getId(), id),
+                () -> imsAdapterFactory.getImsAdapterForProject(project).findIssue(id),
+                () -> issueStore.findLoadedIssue(project.getId(), id).map(Optional::of));
+    }
+
+    /**
+     * @see #findIssue(Project, String)
+     */
+    @Cacheable(value = "issue", key = "#projectId + #issueId")
+    public Optional<Issue> findIssue(UUID projectId, String issueId) {
+        return imsRequestLimiter.execute(projectId, new IssueKey(projectId, issueId),
+                () -> imsAdapterFactory.getImsAdapterForProject(projectId).findIssue(issueId),
+                () -> issueStore.findLoadedIssue(projectId, issueId).map(Optional::of));
     }
 
     public List<Issue> getIssuesByIds(UUID projectId, List<String> issueIds) {
-        return imsAdapterFactory.getImsAdapterForProject(projectId).findIssuesBatched(issueIds);
+        return imsRequestLimiter.execute(projectId, new IssuesKey(projectId, List.copyOf(issueIds)),
+                () -> imsAdapterFactory.getImsAdapterForProject(projectId).findIssuesBatched(issueIds),
+                () -> findLoadedIssues(projectId, issueIds));
     }
 
     public ProjectBoard getProjectBoard(Project project) {
@@ -53,22 +83,19 @@ public class ImsService {
                 board.getProject().getProjectSettings().getImsSettings().getIssueStates(), board);
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "issues", key = "#project.id"),
-            @CacheEvict(value = "issue", key = "#project.id + #id")
-    })
+    @CacheEvict(value = "issue", key = "#project.id + #id")
     public IssueMutation mutateIssue(Project project, String id) {
         return new IssueMutation(project, id);
     }
 
     public Issue changeIssueTitle(IssueMutation issueMutation, String title) {
-        return imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
-                .changeIssueTitle(issueMutation.getIssueId(), title);
+        return storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
+                .changeIssueTitle(issueMutation.getIssueId(), title));
     }
 
     public Issue changeIssueDescription(IssueMutation issueMutation, String description) {
-        return imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
-                .changeIssueDescription(issueMutation.getIssueId(), description);
+        return storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
+                .changeIssueDescription(issueMutation.getIssueId(), description));
     }
 
     public Issue changeIssueState(IssueMutation issueMutation, String stateName) {
@@ -77,8 +104,8 @@ public class ImsService {
 
     public Issue changeIssueState(IssueMutation issueMutation, IssueState state) {
         Project project = issueMutation.getProject();
-        Issue issue = imsAdapterFactory.getImsAdapterForProject(project)
-                .changeIssueState(issueMutation.getIssueId(), state);
+        Issue issue = storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(project)
+                .changeIssueState(issueMutation.getIssueId(), state));
 
         // set sprint if necessary
         if (StateUtils.isMovedOutOfSprint(issue.getState(), state)) {
@@ -112,18 +139,18 @@ public class ImsService {
     }
 
     public Issue changeIssueType(IssueMutation issueMutation, String typeName) {
-        return imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
-                .changeIssueType(issueMutation.getIssueId(), typeName);
+        return storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
+                .changeIssueType(issueMutation.getIssueId(), typeName));
     }
 
     public Issue assignIssue(IssueMutation issueMutation, UUID assigneeId) {
-        return imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
-                .assignIssue(issueMutation.getIssueId(), assigneeId);
+        return storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
+                .assignIssue(issueMutation.getIssueId(), assigneeId));
     }
 
     public Issue changeSprint(IssueMutation issueMutation, Integer sprintNumber) {
-        return imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
-                .changeSprintOfIssue(issueMutation.getIssueId(), sprintNumber);
+        return storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
+                .changeSprintOfIssue(issueMutation.getIssueId(), sprintNumber));
     }
 
     public Issue finishIssue(IssueMutation issueMutation,
@@ -144,6 +171,7 @@ public class ImsService {
     public void changeIssueEstimation(IssueMutation issueMutation, TShirtSizeEstimation estimation) {
         imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
                 .changeEstimationOfIssue(issueMutation.getIssueId(), estimation);
+        issueStore.markChanged(issueMutation.getProject().getId(), issueMutation.getIssueId());
     }
 
     public List<CreateEventInput> getEventsForIssue(Issue issue, OffsetDateTime since) {
@@ -152,23 +180,22 @@ public class ImsService {
     }
 
     @CachePut(value = "issue", key = "#projectMutation.getProject().id + #result.getId()")
-    @CacheEvict(value = "issues", key = "#projectMutation.getProject().id")
     public Issue createIssue(ProjectMutation projectMutation, CreateIssueInput input) {
-        return imsAdapterFactory.getImsAdapterForProject(projectMutation.getProject())
+        Issue issue = imsAdapterFactory.getImsAdapterForProject(projectMutation.getProject())
                 .createIssue(input);
+        issueStore.put(projectMutation.getProject().getId(), issue);
+        return issue;
     }
 
     public Issue commentOnIssue(IssueMutation issueMutation, String comment, @Nullable String parentId) {
-        return imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
-                .addCommentToIssue(issueMutation.getIssueId(), comment, parentId);
+        return storeIssue(issueMutation, imsAdapterFactory.getImsAdapterForProject(issueMutation.getProject())
+                .addCommentToIssue(issueMutation.getIssueId(), comment, parentId));
     }
 
-    @Caching(evict = {
-            @CacheEvict(value = "issues", key = "#issue.projectId"),
-            @CacheEvict(value = "issue", key = "#issue.projectId + #issue.id")
-    })
+    @CacheEvict(value = "issue", key = "#issue.projectId + #issue.id")
     public void syncEvents(Issue issue, OffsetDateTime since) {
-        getEventsForIssue(issue, since).forEach(eventPublisher::publishEvent);
+        issueStore.markChanged(issue.getProjectId(), issue.getId());
+        eventIngestionService.submit(getEventsForIssue(issue, since));
     }
 
     public List<CreateEventInput> getEventsForProject(Project project, OffsetDateTime lastGlobalEventSync) {
@@ -176,6 +203,25 @@ public class ImsService {
                 .getEventsForProject(project.getId(), lastGlobalEventSync);
     }
 
+    // only if all issues are loaded, a partial result would look like the other issues were deleted
+    private Optional<List<Issue>> findLoadedIssues(UUID projectId, List<String> issueIds) {
+        List<Issue> issues = new ArrayList<>(issueIds.size());
+        for (String issueId : issueIds) {
+            Optional<Issue> issue = issueStore.findLoadedIssue(projectId, issueId);
+            if (issue.isEmpty()) {
+                return Optional.empty();
+            }
+            issues.add(issue.get());
+        }
+        return Optional.of(issues);
+    }
+
+    // keeps the issue store up to date with the result of a mutation
+    private Issue storeIssue(IssueMutation issueMutation, Issue issue) {
+        issueStore.put(issueMutation.getProject().getId(), issue);
+        return issue;
+    }
+
     private IssueStateInBoard toIssueStateInBoard(IssueState issueState, ProjectBoard board) {
         return new IssueStateInBoard(issueState, board);
     }
@@ -186,4 +232,9 @@ public class ImsService {
                 .toList();
     }
 
+    private record IssueKey(UUID projectId, String issueId) {
+    }
+
+    private record IssuesKey(UUID projectId, List<String> issueIds) {
+    }
 }
@@ -8,6 +8,10 @@ import org.springframework.stereotype.Service;
 
 import java.util.*;
 
+/**
+ * Resolves issues for many states, sprints or ids at once, using the {@link IssueIndex} of each project.
+ * The index of a project is looked up once per call, each state or sprint is then a single bucket lookup.
+ */
 @Service
 @RequiredArgsConstructor
 public class ImsServiceExtension {
@@ -15,31 +19,61 @@ public class ImsServiceExtension {
     private final ImsService baseImsService;
 
     public Map<IssueStateInBoard, List<Issue>> getIssuesByStates(List<IssueStateInBoard> states) {
+        Map<UUID, IssueIndex> indexByProjectId = new HashMap<>();
         Map<IssueStateInBoard, List<Issue>> resultMap = new HashMap<>();
 
         for (IssueStateInBoard state : states) {
-            List<Issue> issues = baseImsService.getIssues(state.getProjectBoard().getProject());
-            List<Issue> stateIssues = issues.stream()
-                    .filter(issue -> Objects.equals(issue.getState().getImsStateId(), state.getState().getImsStateId()))
-                    .toList();
-            resultMap.put(state, stateIssues);
+            IssueIndex index = indexByProjectId.computeIfAbsent(state.getProjectBoard().getProject().getId(),
+                    projectId -> baseImsService.getIssueIndex(state.getProjectBoard().getProject()));
+            resultMap.put(state, index.getByStateId(state.getState().getImsStateId()));
         }
 
         return resultMap;
     }
 
     public Map<Sprint, List<Issue>> getIssuesBySprints(List<Sprint> sprints) {
+        Map<UUID, IssueIndex> indexByProjectId = new HashMap<>();
         Map<Sprint, List<Issue>> resultMap = new HashMap<>();
 
         for (Sprint sprint : sprints) {
-            List<Issue> issues = baseImsService.getIssues(sprint.getProject());
-            List<Issue> sprintIssues = issues.stream()
-                    .filter(issue -> Objects.equals(issue.getSprintNumber(), sprint.getNumber()))
-                    .toList();
-            resultMap.put(sprint, sprintIssues);
+            IssueIndex index = indexByProjectId.computeIfAbsent(sprint.getProject().getId(),
+                    projectId -> baseImsService.getIssueIndex(sprint.getProject()));
+            resultMap.put(sprint, index.getBySprintNumber(sprint.getNumber()));
         }
 
         return resultMap;
     }
 
+    /**
+     * Returns the issues with the given ids, in the given order. Issues that are not in the index of the project,
+     * e.g., because they were just created in the IMS, are fetched from the IMS.
+     *
+     * @param projectId the id of the project of the issues
+     * @param issueIds  the ids of the issues
+     * @return the issues that were found
+     */
+    public List<Issue> getIssuesByIds(UUID projectId, List<String> issueIds) {
+        if (issueIds.isEmpty()) {
+            return List.of();
+        }
+        IssueIndex index = baseImsService.getIssueIndex(projectId);
+
+        List<String> missingIssueIds = issueIds.stream()
+                .filter(issueId -> index.findById(issueId).isEmpty())
+                .toList();
+        Map<String, Issue> missingIssues = new HashMap<>();
+        if (!missingIssueIds.isEmpty()) {
+            baseImsService.getIssuesByIds(projectId, missingIssueIds)
+                    .forEach(issue -> missingIssues.put(issue.getId(), issue));
+        }
+
+        List<Issue> result = new ArrayList<>(issueIds.size());
+        for (String issueId : issueIds) {
+            index.findById(issueId)
+                    .or(() -> Optional.ofNullable(missingIssues.get(issueId)))
+                    .ifPresent(result::add);
+        }
+        return result;
+    }
+
 }
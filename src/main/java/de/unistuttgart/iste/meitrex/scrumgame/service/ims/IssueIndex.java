@@ -0,0 +1,124 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
+
+import de.unistuttgart.iste.meitrex.generated.dto.Issue;
+import jakarta.annotation.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable index over the issues of a project.
+ * <p>
+ * The index is built once for each version of the issue list, see {@link IssueStore}, so that resolvers which need
+ * the issues of a state, sprint, assignee or type can look up their bucket directly instead of filtering the whole
+ * issue list for every requested state or sprint.
+ * All lists preserve the order of the issue list.
+ */
+public final class IssueIndex {
+
+    private final List<Issue>               issues;
+    private final Map<String, Issue>        issuesById;
+    private final Map<String, List<Issue>>  issuesByStateId;
+    private final Map<Integer, List<Issue>> issuesBySprintNumber;
+    private final Map<UUID, List<Issue>>    issuesByAssigneeId;
+    private final Map<String, List<Issue>>  issuesByTypeId;
+
+    private IssueIndex(List<Issue> issues) {
+        this.issues = List.copyOf(issues);
+
+        Map<String, Issue> byId = new HashMap<>();
+        Map<String, List<Issue>> byStateId = new HashMap<>();
+        Map<Integer, List<Issue>> bySprintNumber = new HashMap<>();
+        Map<UUID, List<Issue>> byAssigneeId = new HashMap<>();
+        Map<String, List<Issue>> byTypeId = new HashMap<>();
+
+        for (Issue issue : this.issues) {
+            byId.put(issue.getId(), issue);
+            if (issue.getState() != null) {
+                addToBucket(byStateId, issue.getState().getImsStateId(), issue);
+            }
+            // issues without sprint are stored under the null key
+            addToBucket(bySprintNumber, issue.getSprintNumber(), issue);
+            if (issue.getAssigneeIds() != null) {
+                issue.getAssigneeIds().forEach(assigneeId -> addToBucket(byAssigneeId, assigneeId, issue));
+            }
+            if (issue.getType() != null) {
+                addToBucket(byTypeId, issue.getType().getImsTypeId(), issue);
+            }
+        }
+
+        this.issuesById = Collections.unmodifiableMap(byId);
+        this.issuesByStateId = freeze(byStateId);
+        this.issuesBySprintNumber = freeze(bySprintNumber);
+        this.issuesByAssigneeId = freeze(byAssigneeId);
+        this.issuesByTypeId = freeze(byTypeId);
+    }
+
+    /**
+     * Builds the index of the given issues. If an issue id occurs more than once, the last issue with that id is
+     * kept at the position of the first one.
+     */
+    public static IssueIndex of(List<Issue> issues) {
+        Map<String, Issue> uniqueIssues = new LinkedHashMap<>();
+        issues.forEach(issue -> uniqueIssues.put(issue.getId(), issue));
+        return new IssueIndex(new ArrayList<>(uniqueIssues.values()));
+    }
+
+    /**
+     * Returns a new index in which the given issues replace the issues with the same id.
+     * Issues that are not contained yet are appended.
+     */
+    public IssueIndex withIssues(Collection<Issue> changedIssues) {
+        List<Issue> updated = new ArrayList<>(issues.size() + changedIssues.size());
+        updated.addAll(issues);
+        updated.addAll(changedIssues);
+        return of(updated);
+    }
+
+    /**
+     * @return all issues, in the order of the issue list
+     */
+    public List<Issue> getIssues() {
+        return issues;
+    }
+
+    public Optional<Issue> findById(String issueId) {
+        return Optional.ofNullable(issuesById.get(issueId));
+    }
+
+    /**
+     * @param imsStateId the id of the state in the IMS
+     * @return the issues in the given state
+     */
+    public List<Issue> getByStateId(String imsStateId) {
+        return issuesByStateId.getOrDefault(imsStateId, List.of());
+    }
+
+    /**
+     * @param sprintNumber the number of the sprint or null for issues that are not part of a sprint
+     * @return the issues of the given sprint
+     */
+    public List<Issue> getBySprintNumber(@Nullable Integer sprintNumber) {
+        return issuesBySprintNumber.getOrDefault(sprintNumber, List.of());
+    }
+
+    public List<Issue> getByAssigneeId(UUID assigneeId) {
+        return issuesByAssigneeId.getOrDefault(assigneeId, List.of());
+    }
+
+    /**
+     * @param imsTypeId the id of the issue type in the IMS
+     * @return the issues of the given type
+     */
+    public List<Issue> getByTypeId(String imsTypeId) {
+        return issuesByTypeId.getOrDefault(imsTypeId, List.of());
+    }
+
+    private static <K> void addToBucket(Map<K, List<Issue>> buckets, @Nullable K key, Issue issue) {
+        buckets.computeIfAbsent(key, k -> new ArrayList<>()).add(issue);
+    }
+
+    private static <K> Map<K, List<Issue>> freeze(Map<K, List<Issue>> buckets) {
+        buckets.replaceAll((key, bucket) -> Collections.unmodifiableList(bucket));
+        return Collections.unmodifiableMap(buckets);
+    }
+}
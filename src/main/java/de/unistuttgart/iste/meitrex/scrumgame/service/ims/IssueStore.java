@@ -0,0 +1,323 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.generated.dto.Issue;
+import de.unistuttgart.iste.meitrex.generated.dto.Project;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsAdapter;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthTokenFromHeaderSupplier;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventFactory;
+import de.unistuttgart.iste.meitrex.scrumgame.service.project.ImsSettingsChangedEvent;
+import de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * In-memory store of the issues of each project.
+ * <p>
+ * The full issue list of a project is fetched from the IMS once, when it is first requested. After that, the store
+ * is kept up to date with deltas:
+ * <ul>
+ *     <li>issues returned by mutations are written to the store directly, see {@link #put(UUID, Issue)},</li>
+ *     <li>issues referenced by IMS events are marked as changed and fetched again in the background,</li>
+ *     <li>the full list is fetched again in the background after the configured interval, to catch changes that
+ *     were made in the IMS without producing an event.</li>
+ * </ul>
+ * Reads never wait for a refresh: while a refresh is running, the previous state is served (stale-while-revalidate).
+ * Each project has its own state and at most one refresh per project runs at a time, so projects do not block
+ * each other.
+ * <p>
+ * The IMS can only be accessed with the token of a user. Refreshes use the token of the request that triggered them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IssueStore {
+
+    private final ImsAdapterFactory                       imsAdapterFactory;
+    private final EventPublisher<Event, CreateEventInput> eventPublisher;
+    private final ImsRequestLimiter                       imsRequestLimiter;
+
+    @Value("${dinodev.ims.issue-store.full-refresh-interval:5m}")
+    private Duration fullRefreshInterval;
+
+    private final Map<UUID, ProjectIssues> projects = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Disposable eventSubscription;
+
+    @PostConstruct
+    public void subscribeToIssueEvents() {
+        eventSubscription = eventPublisher.getEventStream()
+                .filter(event -> event.getProjectId() != null)
+                .subscribe(this::onEvent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (eventSubscription != null) {
+            eventSubscription.dispose();
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the issues of the given project. Fetches the issues from the IMS if they have not been loaded yet,
+     * otherwise the stored issues are returned and a refresh is started in the background if necessary.
+     *
+     * @param project the project
+     * @return the issues of the project, in the order returned by the IMS
+     */
+    public List<Issue> getIssues(Project project) {
+        return getIndex(project).getIssues();
+    }
+
+    /**
+     * Returns the index of the issues of the given project.
+     *
+     * @see #getIssues(Project)
+     */
+    public IssueIndex getIndex(Project project) {
+        return getIndex(project.getId(), () -> imsAdapterFactory.getImsAdapterForProject(project));
+    }
+
+    /**
+     * Returns the index of the issues of the project with the given id.
+     *
+     * @see #getIssues(Project)
+     */
+    public IssueIndex getIndex(UUID projectId) {
+        return getIndex(projectId, () -> imsAdapterFactory.getImsAdapterForProject(projectId));
+    }
+
+    /**
+     * Returns the stored issue with the given id, without accessing the IMS.
+     *
+     * @param projectId the id of the project
+     * @param issueId   the id of the issue
+     * @return the issue or an empty optional if the issues of the project are not loaded or the issue is unknown
+     */
+    public Optional<Issue> findLoadedIssue(UUID projectId, String issueId) {
+        return Optional.ofNullable(projects.get(projectId))
+                .map(ProjectIssues::getSnapshot)
+                .flatMap(snapshot -> snapshot.index().findById(issueId));
+    }
+
+    /**
+     * Writes the given issue to the store, e.g., after it was changed by a mutation.
+     * Does nothing if the issues of the project are not loaded.
+     *
+     * @param projectId the id of the project of the issue
+     * @param issue     the current state of the issue
+     */
+    public void put(UUID projectId, Issue issue) {
+        ProjectIssues projectIssues = projects.get(projectId);
+        if (projectIssues != null) {
+            projectIssues.update(List.of(issue));
+        }
+    }
+
+    /**
+     * Marks the given issue as changed, so it is fetched again with the next refresh.
+     *
+     * @param projectId the id of the project of the issue
+     * @param issueId   the id of the issue
+     */
+    public void markChanged(UUID projectId, String issueId) {
+        ProjectIssues projectIssues = projects.get(projectId);
+        if (projectIssues != null) {
+            projectIssues.changedIssueIds.add(issueId);
+        }
+    }
+
+    /**
+     * Discards the issues of a project whose IMS settings changed, they might belong to a different IMS project.
+     */
+    @EventListener
+    public void onImsSettingsChanged(ImsSettingsChangedEvent event) {
+        projects.remove(event.projectId());
+    }
+
+    private void onEvent(Event event) {
+        TemplateDataUtils.findStringField(event, EventFactory.ISSUE_ID_KEY).ifPresent(issueId -> {
+            ProjectIssues projectIssues = projects.get(event.getProjectId());
+            if (projectIssues == null) {
+                return;
+            }
+            projectIssues.changedIssueIds.add(issueId);
+            // events are processed with the token of the user that caused them, if there is one
+            AuthTokenFromHeaderSupplier.findCurrentToken().ifPresent(token ->
+                    startRefresh(event.getProjectId(), projectIssues, token,
+                            () -> imsAdapterFactory.getImsAdapterForProject(event.getProjectId())));
+        });
+    }
+
+    private IssueIndex getIndex(UUID projectId, Supplier<ImsAdapter> imsAdapter) {
+        ProjectIssues projectIssues = projects.computeIfAbsent(projectId, id -> new ProjectIssues());
+        IssueSnapshot snapshot = projectIssues.getOrLoad(() -> imsRequestLimiter.execute(projectId,
+                new IssueListKey(projectId), () -> imsAdapter.get().getIssues(projectId)));
+
+        if (!projectIssues.changedIssueIds.isEmpty() || isFullRefreshDue(snapshot)) {
+            AuthTokenFromHeaderSupplier.findCurrentToken()
+                    .ifPresent(token -> startRefresh(projectId, projectIssues, token, imsAdapter));
+        }
+
+        return snapshot.index();
+    }
+
+    private void startRefresh(
+            UUID projectId,
+            ProjectIssues projectIssues,
+            String token,
+            Supplier<ImsAdapter> imsAdapter
+    ) {
+        if (!projectIssues.refreshing.compareAndSet(false, true)) {
+            return; // the running refresh picks up the changes
+        }
+        executor.execute(() -> {
+            do {
+                try {
+                    AuthTokenFromHeaderSupplier.runWithToken(token,
+                            () -> refresh(projectId, projectIssues, imsAdapter));
+                } catch (Exception e) {
+                    log.error("Failed to refresh the issues of project {}", projectId, e);
+                } finally {
+                    projectIssues.refreshing.set(false);
+                }
+                // issues that changed while refreshing are fetched right away
+            } while (!projectIssues.changedIssueIds.isEmpty() && projectIssues.refreshing.compareAndSet(false, true));
+        });
+    }
+
+    private void refresh(
+            UUID projectId,
+            ProjectIssues projectIssues,
+            Supplier<ImsAdapter> imsAdapter
+    ) {
+        IssueSnapshot snapshot = projectIssues.getSnapshot();
+        if (snapshot == null) {
+            return;
+        }
+
+        if (isFullRefreshDue(snapshot)) {
+            projectIssues.changedIssueIds.clear();
+            projectIssues.replace(() -> imsRequestLimiter.execute(projectId, new IssueListKey(projectId),
+                    () -> imsAdapter.get().getIssues(projectId)));
+            log.debug("Refreshed all issues of project {}", projectId);
+            return;
+        }
+
+        List<String> changedIssueIds = new ArrayList<>(projectIssues.changedIssueIds);
+        if (changedIssueIds.isEmpty()) {
+            return;
+        }
+        projectIssues.changedIssueIds.removeAll(changedIssueIds);
+        projectIssues.update(imsRequestLimiter.execute(projectId, new ChangedIssuesKey(projectId, changedIssueIds),
+                () -> imsAdapter.get().findIssuesBatched(changedIssueIds)));
+        log.debug("Refreshed {} changed issues of project {}", changedIssueIds.size(), projectId);
+    }
+
+    private boolean isFullRefreshDue(IssueSnapshot snapshot) {
+        return System.nanoTime() - snapshot.loadedAtNanos() >= fullRefreshInterval.toNanos();
+    }
+
+    private record IssueListKey(UUID projectId) {
+    }
+
+    private record ChangedIssuesKey(UUID projectId, List<String> issueIds) {
+    }
+
+    /**
+     * Immutable state of the issues of a project. A new snapshot, and with it a new index, is created for each
+     * change of the issue list.
+     *
+     * @param index         the index of the issues
+     * @param loadedAtNanos the time the full issue list was fetched, see {@link System#nanoTime()}
+     */
+    private record IssueSnapshot(IssueIndex index, long loadedAtNanos) {
+
+        static IssueSnapshot of(List<Issue> issues, long loadedAtNanos) {
+            return new IssueSnapshot(IssueIndex.of(issues), loadedAtNanos);
+        }
+
+        IssueSnapshot withIssues(Collection<Issue> changedIssues) {
+            return new IssueSnapshot(index.withIssues(changedIssues), loadedAtNanos);
+        }
+    }
+
+    private static class ProjectIssues {
+
+        private final Set<String>   changedIssueIds = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean refreshing      = new AtomicBoolean(false);
+
+        // issues written while a full refresh is running, they are newer than the fetched list
+        private final Map<String, Issue> writesDuringRefresh = new HashMap<>();
+
+        @Nullable
+        private volatile IssueSnapshot snapshot;
+        private          boolean       fullRefreshRunning;
+
+        @Nullable
+        IssueSnapshot getSnapshot() {
+            return snapshot;
+        }
+
+        IssueSnapshot getOrLoad(Supplier<List<Issue>> loader) {
+            IssueSnapshot current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            // only the first request of a project waits for the IMS, concurrent requests wait for the same load
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = IssueSnapshot.of(loader.get(), System.nanoTime());
+                }
+                return snapshot;
+            }
+        }
+
+        synchronized void update(Collection<Issue> changedIssues) {
+            if (snapshot == null) {
+                return;
+            }
+            snapshot = snapshot.withIssues(changedIssues);
+            if (fullRefreshRunning) {
+                changedIssues.forEach(issue -> writesDuringRefresh.put(issue.getId(), issue));
+            }
+        }
+
+        void replace(Supplier<List<Issue>> loader) {
+            synchronized (this) {
+                fullRefreshRunning = true;
+                writesDuringRefresh.clear();
+            }
+            long startedAt = System.nanoTime();
+            try {
+                List<Issue> issues = loader.get();
+                synchronized (this) {
+                    snapshot = IssueSnapshot.of(issues, startedAt).withIssues(writesDuringRefresh.values());
+                }
+            } finally {
+                synchronized (this) {
+                    fullRefreshRunning = false;
+                    writesDuringRefresh.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.unistuttgart.iste.meitrex.generated.dto.MeetingType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * Serializes updates of the same meeting while updates of different meetings run in parallel.
+ * <p>
+ * Within this instance, updates of the active meeting of a project and meeting type are applied one after another
+ * using a lock of that meeting. Across instances, the version of the meeting entities detects concurrent updates:
+ * an update that was based on an outdated state fails with an {@link OptimisticLockingFailureException} and is
+ * retried with the current state a limited number of times.
+ * <p>
+ * Updates that run inside a transaction are not retried, as the transaction is marked for rollback after the
+ * failure. They are only protected by the lock.
+ */
+@Slf4j
+@Component
+public class MeetingConcurrencyControl {
+
+    @Value("${dinodev.meeting.max-update-attempts:3}")
+    private int maxUpdateAttempts = 3;
+
+    // a lock is only referenced by the threads that use it and is removed afterward
+    private final Cache<MeetingKey, ReentrantLock> locks = Caffeine.newBuilder()
+            .weakValues()
+            .build();
+
+    /**
+     * Runs the update of the active meeting of the given project and meeting type while no other update of the same
+     * meeting runs in this instance.
+     * <p>
+     * The update must load the meeting itself, so a retry works with the current state of the meeting.
+     *
+     * @param projectId   the id of the project of the meeting
+     * @param meetingType the type of the meeting
+     * @param update      loads, modifies and saves the meeting
+     * @return the result of the update
+     * @throws OptimisticLockingFailureException if the meeting was changed concurrently by another instance in every
+     *                                           attempt
+     */
+    public <T> T update(UUID projectId, MeetingType meetingType, Supplier<T> update) {
+        ReentrantLock lock = locks.get(new MeetingKey(projectId, meetingType), key -> new ReentrantLock());
+        int maxAttempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : maxUpdateAttempts;
+
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return update.get();
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    log.debug("{} meeting of project {} was changed concurrently, retrying update",
+                            meetingType, projectId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record MeetingKey(UUID projectId, MeetingType meetingType) {
+    }
+}
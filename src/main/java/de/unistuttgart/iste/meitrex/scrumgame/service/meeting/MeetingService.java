@@ -4,7 +4,6 @@ import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
 import de.unistuttgart.iste.meitrex.common.service.AbstractCrudService;
 import de.unistuttgart.iste.meitrex.generated.dto.*;
 import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
-import de.unistuttgart.iste.meitrex.rulesengine.util.NonPersistentEventPublisher;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.meeting.MeetingAttendeeEmbeddable;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.meeting.MeetingEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.MeetingRepository;
@@ -28,25 +27,34 @@ public class MeetingService extends AbstractCrudService<UUID, MeetingEntity, Mee
     private final EventPublisher<Event, CreateEventInput> eventPublisher;
     private final AuthService                             authService;
     private final MeetingRepository                       repository;
+    private final PlanningMeetingStateStore               planningMeetingStateStore;
+    private final MeetingConcurrencyControl               meetingConcurrencyControl;
 
-    private final NonPersistentEventPublisher<Meeting> meetingSubscriptionPublisher
-            = new NonPersistentEventPublisher<>();
+    private final MeetingSubscriptionRegistry meetingSubscriptionRegistry
+            = new MeetingSubscriptionRegistry(
+            (projectId, meetingType) -> findActiveMeeting(projectId, meetingType, Meeting.class));
 
     public MeetingService(EventPublisher<Event, CreateEventInput> eventPublisher,
             AuthService authService,
             MeetingRepository repository,
-            ModelMapper modelMapper) {
+            ModelMapper modelMapper,
+            PlanningMeetingStateStore planningMeetingStateStore,
+            MeetingConcurrencyControl meetingConcurrencyControl) {
         super(repository, modelMapper, MeetingEntity.class, Meeting.class);
         this.eventPublisher = eventPublisher;
         this.authService = authService;
         this.repository = repository;
+        this.planningMeetingStateStore = planningMeetingStateStore;
+        this.meetingConcurrencyControl = meetingConcurrencyControl;
     }
 
 
     public Meeting joinMeeting(UUID projectId, MeetingType type) {
+        // captured before the update, as the update can be applied again later, see PlanningMeetingStateStore
+        UUID currentUserId = authService.getCurrentUserId();
         return updateMeeting(projectId, type, meetingEntity ->
                 updateMeetingAttendee(meetingEntity,
-                        authService.getCurrentUserId(),
+                        currentUserId,
                         attendee -> attendee.setState(UserState.ONLINE)));
     }
 
@@ -61,16 +69,18 @@ public class MeetingService extends AbstractCrudService<UUID, MeetingEntity, Mee
         if (findActiveMeeting(projectId, type, Meeting.class).isEmpty()) {
             return null;
         }
-        return updateMeeting(projectId, type, entity -> {
-            UUID currentUserId = authService.getCurrentUserId();
-            updateMeetingAttendee(entity, currentUserId, attendee -> attendee.setState(UserState.OFFLINE));
-        });
+        UUID currentUserId = authService.getCurrentUserId();
+        return updateMeeting(projectId, type, entity ->
+                updateMeetingAttendee(entity, currentUserId, attendee -> attendee.setState(UserState.OFFLINE)));
     }
 
     /**
      * Retrieves a flux stream of the currently active  meeting for the given project ID that emits the current
      * state of the meeting followed by any updates to the planning meeting. If no active meeting is
      * found for the project ID, the stream will be empty until a new meeting is created.
+     * <p>
+     * The current state is replayed from memory while the meeting has other subscribers, so only the first
+     * subscriber of a meeting causes a database query.
      *
      * @param projectId the ID of the project for which to retrieve meeting updates
      * @return a Flux stream of updated Meeting objects
@@ -79,29 +89,19 @@ public class MeetingService extends AbstractCrudService<UUID, MeetingEntity, Mee
     public <T extends Meeting> Flux<T> getMeetingUpdates(UUID projectId,
             MeetingType meetingType,
             Class<T> meetingClass) {
-        try {
-            Flux<T> meetingUpdatesFlux = meetingSubscriptionPublisher.getEventStream()
-                    .filter(meeting -> meeting.getProjectId().equals(projectId) &&
-                                       meeting.getMeetingType() == meetingType)
-                    .ofType(meetingClass);
-
-            Optional<T> activeMeeting = findActiveMeeting(projectId, meetingType, meetingClass);
-
-            if (activeMeeting.isPresent()) {
-                return meetingUpdatesFlux.startWith(activeMeeting.get());
-            }
-
-            return meetingUpdatesFlux
-                    .doOnError(e -> log.error("Error while getting meeting updates", e));
-        } catch (Exception e) {
-            log.error("Error while getting meeting updates", e);
-            return Flux.empty();
-        }
+        return meetingSubscriptionRegistry.subscribe(projectId, meetingType, meetingClass)
+                .doOnError(e -> log.error("Error while getting meeting updates", e));
     }
 
     public <T extends Meeting> Optional<T> findActiveMeeting(UUID projectId,
             MeetingType meetingType,
             Class<T> meetingClass) {
+        if (meetingType == MeetingType.PLANNING) {
+            // the in-memory state of a planning meeting can be ahead of the database
+            return planningMeetingStateStore.findActive(projectId)
+                    .filter(meetingClass::isInstance)
+                    .map(meetingClass::cast);
+        }
         return repository.findTopByProjectIdAndMeetingTypeAndActive(projectId, meetingType, true)
                 .map(meeting -> getModelMapper().map(meeting, meetingClass));
     }
@@ -161,10 +161,21 @@ public class MeetingService extends AbstractCrudService<UUID, MeetingEntity, Mee
     }
 
     protected void publishMeetingUpdated(Meeting meeting) {
-        meetingSubscriptionPublisher.publishEvent(meeting);
+        meetingSubscriptionRegistry.publish(meeting);
+    }
+
+    private Meeting updateMeeting(UUID projectId, MeetingType type, Consumer<MeetingEntity> modifier) {
+        if (type == MeetingType.PLANNING) {
+            // planning meetings are held in memory while they are active, the store runs the update using
+            // the meeting concurrency control as well, see PlanningMeetingStateStore
+            Meeting result = planningMeetingStateStore.update(projectId, modifier::accept, false);
+            meetingSubscriptionRegistry.publish(result);
+            return result;
+        }
+        return meetingConcurrencyControl.update(projectId, type, () -> updateStoredMeeting(projectId, type, modifier));
     }
 
-    private synchronized Meeting updateMeeting(UUID projectId, MeetingType type, Consumer<MeetingEntity> modifier) {
+    private Meeting updateStoredMeeting(UUID projectId, MeetingType type, Consumer<MeetingEntity> modifier) {
         MeetingEntity meeting = repository.findTopByProjectIdAndMeetingTypeAndActive(projectId, type, true)
                 .orElseThrow(() -> new MeitrexNotFoundException("No active meeting found"));
 
@@ -172,7 +183,7 @@ public class MeetingService extends AbstractCrudService<UUID, MeetingEntity, Mee
 
         Meeting result = convertToDto(repository.save(meeting));
 
-        meetingSubscriptionPublisher.publishEvent(result);
+        meetingSubscriptionRegistry.publish(result);
 
         return result;
     }
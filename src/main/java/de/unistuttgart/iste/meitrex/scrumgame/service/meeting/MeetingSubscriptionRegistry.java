@@ -0,0 +1,124 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.generated.dto.Meeting;
+import de.unistuttgart.iste.meitrex.generated.dto.MeetingType;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Holds one topic per project and meeting type that has subscribers.
+ * <p>
+ * Each topic replays the latest state of the meeting to new subscribers, so subscribing does not need a database
+ * query. Only the first subscriber of a topic loads the active meeting, all subscribers that arrive while it is
+ * loaded wait for it. Published meetings are only emitted to the subscribers of their topic, topics are removed
+ * when their last subscriber leaves.
+ */
+@Slf4j
+class MeetingSubscriptionRegistry {
+
+    private final BiFunction<UUID, MeetingType, Optional<Meeting>> activeMeetingLoader;
+
+    // entries are only added and removed inside compute, so a topic is never removed while a subscriber joins it
+    private final Map<MeetingKey, MeetingTopic> topics = new ConcurrentHashMap<>();
+
+    /**
+     * @param activeMeetingLoader loads the active meeting of a project and meeting type, used to seed a new topic
+     */
+    MeetingSubscriptionRegistry(BiFunction<UUID, MeetingType, Optional<Meeting>> activeMeetingLoader) {
+        this.activeMeetingLoader = activeMeetingLoader;
+    }
+
+    /**
+     * Returns the current state of the active meeting, if there is one, followed by all updates of the meeting.
+     */
+    <T extends Meeting> Flux<T> subscribe(UUID projectId, MeetingType meetingType, Class<T> meetingClass) {
+        MeetingKey key = new MeetingKey(projectId, meetingType);
+        return Flux.defer(() -> {
+            MeetingTopic topic = acquire(key);
+            topic.seedIfNecessary(() -> activeMeetingLoader.apply(projectId, meetingType));
+            return topic.sink.asFlux()
+                    .doFinally(signal -> release(key, topic));
+        })
+                // a finished meeting is replayed as latest state, but new subscribers only expect active meetings
+                .skipWhile(meeting -> !Boolean.TRUE.equals(meeting.getActive()))
+                .ofType(meetingClass);
+    }
+
+    /**
+     * Emits the given meeting to the subscribers of its project and meeting type.
+     */
+    void publish(Meeting meeting) {
+        MeetingTopic topic = topics.get(new MeetingKey(meeting.getProjectId(), meeting.getMeetingType()));
+        if (topic != null) {
+            topic.emit(meeting);
+        }
+    }
+
+    /**
+     * @return the number of topics with at least one subscriber
+     */
+    int getTopicCount() {
+        return topics.size();
+    }
+
+    private MeetingTopic acquire(MeetingKey key) {
+        return topics.compute(key, (k, topic) -> {
+            MeetingTopic result = topic != null ? topic : new MeetingTopic();
+            result.subscriberCount++;
+            return result;
+        });
+    }
+
+    private void release(MeetingKey key, MeetingTopic topic) {
+        topics.computeIfPresent(key, (k, current) -> {
+            if (current != topic) {
+                return current;
+            }
+            return --topic.subscriberCount == 0 ? null : topic;
+        });
+    }
+
+    private record MeetingKey(UUID projectId, MeetingType meetingType) {
+    }
+
+    private static class MeetingTopic {
+
+        private final Sinks.Many<Meeting> sink = Sinks.many().replay().latest();
+
+        // only modified inside compute of the topics map
+        private int subscriberCount;
+
+        // guarded by this
+        private boolean seeded;
+
+        /**
+         * Loads the active meeting if nothing was emitted to the topic yet.
+         * The meeting is loaded while holding the lock of the topic, so a meeting that is published in the
+         * meantime is emitted after the loaded one and is not replaced by an older state.
+         */
+        synchronized void seedIfNecessary(Supplier<Optional<Meeting>> loader) {
+            if (seeded) {
+                return;
+            }
+            try {
+                loader.get().ifPresent(sink::tryEmitNext);
+            } catch (RuntimeException e) {
+                // the subscription still receives updates, the next new subscriber retries loading
+                log.error("Error while loading the active meeting", e);
+                return;
+            }
+            seeded = true;
+        }
+
+        // meetings can be published from several threads, a sink must not be called concurrently
+        synchronized void emit(Meeting meeting) {
+            sink.tryEmitNext(meeting);
+            seeded = true;
+        }
+    }
+}
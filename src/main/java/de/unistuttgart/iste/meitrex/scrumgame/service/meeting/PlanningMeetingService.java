@@ -19,6 +19,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -47,6 +48,9 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
     private final ImsService    imsService;
     private final SprintService sprintService;
     private final ProjectService            projectService;
+    private final PlanningMeetingStateStore planningMeetingStateStore;
+
+    private final PlanningMeetingUpdateEncoder planningMeetingUpdateEncoder;
 
     public PlanningMeetingService(PlanningMeetingRepository repository,
             ModelMapper modelMapper,
@@ -54,7 +58,9 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
             AuthService auth,
             ImsService imsService,
             SprintService sprintService,
-            ProjectService projectService
+            ProjectService projectService,
+            PlanningMeetingStateStore planningMeetingStateStore,
+            @Value("${dinodev.meeting.planning.update-frame-window:50ms}") Duration updateFrameWindow
     ) {
         super(repository, modelMapper, PlanningMeetingEntity.class, PlanningMeeting.class);
         this.planningMeetingRepository = repository;
@@ -63,6 +69,9 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
         this.imsService = imsService;
         this.sprintService = sprintService;
         this.projectService = projectService;
+        this.planningMeetingStateStore = planningMeetingStateStore;
+        this.planningMeetingUpdateEncoder = new PlanningMeetingUpdateEncoder(
+                this::getPlanningMeetingUpdatedSubscription, updateFrameWindow);
     }
 
     public PlanningMeeting createPlanningMeeting(Project project, PlanningMeetingInput input) {
@@ -100,9 +109,13 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
     }
 
     public Optional<PlanningMeeting> findActivePlanningMeeting(UUID projectId) {
-        return findActivePlanningMeetingEntity(projectId).map(this::convertToDto);
+        return planningMeetingStateStore.findActive(projectId);
     }
 
+    /**
+     * @apiNote reads the database, which does not contain updates of the meeting that are not written yet,
+     * see {@link PlanningMeetingStateStore}
+     */
     public Optional<PlanningMeetingEntity> findActivePlanningMeetingEntity(UUID projectId) {
         return planningMeetingRepository.findFirstByProjectIdAndActive(projectId, true);
     }
@@ -112,16 +125,18 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
     }
 
     public PlanningMeeting changePage(UUID projectId, PlanningMeetingPage page) {
-        return updatePlanningMeeting(projectId, planningMeeting -> planningMeeting.setCurrentPage(page));
+        return updatePlanningMeetingPhase(projectId, planningMeeting -> planningMeeting.setCurrentPage(page));
     }
 
     public PlanningMeeting voteAnimal(UUID projectId, Animal animal) {
+        UUID userId = auth.getCurrentUserId();
         return updatePlanningMeeting(projectId, planningMeeting ->
-                planningMeeting.getAnimalVoting().addVote(auth.getCurrentUserId(), animal));
+                planningMeeting.getAnimalVoting().addVote(userId, animal));
     }
 
     public PlanningMeeting endAnimalVoting(UUID projectId) {
-        return updatePlanningMeeting(projectId, planningMeeting -> planningMeeting.getAnimalVoting().finishVoting());
+        return updatePlanningMeetingPhase(projectId, planningMeeting ->
+                planningMeeting.getAnimalVoting().finishVoting());
     }
 
     public PlanningMeeting addName(UUID projectId, String name) {
@@ -130,17 +145,20 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
     }
 
     public PlanningMeeting voteName(UUID projectId, String name) {
+        UUID userId = auth.getCurrentUserId();
         return updatePlanningMeeting(projectId, planningMeeting ->
-                planningMeeting.getNameVoting().addVote(auth.getCurrentUserId(), name));
+                planningMeeting.getNameVoting().addVote(userId, name));
     }
 
     public PlanningMeeting endNameVoting(UUID projectId) {
-        return updatePlanningMeeting(projectId, planningMeeting -> planningMeeting.getNameVoting().finishVoting());
+        return updatePlanningMeetingPhase(projectId, planningMeeting ->
+                planningMeeting.getNameVoting().finishVoting());
     }
 
     public PlanningMeeting voteEstimation(UUID projectId, TShirtSizeEstimation estimation) {
+        UUID userId = auth.getCurrentUserId();
         return updatePlanningMeeting(projectId, planningMeeting ->
-                planningMeeting.getIssueEstimation().addVote(auth.getCurrentUserId(), estimation));
+                planningMeeting.getIssueEstimation().addVote(userId, estimation));
     }
 
     public PlanningMeeting restartEstimation(UUID projectId) {
@@ -148,24 +166,26 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
     }
 
     public PlanningMeeting nextIssue(UUID projectId, String issueId) {
-        return updatePlanningMeeting(projectId, planningMeeting -> {
+        return updatePlanningMeetingPhase(projectId, planningMeeting -> {
             planningMeeting.getIssueEstimation().resetVotes();
             planningMeeting.getIssueEstimation().setIssueId(issueId);
         });
     }
 
     public PlanningMeeting startCountdown(UUID projectId, int seconds) {
-        return updatePlanningMeeting(projectId, planningMeeting -> {
-            planningMeeting.getIssueEstimation().setCountdownSeconds(seconds);
-            // finish voting in x seconds:
-            Mono.delay(Duration.ofSeconds(seconds))
-                    .doOnTerminate(() -> endEstimation(projectId))
-                    .subscribe();
-        });
+        PlanningMeeting result = updatePlanningMeetingPhase(projectId, planningMeeting ->
+                planningMeeting.getIssueEstimation().setCountdownSeconds(seconds));
+
+        // finish voting in x seconds:
+        Mono.delay(Duration.ofSeconds(seconds))
+                .doOnTerminate(() -> endEstimation(projectId))
+                .subscribe();
+
+        return result;
     }
 
     public PlanningMeeting endEstimation(UUID projectId) {
-        return updatePlanningMeeting(projectId, planningMeeting ->
+        return updatePlanningMeetingPhase(projectId, planningMeeting ->
                 planningMeeting.getIssueEstimation().finishVoting());
     }
 
@@ -174,10 +194,14 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
             TShirtSizeEstimation estimation,
             List<UUID> assignedUserIds
     ) {
-        return updatePlanningMeeting(project.getId(), planningMeeting -> {
-            String issueId = Objects.requireNonNull(planningMeeting.getIssueEstimation().getIssueId());
-            IssueMutation issueMutation = imsService.mutateIssue(project, issueId);
-            imsService.changeIssueEstimation(issueMutation, estimation);
+        String issueId = Objects.requireNonNull(findActivePlanningMeeting(project.getId())
+                .orElseThrow(() -> new MeitrexNotFoundException("No active planning meeting found"))
+                .getIssueEstimation().getIssueId());
+
+        PlanningMeeting result = updatePlanningMeetingPhase(project.getId(), planningMeeting -> {
+            if (!issueId.equals(planningMeeting.getIssueEstimation().getIssueId())) {
+                throw new IllegalStateException("The estimated issue was changed concurrently");
+            }
 
             planningMeeting.getIssueEstimation().finishVoting();
             planningMeeting.getIssueEstimation().setFinalResult(estimation);
@@ -186,10 +210,16 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
 
             // add issue to sprint goal
             planningMeeting.getSprintGoalVoting().getSprintIssueIds().add(issueId);
-
-            // assign users
-            assignedUserIds.forEach(userId -> imsService.assignIssue(issueMutation, userId));
         });
+
+        // the issue is changed once after the meeting was written, as the update can be applied again
+        IssueMutation issueMutation = imsService.mutateIssue(project, issueId);
+        imsService.changeIssueEstimation(issueMutation, estimation);
+
+        // assign users
+        assignedUserIds.forEach(userId -> imsService.assignIssue(issueMutation, userId));
+
+        return result;
     }
 
     public PlanningMeeting addSprintIssue(UUID projectId, String issueId) {
@@ -207,7 +237,7 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
     }
 
     public PlanningMeeting finishSprintGoalVoting(UUID projectId) {
-        return updatePlanningMeeting(projectId, planningMeeting ->
+        return updatePlanningMeetingPhase(projectId, planningMeeting ->
                 planningMeeting.getSprintGoalVoting().finishVoting());
     }
 
@@ -224,7 +254,7 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
      */
     @Transactional
     public Sprint finishMeeting(UUID projectId) {
-        PlanningMeeting planningMeeting = updatePlanningMeeting(projectId, meetingEntity ->
+        PlanningMeeting planningMeeting = updatePlanningMeetingPhase(projectId, meetingEntity ->
                 meetingEntity.setActive(false));
 
         CreateSprintInput input = getCreateSprintInputFromMeeting(projectId, planningMeeting);
@@ -272,7 +302,10 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
      * Updates the active planning meeting for the given project ID by applying the provided modifier function. If no
      * active planning meeting is found for the project ID, a MeitrexNotFoundException is thrown.
      * <p>
-     * This method is synchronized to prevent concurrent modifications of the same planning meeting.
+     * The update is applied to the in-memory state of the meeting and written to the database in the background,
+     * see {@link PlanningMeetingStateStore}. Concurrent updates of the same planning meeting are applied one after
+     * another, updates of different meetings do not block each other. The modifier can be applied again if the
+     * meeting was changed by another instance, so it must not read the current user or call other services.
      * <p>
      * The updated PlanningMeeting is published to the meeting service after applying the modifier function.
      *
@@ -281,16 +314,26 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
      * @return The updated PlanningMeeting after applying the modifier function.
      * @throws MeitrexNotFoundException If no active planning meeting is found for the project ID.
      */
-    private synchronized PlanningMeeting updatePlanningMeeting(
+    private PlanningMeeting updatePlanningMeeting(
             UUID projectId,
             Consumer<PlanningMeetingEntity> modifier
     ) {
-        PlanningMeetingEntity planningMeeting = planningMeetingRepository.findFirstByProjectIdAndActive(projectId, true)
-                .orElseThrow(() -> new MeitrexNotFoundException("No active planning meeting found"));
+        PlanningMeeting result = planningMeetingStateStore.update(projectId, modifier, false);
 
-        modifier.accept(planningMeeting);
+        meetingService.publishMeetingUpdated(result);
 
-        PlanningMeeting result = convertToDto(planningMeetingRepository.save(planningMeeting));
+        return result;
+    }
+
+    /**
+     * Like {@link #updatePlanningMeeting(UUID, Consumer)}, but for updates that change the phase of the meeting,
+     * which are written to the database before this method returns.
+     */
+    private PlanningMeeting updatePlanningMeetingPhase(
+            UUID projectId,
+            Consumer<PlanningMeetingEntity> modifier
+    ) {
+        PlanningMeeting result = planningMeetingStateStore.update(projectId, modifier, true);
 
         meetingService.publishMeetingUpdated(result);
 
@@ -322,4 +365,13 @@ public class PlanningMeetingService extends AbstractCrudService<UUID, PlanningMe
         return meetingService.getMeetingUpdates(projectId, MeetingType.PLANNING, PlanningMeeting.class);
     }
 
+    /**
+     * Like {@link #getPlanningMeetingUpdatedSubscription(UUID)}, but only the first update contains the complete
+     * meeting, later updates only contain the parts of the meeting that changed.
+     * See {@link PlanningMeetingUpdateEncoder}.
+     */
+    public Flux<PlanningMeetingUpdate> getPlanningMeetingUpdates(UUID projectId) {
+        return planningMeetingUpdateEncoder.getUpdates(projectId);
+    }
+
 }
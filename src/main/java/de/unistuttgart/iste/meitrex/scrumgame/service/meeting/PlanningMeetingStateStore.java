@@ -0,0 +1,294 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
+import de.unistuttgart.iste.meitrex.generated.dto.MeetingType;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeeting;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.meeting.planning.PlanningMeetingEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.PlanningMeetingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+import java.util.function.*;
+
+/**
+ * Holds the state of active planning meetings in memory.
+ * <p>
+ * While a planning meeting is active, the in-memory state is authoritative. Updates like votes are applied to the
+ * in-memory state of the meeting while holding a lock of that meeting only, and are written to the database in the
+ * background on every flush. Updates that change the phase of the meeting, e.g., ending a voting or finishing the
+ * meeting, are written immediately.
+ * <p>
+ * The state of a meeting is loaded from the database on first access, so after a crash the meeting continues from
+ * the last written state. Updates since the last flush are lost in this case.
+ * <p>
+ * The in-memory state is only authoritative within one instance, so the store assumes that all updates of a planning
+ * meeting are handled by the same instance of the service. If the meeting was changed by another instance anyway,
+ * writing fails because of the version of the meeting. In this case, the meeting is loaded again and the modifiers
+ * that were not written yet are applied to it again, so acknowledged updates like votes are not lost. Updates are
+ * run by {@link MeetingConcurrencyControl}, so an update whose write fails in every attempt is retried as well, and
+ * the conflict is thrown to the caller if it fails in every retry.
+ * <p>
+ * As modifiers can be applied again later, e.g., during a scheduled flush, they must only change the entity based
+ * on values captured when the update was requested, like the id of the current user. They must not read the
+ * security context or have side effects like calls of other services or scheduling tasks. Side effects are run by
+ * the caller after the update returned.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PlanningMeetingStateStore {
+
+    private final PlanningMeetingRepository planningMeetingRepository;
+    private final ModelMapper               modelMapper;
+    private final MeetingConcurrencyControl meetingConcurrencyControl;
+
+    @Value("${dinodev.meeting.max-update-attempts:3}")
+    private int maxWriteAttempts = 3;
+
+    // project id -> state of the active planning meeting of the project
+    private final Map<UUID, MeetingState> meetings = new ConcurrentHashMap<>();
+
+    /**
+     * Applies the modifier to the active planning meeting of the given project.
+     * <p>
+     * If the modifier or one of the writes throws an exception, the modifier is not applied. The meeting is loaded
+     * from the database again on the next access and the modifiers of other updates that were not written yet are
+     * applied to it again, as the modifier might have changed the entity partially and the entity might not match
+     * the database anymore after a failed write.
+     *
+     * @param projectId        the id of the project
+     * @param modifier         modifies the meeting, must not depend on the context of the caller or have side
+     *                         effects, see above
+     * @param writeImmediately whether the meeting should be written to the database before this method returns,
+     *                         otherwise it is written on the next flush
+     * @return the updated meeting
+     * @throws MeitrexNotFoundException          if the project has no active planning meeting
+     * @throws OptimisticLockingFailureException if the meeting was changed concurrently by another instance in every
+     *                                           attempt
+     */
+    public PlanningMeeting update(UUID projectId, Consumer<PlanningMeetingEntity> modifier, boolean writeImmediately) {
+        return meetingConcurrencyControl.update(projectId, MeetingType.PLANNING,
+                () -> applyUpdate(projectId, modifier, writeImmediately));
+    }
+
+    private PlanningMeeting applyUpdate(
+            UUID projectId,
+            Consumer<PlanningMeetingEntity> modifier,
+            boolean writeImmediately
+    ) {
+        while (true) {
+            MeetingState state = meetings.computeIfAbsent(projectId, id -> new MeetingState());
+            state.lock.lock();
+            try {
+                if (state.discarded) {
+                    // the state was removed while waiting for the lock, use the state that replaced it
+                    continue;
+                }
+                if (state.entity == null) {
+                    reload(projectId, state);
+                }
+
+                PendingUpdate update = new PendingUpdate(modifier);
+                try {
+                    if (writeImmediately) {
+                        write(projectId, state);
+                    }
+                    state.currentUpdate = update;
+                    modifier.accept(state.entity);
+                    state.unwrittenUpdates.add(update);
+                    if (writeImmediately || !state.entity.isActive()) {
+                        write(projectId, state);
+                    }
+                } catch (RuntimeException e) {
+                    // the unwritten updates of other callers are kept and applied to the reloaded meeting
+                    state.unwrittenUpdates.remove(update);
+                    state.entity = null;
+                    throw e;
+                } finally {
+                    state.currentUpdate = null;
+                }
+                PlanningMeeting result = modelMapper.map(state.entity, PlanningMeeting.class);
+                state.snapshot = result;
+                if (!state.entity.isActive()) {
+                    // a finished or cancelled meeting is no longer held in memory
+                    discard(projectId, state);
+                }
+                return result;
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the active planning meeting of the given project, from memory if it is held in memory.
+     */
+    public Optional<PlanningMeeting> findActive(UUID projectId) {
+        Optional<PlanningMeeting> inMemory = findInMemory(projectId);
+        if (inMemory.isPresent()) {
+            return inMemory;
+        }
+        return planningMeetingRepository.findFirstByProjectIdAndActive(projectId, true)
+                .map(entity -> modelMapper.map(entity, PlanningMeeting.class));
+    }
+
+    /**
+     * Returns the active planning meeting of the given project if it is held in memory.
+     */
+    public Optional<PlanningMeeting> findInMemory(UUID projectId) {
+        MeetingState state = meetings.get(projectId);
+        if (state == null) {
+            return Optional.empty();
+        }
+        state.lock.lock();
+        try {
+            if (state.discarded) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(state.snapshot);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the changed planning meetings to the database.
+     */
+    @Scheduled(fixedDelayString = "${dinodev.meeting.planning.write-interval:PT1S}")
+    public void flush() {
+        meetings.forEach((projectId, state) -> {
+            state.lock.lock();
+            try {
+                if (!state.discarded && !state.unwrittenUpdates.isEmpty()) {
+                    if (state.entity == null) {
+                        reload(projectId, state);
+                    }
+                    write(projectId, state);
+                }
+            } catch (RuntimeException e) {
+                // the unwritten updates are kept and written on the next flush
+                log.error("Failed to write planning meeting of project {}", projectId, e);
+            } finally {
+                state.lock.unlock();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Loads the meeting from the database and applies the unwritten updates to it again. An update that fails on the
+     * loaded meeting conflicts with a change of another instance. If it is the update that is currently applied, the
+     * conflict is thrown to its caller. Otherwise, the update is not applied, as its caller already returned.
+     */
+    private void reload(UUID projectId, MeetingState state) {
+        state.entity = null;
+        while (true) {
+            PlanningMeetingEntity entity = planningMeetingRepository.findFirstByProjectIdAndActive(projectId, true)
+                    .orElse(null);
+            if (entity == null) {
+                if (!state.unwrittenUpdates.isEmpty()) {
+                    log.warn("Planning meeting of project {} was finished by another instance, {} updates are lost",
+                            projectId, state.unwrittenUpdates.size());
+                }
+                discard(projectId, state);
+                throw new MeitrexNotFoundException("No active planning meeting found");
+            }
+
+            PendingUpdate conflictingUpdate = applyUnwrittenUpdates(projectId, state, entity);
+            if (conflictingUpdate == null) {
+                state.entity = entity;
+                state.snapshot = modelMapper.map(entity, PlanningMeeting.class);
+                return;
+            }
+            // the conflicting update might have changed the entity partially, so it is loaded again
+            state.unwrittenUpdates.remove(conflictingUpdate);
+        }
+    }
+
+    private PendingUpdate applyUnwrittenUpdates(UUID projectId, MeetingState state, PlanningMeetingEntity entity) {
+        for (PendingUpdate update : state.unwrittenUpdates) {
+            try {
+                update.modifier.accept(entity);
+            } catch (RuntimeException e) {
+                if (update == state.currentUpdate) {
+                    throw e;
+                }
+                log.error("Update of planning meeting of project {} conflicts with a change of another instance and "
+                          + "is not applied", projectId, e);
+                return update;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the meeting if it was changed. If the meeting was changed by another instance, the unwritten updates
+     * are applied to its current state and the write is retried a limited number of times.
+     */
+    private void write(UUID projectId, MeetingState state) {
+        if (state.unwrittenUpdates.isEmpty()) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                // save returns a copy with the ids of new votes, which must be used for the next write
+                state.entity = planningMeetingRepository.save(state.entity);
+                state.unwrittenUpdates.clear();
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxWriteAttempts) {
+                    throw e;
+                }
+                log.warn("Planning meeting of project {} was changed concurrently, applying unwritten updates again",
+                        projectId);
+                reload(projectId, state);
+            }
+        }
+    }
+
+    private void discard(UUID projectId, MeetingState state) {
+        state.discarded = true;
+        meetings.remove(projectId, state);
+    }
+
+    /**
+     * The in-memory state of a planning meeting. All fields are guarded by the lock.
+     */
+    private static class MeetingState {
+
+        private final ReentrantLock       lock             = new ReentrantLock();
+        // the updates applied since the last write, in order, the meeting is changed if this is not empty
+        private final List<PendingUpdate> unwrittenUpdates = new ArrayList<>();
+
+        // null if the meeting must be loaded again, e.g., after a failed update
+        private PlanningMeetingEntity entity;
+        // the entity converted to a DTO after the last update
+        private PlanningMeeting       snapshot;
+        // the update that is applied by the thread holding the lock
+        private PendingUpdate         currentUpdate;
+        private boolean               discarded;
+    }
+
+    /**
+     * An update applied to the in-memory state. Updates are compared by identity, as the same modifier can be used
+     * by several updates.
+     */
+    @RequiredArgsConstructor
+    private static final class PendingUpdate {
+
+        private final Consumer<PlanningMeetingEntity> modifier;
+    }
+}
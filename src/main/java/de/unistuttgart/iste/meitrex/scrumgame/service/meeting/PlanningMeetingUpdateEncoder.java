@@ -0,0 +1,138 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeeting;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeetingChanges;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeetingUpdate;
+import jakarta.annotation.Nullable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Encodes the updates of planning meetings as versioned snapshots and changes.
+ * <p>
+ * During an estimation round, every vote publishes the complete planning meeting. Instead of sending all of them
+ * to every subscriber, the meetings of a project are sampled once per frame, so votes that arrive within the same
+ * frame are sent as one update. Each frame is compared with the previous one and only the parts that changed are
+ * sent. The frames of a project are computed once and shared by all subscribers of the project.
+ * <p>
+ * A subscriber that does not keep up only receives the latest frame. If frames were skipped, or for the first
+ * update of a subscription, the subscriber receives a snapshot instead of changes.
+ */
+class PlanningMeetingUpdateEncoder {
+
+    private final Function<UUID, Flux<PlanningMeeting>> meetingUpdates;
+    private final Duration                              frameWindow;
+
+    // shared frames per project, removed when the last subscriber of the project leaves
+    private final Map<UUID, Flux<Frame>> frames = new ConcurrentHashMap<>();
+
+    /**
+     * @param meetingUpdates returns the current state of the planning meeting of a project followed by its updates
+     * @param frameWindow    updates within this time are combined into one update
+     */
+    PlanningMeetingUpdateEncoder(Function<UUID, Flux<PlanningMeeting>> meetingUpdates, Duration frameWindow) {
+        this.meetingUpdates = meetingUpdates;
+        this.frameWindow = frameWindow;
+    }
+
+    /**
+     * Returns the updates of the planning meeting of the given project, starting with a snapshot.
+     */
+    Flux<PlanningMeetingUpdate> getUpdates(UUID projectId) {
+        return Flux.defer(() -> {
+            int[] lastVersion = {-1};
+            return frames.computeIfAbsent(projectId, this::createFrames)
+                    .onBackpressureLatest()
+                    .map(frame -> {
+                        boolean missedFrames = frame.version() != lastVersion[0] + 1;
+                        lastVersion[0] = frame.version();
+                        return missedFrames || frame.changes() == null
+                                ? snapshot(frame)
+                                : changes(frame);
+                    });
+        });
+    }
+
+    private Flux<Frame> createFrames(UUID projectId) {
+        AtomicReference<Flux<Frame>> shared = new AtomicReference<>();
+        shared.set(meetingUpdates.apply(projectId)
+                .sample(frameWindow)
+                .scan(Frame.EMPTY, Frame::next)
+                .skip(1) // the empty initial frame
+                .distinctUntilChanged(Frame::version)
+                .doFinally(signal -> frames.remove(projectId, shared.get()))
+                .replay(1)
+                .refCount());
+        return shared.get();
+    }
+
+    private static PlanningMeetingUpdate snapshot(Frame frame) {
+        return PlanningMeetingUpdate.builder()
+                .setVersion(frame.version())
+                .setSnapshot(frame.meeting())
+                .build();
+    }
+
+    private static PlanningMeetingUpdate changes(Frame frame) {
+        return PlanningMeetingUpdate.builder()
+                .setVersion(frame.version())
+                .setChanges(frame.changes())
+                .build();
+    }
+
+    /**
+     * Computes the parts of the planning meeting that differ between the two versions.
+     *
+     * @return the changes, or null if nothing changed
+     */
+    @Nullable
+    static PlanningMeetingChanges diff(PlanningMeeting previous, PlanningMeeting current) {
+        PlanningMeetingChanges changes = PlanningMeetingChanges.builder()
+                .setPlanningSettings(changedOrNull(previous, current, PlanningMeeting::getPlanningSettings))
+                .setCurrentPage(changedOrNull(previous, current, PlanningMeeting::getCurrentPage))
+                .setAnimalVoting(changedOrNull(previous, current, PlanningMeeting::getAnimalVoting))
+                .setNameVoting(changedOrNull(previous, current, PlanningMeeting::getNameVoting))
+                .setIssueEstimation(changedOrNull(previous, current, PlanningMeeting::getIssueEstimation))
+                .setSprintGoalVoting(changedOrNull(previous, current, PlanningMeeting::getSprintGoalVoting))
+                .setActive(changedOrNull(previous, current, PlanningMeeting::getActive))
+                .setAttendees(changedOrNull(previous, current, PlanningMeeting::getAttendees))
+                .build();
+        return changes.equals(PlanningMeetingChanges.builder().build()) ? null : changes;
+    }
+
+    @Nullable
+    private static <T> T changedOrNull(PlanningMeeting previous, PlanningMeeting current,
+            Function<PlanningMeeting, T> getter) {
+        T value = getter.apply(current);
+        return Objects.equals(getter.apply(previous), value) ? null : value;
+    }
+
+    /**
+     * A state of the planning meeting that is sent to the subscribers.
+     *
+     * @param version the version, starting with 0 for the first frame
+     * @param meeting the complete meeting
+     * @param changes the changes since the previous frame, null for the first frame
+     */
+    private record Frame(int version, @Nullable PlanningMeeting meeting, @Nullable PlanningMeetingChanges changes) {
+
+        private static final Frame EMPTY = new Frame(-1, null, null);
+
+        Frame next(PlanningMeeting current) {
+            if (meeting == null) {
+                return new Frame(version + 1, current, null);
+            }
+            PlanningMeetingChanges diff = diff(meeting, current);
+            if (diff == null) {
+                // nothing changed, e.g., a vote was cast and withdrawn within the same frame
+                return this;
+            }
+            return new Frame(version + 1, current, diff);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import de.unistuttgart.iste.meitrex.generated.dto.*;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.meeting.retrospective.RetrospectiveActivityEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.meeting.retrospective.RetrospectiveMeetingEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.project.ProjectEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.ProjectRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.RetrospectiveMeetingRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.UserStatsService;
@@ -40,6 +41,7 @@ public class RetrospectiveMeetingService
     private final UserInProjectService           userInProjectService;
     private final UserStatsService               userStatsService;
     private final StandupMeetingService standupMeetingService;
+    private final MeetingConcurrencyControl      meetingConcurrencyControl;
 
     public RetrospectiveMeetingService(
             RetrospectiveMeetingRepository repository,
@@ -50,7 +52,8 @@ public class RetrospectiveMeetingService
             SprintService sprintService,
             UserInProjectService userInProjectService,
             UserStatsService userStatsService,
-            StandupMeetingService standupMeetingService) {
+            StandupMeetingService standupMeetingService,
+            MeetingConcurrencyControl meetingConcurrencyControl) {
         super(repository, modelMapper, RetrospectiveMeetingEntity.class, RetrospectiveMeeting.class);
         this.meetingService = meetingService;
         this.repository = repository;
@@ -60,6 +63,7 @@ public class RetrospectiveMeetingService
         this.userInProjectService = userInProjectService;
         this.userStatsService = userStatsService;
         this.standupMeetingService = standupMeetingService;
+        this.meetingConcurrencyControl = meetingConcurrencyControl;
     }
 
     public RetrospectiveMeeting createRetrospectiveMeeting(Project project, RetrospectiveMeetingInput input) {
@@ -92,18 +96,20 @@ public class RetrospectiveMeetingService
     }
 
     @Transactional
-    public synchronized RetrospectiveMeeting awardMedals(UUID projectId) {
-        RetrospectiveMeetingEntity entity = getActiveRetrospectiveMeetingEntity(projectId);
+    public RetrospectiveMeeting awardMedals(UUID projectId) {
+        return meetingConcurrencyControl.update(projectId, MeetingType.RETROSPECTIVE, () -> {
+            RetrospectiveMeetingEntity entity = getActiveRetrospectiveMeetingEntity(projectId);
 
-        if (entity.isMedalsAwarded()) {
-            return convertToDto(entity);
-        }
+            if (entity.isMedalsAwarded()) {
+                return convertToDto(entity);
+            }
 
-        entity.setMedalsAwarded(true);
+            entity.setMedalsAwarded(true);
 
-        updateUserStatsAndBadges(projectId, entity);
+            updateUserStatsAndBadges(projectId, entity);
 
-        return convertToDto(repository.save(entity));
+            return convertToDto(repository.save(entity));
+        });
     }
 
     private RetrospectiveMeetingEntity getActiveRetrospectiveMeetingEntity(UUID projectId) {
@@ -148,26 +154,26 @@ public class RetrospectiveMeetingService
 
         userInProjectService.addGoldMedalIfPresent(entity.getGoldMedalUserId(), projectId);
         if (entity.getGoldMedalUserId() != null) {
-            userStatsService.updateUserStats(entity.getGoldMedalUserId(), projectId, userStats -> {
-                userStats.setGoldMedals(userStats.getGoldMedals() + 1);
-                userStats.setVirtualCurrency(userStats.getVirtualCurrency() + GOLD_MEDAL_REWARD);
-            });
+            userStatsService.incrementUserStats(entity.getGoldMedalUserId(), projectId, UserStatsIncrement.builder()
+                    .goldMedals(1)
+                    .virtualCurrency(GOLD_MEDAL_REWARD)
+                    .build());
         }
 
         userInProjectService.addSilverMedalIfPresent(entity.getSilverMedalUserId(), projectId);
         if (entity.getSilverMedalUserId() != null) {
-            userStatsService.updateUserStats(entity.getSilverMedalUserId(), projectId, userStats -> {
-                userStats.setSilverMedals(userStats.getSilverMedals() + 1);
-                userStats.setVirtualCurrency(userStats.getVirtualCurrency() + SILVER_MEDAL_REWARD);
-            });
+            userStatsService.incrementUserStats(entity.getSilverMedalUserId(), projectId, UserStatsIncrement.builder()
+                    .silverMedals(1)
+                    .virtualCurrency(SILVER_MEDAL_REWARD)
+                    .build());
         }
 
         userInProjectService.addBronzeMedalIfPresent(entity.getBronzeMedalUserId(), projectId);
         if (entity.getBronzeMedalUserId() != null) {
-            userStatsService.updateUserStats(entity.getBronzeMedalUserId(), projectId, userStats -> {
-                userStats.setBronzeMedals(userStats.getBronzeMedals() + 1);
-                userStats.setVirtualCurrency(userStats.getVirtualCurrency() + BRONZE_MEDAL_REWARD);
-            });
+            userStatsService.incrementUserStats(entity.getBronzeMedalUserId(), projectId, UserStatsIncrement.builder()
+                    .bronzeMedals(1)
+                    .virtualCurrency(BRONZE_MEDAL_REWARD)
+                    .build());
         }
     }
 
@@ -199,7 +205,8 @@ public class RetrospectiveMeetingService
      * no
      * active retrospective meeting is found for the project ID, a MeitrexNotFoundException is thrown.
      * <p>
-     * This method is synchronized to prevent concurrent modifications of the same retrospective meeting.
+     * Concurrent updates of the same retrospective meeting are applied one after another,
+     * see {@link MeetingConcurrencyControl}.
      * <p>
      * The updated RetrospectiveMeeting is published to the meeting service after applying the modifier function.
      *
@@ -207,19 +214,21 @@ public class RetrospectiveMeetingService
      * @param modifier  The function that modifies the RetrospectiveMeetingEntity.
      * @return The updated RetrospectiveMeeting after applying the modifier function.
      */
-    private synchronized RetrospectiveMeeting updateRetrospectiveMeeting(
+    private RetrospectiveMeeting updateRetrospectiveMeeting(
             UUID projectId,
             Consumer<RetrospectiveMeetingEntity> modifier
     ) {
-        RetrospectiveMeetingEntity retrospectiveMeeting = getActiveRetrospectiveMeetingEntity(projectId);
+        return meetingConcurrencyControl.update(projectId, MeetingType.RETROSPECTIVE, () -> {
+            RetrospectiveMeetingEntity retrospectiveMeeting = getActiveRetrospectiveMeetingEntity(projectId);
 
-        modifier.accept(retrospectiveMeeting);
+            modifier.accept(retrospectiveMeeting);
 
-        RetrospectiveMeeting result = convertToDto(repository.save(retrospectiveMeeting));
+            RetrospectiveMeeting result = convertToDto(repository.save(retrospectiveMeeting));
 
-        meetingService.publishMeetingUpdated(result);
+            meetingService.publishMeetingUpdated(result);
 
-        return result;
+            return result;
+        });
     }
 
     private void initMedals(RetrospectiveMeetingEntity entity, ProjectEntity projectEntity) {
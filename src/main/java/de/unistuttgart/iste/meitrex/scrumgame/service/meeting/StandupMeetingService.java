@@ -22,20 +22,23 @@ import java.util.function.*;
 @Slf4j
 public class StandupMeetingService extends AbstractCrudService<UUID, StandupMeetingEntity, StandupMeeting> {
 
-    private final StandupMeetingRepository standupMeetingRepository;
-    private final MeetingService           meetingService;
-    private final ProjectService           projectService;
+    private final StandupMeetingRepository  standupMeetingRepository;
+    private final MeetingService            meetingService;
+    private final ProjectService            projectService;
+    private final MeetingConcurrencyControl meetingConcurrencyControl;
 
     public StandupMeetingService(
             ModelMapper modelMapper,
             StandupMeetingRepository standupMeetingRepository,
             MeetingService meetingService,
-            ProjectService projectService
+            ProjectService projectService,
+            MeetingConcurrencyControl meetingConcurrencyControl
     ) {
         super(standupMeetingRepository, modelMapper, StandupMeetingEntity.class, StandupMeeting.class);
         this.standupMeetingRepository = standupMeetingRepository;
         this.meetingService = meetingService;
         this.projectService = projectService;
+        this.meetingConcurrencyControl = meetingConcurrencyControl;
     }
 
     public StandupMeeting createStandupMeeting(Project project, StandupMeetingInput input) {
@@ -100,20 +103,26 @@ public class StandupMeetingService extends AbstractCrudService<UUID, StandupMeet
         return standupMeetingRepository.findFirstByProjectIdAndActive(projectId, true);
     }
 
-    private synchronized StandupMeeting updateStandupMeeting(
+    /**
+     * Updates the active standup meeting of the given project and publishes the result.
+     * Concurrent updates of the same meeting are applied one after another, see {@link MeetingConcurrencyControl}.
+     */
+    private StandupMeeting updateStandupMeeting(
             UUID projectId,
             Consumer<StandupMeetingEntity> modifier
     ) {
-        StandupMeetingEntity standupMeeting = findActiveStandupMeetingEntity(projectId)
-                .orElseThrow(() -> new MeitrexNotFoundException("No active standup meeting found"));
+        return meetingConcurrencyControl.update(projectId, MeetingType.STANDUP, () -> {
+            StandupMeetingEntity standupMeeting = findActiveStandupMeetingEntity(projectId)
+                    .orElseThrow(() -> new MeitrexNotFoundException("No active standup meeting found"));
 
-        modifier.accept(standupMeeting);
+            modifier.accept(standupMeeting);
 
-        StandupMeeting result = convertToDto(standupMeetingRepository.save(standupMeeting));
+            StandupMeeting result = convertToDto(standupMeetingRepository.save(standupMeeting));
 
-        meetingService.publishMeetingUpdated(result);
+            meetingService.publishMeetingUpdated(result);
 
-        return result;
+            return result;
+        });
     }
 
 }
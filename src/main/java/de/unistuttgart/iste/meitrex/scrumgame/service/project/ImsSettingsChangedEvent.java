@@ -0,0 +1,12 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.project;
+
+import java.util.*;
+
+/**
+ * Application event that is published when the IMS settings of a project were changed or the project was deleted.
+ * Components that cache data derived from the IMS settings, e.g., IMS adapters, discard it for the project.
+ *
+ * @param projectId the id of the project
+ */
+public record ImsSettingsChangedEvent(UUID projectId) {
+}
@@ -3,15 +3,19 @@ package de.unistuttgart.iste.meitrex.scrumgame.service.project;
 import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
 import de.unistuttgart.iste.meitrex.common.service.AbstractCrudService;
 import de.unistuttgart.iste.meitrex.generated.dto.CreateProjectInput;
+import de.unistuttgart.iste.meitrex.generated.dto.ImsSettings;
 import de.unistuttgart.iste.meitrex.generated.dto.Project;
 import de.unistuttgart.iste.meitrex.generated.dto.ProjectMutation;
 import de.unistuttgart.iste.meitrex.generated.dto.UpdateProjectInput;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.project.ProjectEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.mapper.ProjectMapping;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.ProjectRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.PrivilegeCache;
+import jakarta.annotation.Nullable;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
@@ -28,14 +32,20 @@ public class ProjectService extends AbstractCrudService<UUID, ProjectEntity, Pro
 
     private final ProjectInitializerService projectInitializerService;
     private final ProjectRepository projectRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final PrivilegeCache privilegeCache;
 
     public ProjectService(
             ProjectRepository repository,
             ModelMapper modelMapper,
-            ProjectInitializerService projectInitializerService) {
+            ProjectInitializerService projectInitializerService,
+            ApplicationEventPublisher applicationEventPublisher,
+            PrivilegeCache privilegeCache) {
         super(repository, modelMapper, ProjectEntity.class, Project.class);
         this.projectInitializerService = projectInitializerService;
         this.projectRepository = repository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.privilegeCache = privilegeCache;
     }
 
     /**
@@ -87,6 +97,7 @@ public class ProjectService extends AbstractCrudService<UUID, ProjectEntity, Pro
 
     /**
      * Update a project.
+     * If the IMS settings of the project change, an {@link ImsSettingsChangedEvent} is published.
      * AUTHORIZATION: Requires the UPDATE_PROJECT privilege for the project.
      *
      * @param projectId the id of the project to update.
@@ -95,7 +106,14 @@ public class ProjectService extends AbstractCrudService<UUID, ProjectEntity, Pro
      */
     @PreAuthorize("@auth.hasPrivilege(@projectPrivileges.UPDATE_PROJECT, #projectId)")
     public Project updateProject(UUID projectId, UpdateProjectInput input) {
-        return update(projectId, input);
+        ImsSettings previousImsSettings = getImsSettings(getProjectOrThrow(projectId));
+
+        Project updatedProject = update(projectId, input);
+
+        if (!Objects.equals(previousImsSettings, getImsSettings(updatedProject))) {
+            applicationEventPublisher.publishEvent(new ImsSettingsChangedEvent(projectId));
+        }
+        return updatedProject;
     }
 
     @PreAuthorize("@auth.hasPrivilege(@projectPrivileges.DELETE_PROJECT, #projectId)")
@@ -105,6 +123,8 @@ public class ProjectService extends AbstractCrudService<UUID, ProjectEntity, Pro
         if (projectRepository.existsById(projectId)) {
             projectRepository.deleteById(projectId);
             projectRepository.flush(); // Ensure the delete is committed
+            applicationEventPublisher.publishEvent(new ImsSettingsChangedEvent(projectId));
+            privilegeCache.evictProjectPrivileges(projectId);
             log.info("Project with id {} deleted successfully", projectId);
             return true;
         } else {
@@ -126,4 +146,9 @@ public class ProjectService extends AbstractCrudService<UUID, ProjectEntity, Pro
         return new ProjectMutation(getProjectOrThrow(projectId));
     }
 
+    @Nullable
+    private static ImsSettings getImsSettings(Project project) {
+        return project.getProjectSettings() != null ? project.getProjectSettings().getImsSettings() : null;
+    }
+
 }
@@ -7,6 +7,7 @@ import de.unistuttgart.iste.meitrex.generated.dto.GlobalUserRole;
 import de.unistuttgart.iste.meitrex.generated.dto.UpdateGlobalUserRoleInput;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.role.GlobalUserRoleEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.GlobalUserRoleRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.PrivilegeCache;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -20,13 +21,16 @@ import java.util.*;
 public class GlobalUserRoleService extends AbstractCrudService<String, GlobalUserRoleEntity, GlobalUserRole> {
 
     private final GlobalUserRoleRepository globalUserRoleRepository;
+    private final PrivilegeCache           privilegeCache;
 
     public GlobalUserRoleService(
             ModelMapper modelMapper,
-            GlobalUserRoleRepository globalUserRoleRepository
+            GlobalUserRoleRepository globalUserRoleRepository,
+            PrivilegeCache privilegeCache
     ) {
         super(globalUserRoleRepository, modelMapper, GlobalUserRoleEntity.class, GlobalUserRole.class);
         this.globalUserRoleRepository = globalUserRoleRepository;
+        this.privilegeCache = privilegeCache;
     }
 
     public List<GlobalUserRole> getAllGlobalUserRoles() {
@@ -45,12 +49,17 @@ public class GlobalUserRoleService extends AbstractCrudService<String, GlobalUse
 
     @PreAuthorize("@auth.hasPrivilege(@globalPrivileges.CHANGE_ROLES) and #name != 'ADMIN'")
     public GlobalUserRole updateGlobalUserRole(String name, UpdateGlobalUserRoleInput input) {
-        return update(name, input);
+        GlobalUserRole updatedRole = update(name, input);
+        // the privileges of all users with this role might have changed
+        privilegeCache.evictAllGlobalPrivileges();
+        return updatedRole;
     }
 
     @PreAuthorize("@auth.hasPrivilege(@globalPrivileges.DELETE_ROLE)")
     public boolean deleteGlobalUserRole(String name) {
-        return delete(name);
+        boolean deleted = delete(name);
+        privilegeCache.evictAllGlobalPrivileges();
+        return deleted;
     }
 
     /**
@@ -70,11 +79,13 @@ public class GlobalUserRoleService extends AbstractCrudService<String, GlobalUse
      * @return the admin role
      */
     public GlobalUserRoleEntity getOrCreateAdminRole() {
-        return globalUserRoleRepository.save(GlobalUserRoleEntity.builder()
+        GlobalUserRoleEntity adminRole = globalUserRoleRepository.save(GlobalUserRoleEntity.builder()
                 .name("ADMIN")
                 // add all global privileges to the admin role
                 .globalPrivileges(Arrays.asList(GlobalPrivilege.values()))
                 .build());
+        privilegeCache.evictAllGlobalPrivileges();
+        return adminRole;
     }
 
 }
@@ -9,6 +9,7 @@ import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.role.ProjectRol
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.role.ProjectRoleId;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.ProjectRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.ProjectRoleRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.PrivilegeCache;
 import org.modelmapper.ModelMapper;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
@@ -27,15 +28,18 @@ public class ProjectRoleService
 
     private final ProjectRoleRepository projectRoleRepository;
     private final ProjectRepository     projectRepository;
+    private final PrivilegeCache        privilegeCache;
 
     public ProjectRoleService(
             ProjectRoleRepository projectRoleRepository,
             ProjectRepository projectRepository,
-            ModelMapper modelMapper
+            ModelMapper modelMapper,
+            PrivilegeCache privilegeCache
     ) {
         super(projectRoleRepository, modelMapper, ProjectRoleEntity.class, ProjectRole.class);
         this.projectRoleRepository = projectRoleRepository;
         this.projectRepository = projectRepository;
+        this.privilegeCache = privilegeCache;
     }
 
     public List<ProjectRole> getRolesOfProject(UUID projectId) {
@@ -67,13 +71,18 @@ public class ProjectRoleService
 
     @PreAuthorize("@auth.hasPrivilege(@projectPrivileges.UPDATE_ROLE, #projectId)")
     public ProjectRole updateRole(UUID projectId, String roleName, UpdateProjectRoleInput input) {
-        return update(createId(projectId, roleName), input);
+        ProjectRole updatedRole = update(createId(projectId, roleName), input);
+        // the privileges of all users with this role might have changed
+        privilegeCache.evictProjectPrivileges(projectId);
+        return updatedRole;
     }
 
     @PreAuthorize("@auth.hasPrivilege(@projectPrivileges.DELETE_ROLE, #projectId)")
     public boolean deleteRole(UUID projectId, String name) {
         // check if more logic is needed here
-        return delete(createId(projectId, name));
+        boolean deleted = delete(createId(projectId, name));
+        privilegeCache.evictProjectPrivileges(projectId);
+        return deleted;
     }
 
     public ProjectRoleEntity getOrCreateDefaultRole(UUID projectId) {
@@ -0,0 +1,22 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
+
+/**
+ * Series of a burn-down and burn-up chart of a sprint. Each series has one value per bucket, e.g., per day or per
+ * hour of the sprint. The arrays are exposed to the GraphQL API as they are, without converting them to lists.
+ *
+ * @param completed the story points completed in each bucket
+ * @param burnUp    the story points completed up to the end of each bucket
+ * @param burnDown  the story points left at the end of each bucket, taking scope changes into account
+ * @param ideal     the ideal burn-down line, decreasing linearly to zero at the end of the sprint
+ * @param scope     the story points of all issues of the sprint at the end of each bucket
+ */
+public record BurnChart(
+        int[] completed,
+        int[] burnUp,
+        int[] burnDown,
+        int[] ideal,
+        int[] scope
+) {
+
+    public static final BurnChart EMPTY = new BurnChart(new int[0], new int[0], new int[0], new int[0], new int[0]);
+}
@@ -0,0 +1,108 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
+
+/**
+ * Computes the series of burn-down and burn-up charts on primitive arrays.
+ * <p>
+ * The time of a sprint is divided into buckets of equal length, e.g., days or hours. All series have one value per
+ * bucket, the value of a bucket is the value at the end of that bucket. Every series is computed in a single pass
+ * over the buckets, using prefix sums instead of summing up all previous buckets for each bucket.
+ */
+public final class BurnChartCalculator {
+
+    private BurnChartCalculator() {
+        // utility class
+    }
+
+    /**
+     * Sums up the story points of the given items per bucket.
+     * Items before the first bucket are counted in the first bucket, items after the last bucket in the last bucket.
+     *
+     * @param start        the start of the first bucket, in epoch milliseconds
+     * @param bucketLength the length of a bucket, in milliseconds
+     * @param bucketCount  the number of buckets
+     * @param times        the time of each item, in epoch milliseconds
+     * @param storyPoints  the story points of each item, same length as {@code times}
+     * @return the sum of story points per bucket
+     */
+    public static int[] sumPerBucket(long start, long bucketLength, int bucketCount, long[] times, int[] storyPoints) {
+        int[] result = new int[bucketCount];
+        if (bucketCount == 0) {
+            return result;
+        }
+        for (int i = 0; i < times.length; i++) {
+            int bucket = (int) Math.clamp(Math.floorDiv(times[i] - start, bucketLength), 0, bucketCount - 1);
+            result[bucket] += storyPoints[i];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the running total of the given values, e.g., the completed story points up to each bucket,
+     * which is the burn-up series.
+     */
+    public static int[] prefixSum(int[] perBucket) {
+        int[] result = new int[perBucket.length];
+        int sum = 0;
+        for (int i = 0; i < perBucket.length; i++) {
+            sum += perBucket[i];
+            result[i] = sum;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the story points left at the end of each bucket if the given total is reduced by the story points
+     * completed per bucket.
+     */
+    public static int[] burnDown(int total, int[] completedPerBucket) {
+        int[] result = new int[completedPerBucket.length];
+        int remaining = total;
+        for (int i = 0; i < completedPerBucket.length; i++) {
+            remaining -= completedPerBucket[i];
+            result[i] = remaining;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the story points left at the end of each bucket if the scope changes over time,
+     * i.e., the scope minus the completed story points of each bucket.
+     *
+     * @param scope   the scope at the end of each bucket
+     * @param burnUp  the completed story points up to each bucket, same length as {@code scope}
+     * @return the remaining story points per bucket
+     */
+    public static int[] remaining(int[] scope, int[] burnUp) {
+        int[] result = new int[scope.length];
+        for (int i = 0; i < scope.length; i++) {
+            result[i] = scope[i] - burnUp[i];
+        }
+        return result;
+    }
+
+    /**
+     * Computes the ideal burn-down line, which decreases linearly from the given total to zero at the end of the
+     * last bucket.
+     */
+    public static int[] idealLine(int total, int bucketCount) {
+        int[] result = new int[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            result[i] = (int) Math.round((double) total * (bucketCount - i - 1) / bucketCount);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the scope at the end of each bucket, starting with the given initial scope and adding the story
+     * points added per bucket.
+     */
+    public static int[] scope(int initialScope, int[] addedPerBucket) {
+        int[] result = new int[addedPerBucket.length];
+        int scope = initialScope;
+        for (int i = 0; i < addedPerBucket.length; i++) {
+            scope += addedPerBucket[i];
+            result[i] = scope;
+        }
+        return result;
+    }
+}
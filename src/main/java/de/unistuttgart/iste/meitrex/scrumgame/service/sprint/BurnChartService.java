@@ -0,0 +1,75 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
+
+import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventService;
+import de.unistuttgart.iste.meitrex.scrumgame.service.ims.ImsServiceExtension;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Computes burn-down and burn-up charts of sprints with a configurable granularity.
+ * The charts of several sprints are computed together, loading the events of all issues with a single query.
+ */
+@Service
+@RequiredArgsConstructor
+public class BurnChartService {
+
+    private final ImsServiceExtension imsServiceExtension;
+    private final EventService        eventService;
+
+    /**
+     * Computes the burn charts of the given sprints.
+     *
+     * @param sprints      the sprints
+     * @param bucketLength the time covered by one value of the chart series, e.g., one day
+     * @return the burn chart of each sprint. Sprints without start or end date have an empty chart.
+     */
+    public Map<Sprint, BurnChart> getBurnCharts(Collection<Sprint> sprints, Duration bucketLength) {
+        List<Sprint> sprintsWithDates = sprints.stream()
+                .filter(sprint -> sprint.getStartDate() != null && sprint.getEndDate() != null)
+                .toList();
+
+        Map<Sprint, List<Issue>> issuesBySprint = sprintsWithDates.isEmpty()
+                ? Map.of()
+                : imsServiceExtension.getIssuesBySprints(sprintsWithDates);
+        Map<String, List<Event>> eventsByIssueId = eventService.getEventsForIssues(issuesBySprint.values()
+                .stream()
+                .flatMap(List::stream)
+                .map(Issue::getId)
+                .toList());
+
+        Map<Sprint, BurnChart> result = new HashMap<>();
+        for (Sprint sprint : sprints) {
+            List<Issue> issues = issuesBySprint.get(sprint);
+            result.put(sprint, issues == null
+                    ? BurnChart.EMPTY
+                    : createBurnChart(sprint, SprintProgress.of(sprint, issues, eventsByIssueId), bucketLength));
+        }
+        return result;
+    }
+
+    private static BurnChart createBurnChart(Sprint sprint, SprintProgress progress, Duration bucketLength) {
+        long start = sprint.getStartDate().toInstant().toEpochMilli();
+        long end = sprint.getEndDate().toInstant().toEpochMilli();
+        int bucketCount = (int) Math.max(0, (end - start) / bucketLength.toMillis());
+
+        int[] completed = BurnChartCalculator.sumPerBucket(start, bucketLength.toMillis(), bucketCount,
+                progress.completedTimes(), progress.completedStoryPoints());
+        int[] added = BurnChartCalculator.sumPerBucket(start, bucketLength.toMillis(), bucketCount,
+                progress.addedTimes(), progress.addedStoryPoints());
+
+        int[] burnUp = BurnChartCalculator.prefixSum(completed);
+        int[] scope = BurnChartCalculator.scope(progress.initialScope(), added);
+        int plannedStoryPoints = Optional.ofNullable(sprint.getStoryPointsPlanned()).orElse(progress.initialScope());
+
+        return new BurnChart(
+                completed,
+                burnUp,
+                BurnChartCalculator.remaining(scope, burnUp),
+                BurnChartCalculator.idealLine(plannedStoryPoints, bucketCount),
+                scope);
+    }
+}
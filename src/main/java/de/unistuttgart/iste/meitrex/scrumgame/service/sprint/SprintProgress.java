@@ -0,0 +1,88 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
+
+import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * When the story points of the issues of a sprint were completed and added, as input for the
+ * {@link BurnChartCalculator}. Times are stored as epoch milliseconds in parallel primitive arrays.
+ *
+ * @param completedTimes       the time each completed issue was completed
+ * @param completedStoryPoints the story points of each completed issue
+ * @param addedTimes           the time each issue that was created during the sprint was created
+ * @param addedStoryPoints     the story points of each issue that was created during the sprint
+ * @param initialScope         the story points of the issues that existed when the sprint started
+ */
+record SprintProgress(
+        long[] completedTimes,
+        int[] completedStoryPoints,
+        long[] addedTimes,
+        int[] addedStoryPoints,
+        int initialScope
+) {
+
+    /**
+     * Collects the progress of a sprint from its issues and their events.
+     *
+     * @param sprint          the sprint
+     * @param issues          the issues of the sprint
+     * @param eventsByIssueId the events of the issues
+     * @return the progress of the sprint
+     */
+    static SprintProgress of(Sprint sprint, List<Issue> issues, Map<String, List<Event>> eventsByIssueId) {
+        List<Issue> estimatedIssues = issues.stream()
+                .filter(issue -> issue.getStoryPoints() != null)
+                .toList();
+
+        long[] completedTimes = new long[estimatedIssues.size()];
+        int[] completedStoryPoints = new int[estimatedIssues.size()];
+        long[] addedTimes = new long[estimatedIssues.size()];
+        int[] addedStoryPoints = new int[estimatedIssues.size()];
+        int completedCount = 0;
+        int addedCount = 0;
+        int initialScope = 0;
+
+        for (Issue issue : estimatedIssues) {
+            List<Event> events = eventsByIssueId.getOrDefault(issue.getId(), List.of());
+
+            Optional<OffsetDateTime> completedAt = findFirstEventTime(events, ImsEventTypes.ISSUE_COMPLETED);
+            if (isDone(issue) && completedAt.isPresent()) {
+                completedTimes[completedCount] = completedAt.get().toInstant().toEpochMilli();
+                completedStoryPoints[completedCount] = issue.getStoryPoints();
+                completedCount++;
+            }
+
+            Optional<OffsetDateTime> createdAt = findFirstEventTime(events, ImsEventTypes.ISSUE_CREATED);
+            if (createdAt.isPresent() && sprint.getStartDate() != null
+                && createdAt.get().isAfter(sprint.getStartDate())) {
+                addedTimes[addedCount] = createdAt.get().toInstant().toEpochMilli();
+                addedStoryPoints[addedCount] = issue.getStoryPoints();
+                addedCount++;
+            } else {
+                initialScope += issue.getStoryPoints();
+            }
+        }
+
+        return new SprintProgress(
+                Arrays.copyOf(completedTimes, completedCount),
+                Arrays.copyOf(completedStoryPoints, completedCount),
+                Arrays.copyOf(addedTimes, addedCount),
+                Arrays.copyOf(addedStoryPoints, addedCount),
+                initialScope);
+    }
+
+    static boolean isDone(Issue issue) {
+        return issue.getState().getType() == IssueStateType.DONE
+               || issue.getState().getType() == IssueStateType.DONE_SPRINT;
+    }
+
+    private static Optional<OffsetDateTime> findFirstEventTime(List<Event> events, EventType eventType) {
+        return events.stream()
+                .filter(event -> event.getEventType().getIdentifier().equals(eventType.getIdentifier()))
+                .map(Event::getTimestamp)
+                .min(Comparator.naturalOrder());
+    }
+}
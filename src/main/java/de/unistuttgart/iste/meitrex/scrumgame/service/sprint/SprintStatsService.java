@@ -1,46 +1,112 @@
 package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import de.unistuttgart.iste.meitrex.generated.dto.*;
-import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintStatsEntity.SprintStatsId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintUserStatsEmbeddable;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.SprintStatsRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventFactory;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.ims.ImsServiceExtension;
+import de.unistuttgart.iste.meitrex.scrumgame.util.TemplateDataUtils;
+import jakarta.annotation.Nullable;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.*;
 
+/**
+ * Computes the stats of sprints.
+ * <p>
+ * Stats of finished sprints do not change anymore, so they are stored in the database and kept in a bounded
+ * in-memory cache. Stats of running sprints are kept in memory until an event that concerns an issue of the
+ * project is published, e.g., an issue was completed or changed its state, or until they exceed a maximum age.
+ * This way, repeated requests for the same sprint, e.g., when reminders are checked for all projects, only
+ * recompute the stats that depend on the current time.
+ * Each issue event also increments the generation of the project, and stats whose computation started in an older
+ * generation are not cached, as they may not contain the change announced by the event.
+ * <p>
+ * The success state and streak of a sprint depend on the previous sprint. If the stats of several previous sprints
+ * are missing, the issue statistics of all of them are computed in parallel and the streak is folded afterward.
+ */
 @Service
 @RequiredArgsConstructor
 public class SprintStatsService {
 
-    private final ImsServiceExtension imsServiceExtension;
-    private final SprintService       sprintService;
-    private final EventService eventService;
+    private final ImsServiceExtension                     imsServiceExtension;
+    private final SprintService                           sprintService;
+    private final EventService                            eventService;
+    private final SprintStatsRepository                   sprintStatsRepository;
+    private final EventPublisher<Event, CreateEventInput> eventPublisher;
 
-    // cache for sprint stats, does not include the current sprint
-    private final Map<Sprint, SprintStats> sprintStatsCache = new ConcurrentHashMap<>();
+    @Value("${dinodev.sprint-stats.running-sprint-max-age:5m}")
+    private Duration runningSprintMaxAge = Duration.ofMinutes(5);
 
-    public SprintStats getSprintStats(Sprint sprint) {
-        if (sprintStatsCache.containsKey(sprint)) {
-            return sprintStatsCache.get(sprint);
-        }
+    // cache for finished sprints, backed by the database
+    private final Cache<SprintKey, SprintStats> finishedSprintStatsCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .build();
 
-        SprintStats sprintStats = new SprintStats();
-        sprintStats.setSprint(sprint);
+    // cache for running sprints, invalidated by issue events
+    private final Map<SprintKey, RunningSprintStats> runningSprintStatsCache = new ConcurrentHashMap<>();
+    // number of invalidations of the running sprint stats of each project
+    private final Map<UUID, Long> runningSprintGenerations = new ConcurrentHashMap<>();
 
-        calculateDateRelatedStats(sprintStats);
-        calculateIssueStatistics(sprintStats);
-        calculateSprintSuccessStateAndStreak(sprintStats);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Disposable eventSubscription;
 
-        if (canCache(sprintStats)) {
-            sprintStatsCache.put(sprint, sprintStats);
+    @PostConstruct
+    public void subscribeToIssueEvents() {
+        eventSubscription = eventPublisher.getEventStream()
+                .filter(event -> event.getProjectId() != null)
+                .filter(SprintStatsService::isIssueEvent)
+                .subscribe(event -> invalidateRunningSprintStats(event.getProjectId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (eventSubscription != null) {
+            eventSubscription.dispose();
         }
+        executor.shutdownNow();
+    }
 
-        return sprintStats;
+    public SprintStats getSprintStats(Sprint sprint) {
+        Optional<SprintStats> cachedStats = findCachedStats(sprint);
+        if (cachedStats.isPresent()) {
+            // only the stats depending on the current time need to be updated. The cached stats are shared
+            // between requests and used as keys of batch mappings, so they are updated on a copy
+            SprintStats sprintStats = copy(cachedStats.get());
+            calculateDateRelatedStats(sprintStats);
+            return sprintStats;
+        }
+
+        return calculateSprintStats(sprint);
+    }
+
+    /**
+     * Discards the cached stats of the running sprint of the given project, so they are recomputed on the next
+     * request.
+     *
+     * @param projectId the id of the project
+     */
+    public void invalidateRunningSprintStats(UUID projectId) {
+        // the generation is incremented before the stats are removed, see store
+        runningSprintGenerations.merge(projectId, 1L, Long::sum);
+        runningSprintStatsCache.keySet().removeIf(key -> key.projectId().equals(projectId));
     }
 
     public SprintUserStats getUserStatsByUserId(SprintStats stats, UUID userId) {
@@ -52,18 +118,220 @@ public class SprintStatsService {
 
     private boolean canCache(SprintStats sprintStats) {
         return sprintStats.getSuccessState() != SprintSuccessState.IN_PROGRESS
-               && (sprintStats.getSprint().getEndDate() == null
-                   || OffsetDateTime.now().isAfter(sprintStats.getSprint().getEndDate()));
+               && isOver(sprintStats.getSprint());
+    }
+
+    private static boolean isOver(Sprint sprint) {
+        return sprint.getEndDate() == null || OffsetDateTime.now().isAfter(sprint.getEndDate());
+    }
+
+    private Optional<SprintStats> findCachedStats(Sprint sprint) {
+        SprintKey key = SprintKey.of(sprint);
+
+        RunningSprintStats runningStats = runningSprintStatsCache.get(key);
+        if (runningStats != null) {
+            if (isUpToDate(runningStats.stats(), sprint)
+                && !isOver(sprint)
+                && runningStats.computedAt().plus(runningSprintMaxAge).isAfter(Instant.now())) {
+                return Optional.of(runningStats.stats());
+            }
+            runningSprintStatsCache.remove(key, runningStats);
+        }
+
+        return findFinishedSprintStats(sprint);
+    }
+
+    private Optional<SprintStats> findFinishedSprintStats(Sprint sprint) {
+        SprintKey key = SprintKey.of(sprint);
+
+        SprintStats finishedStats = finishedSprintStatsCache.getIfPresent(key);
+        if (finishedStats != null && isUpToDate(finishedStats, sprint)) {
+            return Optional.of(finishedStats);
+        }
+
+        Optional<SprintStats> storedStats = sprintStatsRepository.findById(key.toId())
+                .filter(entity -> isUpToDate(entity, sprint))
+                .map(entity -> toSprintStats(entity, sprint));
+        storedStats.ifPresent(stats -> finishedSprintStatsCache.put(key, stats));
+        return storedStats;
+    }
+
+    /**
+     * Calculates the stats of the given sprint and all previous sprints whose stats are not known yet.
+     * The issue statistics of these sprints are calculated in parallel, the success states and streaks are
+     * calculated afterward, starting with the oldest sprint.
+     */
+    private SprintStats calculateSprintStats(Sprint sprint) {
+        long generation = getRunningSprintGeneration(sprint.getProject().getId());
+
+        // newest sprint first
+        List<Sprint> sprintsToCalculate = new ArrayList<>();
+        sprintsToCalculate.add(sprint);
+        Optional<SprintStats> knownPreviousStats = Optional.empty();
+
+        Optional<Sprint> previousSprint = findPreviousSprint(sprint);
+        while (previousSprint.isPresent()) {
+            knownPreviousStats = findCachedStats(previousSprint.get());
+            if (knownPreviousStats.isPresent()) {
+                break;
+            }
+            sprintsToCalculate.add(previousSprint.get());
+            previousSprint = findPreviousSprint(previousSprint.get());
+        }
+
+        // the issues of all sprints of a project are fetched together
+        Map<Sprint, List<Issue>> issuesBySprint = imsServiceExtension.getIssuesBySprints(sprintsToCalculate);
+        List<SprintStats> calculatedStats = calculateIssueRelatedStats(sprintsToCalculate, issuesBySprint);
+
+        Optional<SprintStats> previousSprintStats = knownPreviousStats;
+        for (SprintStats sprintStats : calculatedStats.reversed()) {
+            calculateSprintSuccessState(sprintStats, previousSprintStats);
+            calculateSprintStreak(sprintStats, previousSprintStats);
+            store(sprintStats, generation);
+            previousSprintStats = Optional.of(sprintStats);
+        }
+
+        return calculatedStats.getFirst();
+    }
+
+    private Optional<Sprint> findPreviousSprint(Sprint sprint) {
+        return sprintService.findSprint(sprint.getProject().getId(), sprint.getNumber() - 1);
+    }
+
+    private List<SprintStats> calculateIssueRelatedStats(List<Sprint> sprints, Map<Sprint, List<Issue>> issues) {
+        if (sprints.size() == 1) {
+            return List.of(calculateIssueRelatedStats(sprints.getFirst(), issues.get(sprints.getFirst())));
+        }
+
+        List<CompletableFuture<SprintStats>> futures = sprints.stream()
+                .map(sprint -> CompletableFuture.supplyAsync(
+                        () -> calculateIssueRelatedStats(sprint, issues.get(sprint)), executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private SprintStats calculateIssueRelatedStats(Sprint sprint, List<Issue> issues) {
+        SprintStats sprintStats = new SprintStats();
+        sprintStats.setSprint(sprint);
+
+        calculateDateRelatedStats(sprintStats);
+        calculateIssueStatistics(sprintStats, issues);
+
+        return sprintStats;
+    }
+
+    private long getRunningSprintGeneration(UUID projectId) {
+        return runningSprintGenerations.getOrDefault(projectId, 0L);
+    }
+
+    /**
+     * Caches the given stats. Stats of running sprints are only kept if the running sprint stats of the project
+     * were not invalidated since the given generation, i.e., since the computation of the stats started.
+     */
+    private void store(SprintStats sprintStats, long generation) {
+        SprintKey key = SprintKey.of(sprintStats.getSprint());
+
+        if (!canCache(sprintStats)) {
+            RunningSprintStats runningStats = new RunningSprintStats(sprintStats, Instant.now());
+            runningSprintStatsCache.put(key, runningStats);
+            // checked after the stats were added, so an invalidation either is seen here or removes them afterward
+            if (getRunningSprintGeneration(key.projectId()) != generation) {
+                runningSprintStatsCache.remove(key, runningStats);
+            }
+            return;
+        }
+
+        runningSprintStatsCache.remove(key);
+        finishedSprintStatsCache.put(key, sprintStats);
+        sprintStatsRepository.save(toEntity(key, sprintStats));
+    }
+
+    private static boolean isIssueEvent(Event event) {
+        return TemplateDataUtils.findStringField(event, EventFactory.ISSUE_ID_KEY).isPresent();
+    }
+
+    // the stats are outdated if the sprint was changed after they were calculated
+    private static boolean isUpToDate(SprintStats sprintStats, Sprint sprint) {
+        return isUpToDate(sprintStats.getSprint().getStoryPointsPlanned(),
+                sprintStats.getSprint().getStartDate(),
+                sprintStats.getSprint().getEndDate(),
+                sprint);
     }
 
-    private void calculateSprintSuccessStateAndStreak(SprintStats sprintStats) {
-        Optional<SprintStats> previousSprintStats = sprintService.findSprint(
-                        sprintStats.getSprint().getProject().getId(),
-                        sprintStats.getSprint().getNumber() - 1)
-                .map(this::getSprintStats);
+    private static boolean isUpToDate(SprintStatsEntity entity, Sprint sprint) {
+        return isUpToDate(entity.getStoryPointsPlanned(), entity.getStartDate(), entity.getEndDate(), sprint);
+    }
+
+    private static boolean isUpToDate(
+            @Nullable Integer storyPointsPlanned,
+            @Nullable OffsetDateTime startDate,
+            @Nullable OffsetDateTime endDate,
+            Sprint sprint
+    ) {
+        return Objects.equals(storyPointsPlanned, sprint.getStoryPointsPlanned())
+               && isSameInstant(startDate, sprint.getStartDate())
+               && isSameInstant(endDate, sprint.getEndDate());
+    }
+
+    private static boolean isSameInstant(@Nullable OffsetDateTime a, @Nullable OffsetDateTime b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.isEqual(b);
+    }
 
-        calculateSprintSuccessState(sprintStats, previousSprintStats);
-        calculateSprintStreak(sprintStats, previousSprintStats);
+    private static SprintStatsEntity toEntity(SprintKey key, SprintStats sprintStats) {
+        Sprint sprint = sprintStats.getSprint();
+        return SprintStatsEntity.builder()
+                .id(key.toId())
+                .storyPointsPlanned(sprint.getStoryPointsPlanned())
+                .startDate(sprint.getStartDate())
+                .endDate(sprint.getEndDate())
+                .successState(sprintStats.getSuccessState())
+                .streak(sprintStats.getStreak())
+                .totalStoryPoints(sprintStats.getTotalStoryPoints())
+                .averageStoryPoints(sprintStats.getAverageStoryPoints())
+                .percentageStoryPointsCompleted(sprintStats.getPercentageStoryPointsCompleted())
+                .percentageStoryPointsInProgress(sprintStats.getPercentageStoryPointsInProgress())
+                .percentageStoryPointsNotStarted(sprintStats.getPercentageStoryPointsNotStarted())
+                .issueCount(sprintStats.getIssueCount())
+                .storyPointsByDay(new ArrayList<>(sprintStats.getStoryPointsByDay()))
+                .burnDown(sprintStats.getBurnDown() != null
+                        ? new ArrayList<>(sprintStats.getBurnDown())
+                        : new ArrayList<>())
+                .userStats(sprintStats.getUserStats().stream()
+                        .map(userStats -> new SprintUserStatsEmbeddable(userStats.getUserId(),
+                                userStats.getStoryPointsCompleted()))
+                        .collect(Collectors.toCollection(ArrayList::new)))
+                .build();
+    }
+
+    private SprintStats toSprintStats(SprintStatsEntity entity, Sprint sprint) {
+        SprintStats sprintStats = new SprintStats();
+        sprintStats.setSprint(sprint);
+        sprintStats.setSuccessState(entity.getSuccessState());
+        sprintStats.setStreak(entity.getStreak());
+        sprintStats.setTotalStoryPoints(entity.getTotalStoryPoints());
+        sprintStats.setAverageStoryPoints(entity.getAverageStoryPoints());
+        sprintStats.setPercentageStoryPointsCompleted(entity.getPercentageStoryPointsCompleted());
+        sprintStats.setPercentageStoryPointsInProgress(entity.getPercentageStoryPointsInProgress());
+        sprintStats.setPercentageStoryPointsNotStarted(entity.getPercentageStoryPointsNotStarted());
+        sprintStats.setIssueCount(entity.getIssueCount());
+        sprintStats.setStoryPointsByDay(List.copyOf(entity.getStoryPointsByDay()));
+        // the burn down is only calculated for sprints with planned story points
+        sprintStats.setBurnDown(sprint.getStoryPointsPlanned() != null ? List.copyOf(entity.getBurnDown()) : null);
+        sprintStats.setUserStats(entity.getUserStats().stream()
+                .map(userStats -> new SprintUserStats(userStats.getUserId(), userStats.getStoryPointsCompleted()))
+                .toList());
+        calculateDateRelatedStats(sprintStats);
+        return sprintStats;
     }
 
     private void calculateSprintSuccessState(SprintStats sprintStats, Optional<SprintStats> previousSprintStats) {
@@ -121,9 +389,7 @@ public class SprintStatsService {
         }
     }
 
-    private void calculateIssueStatistics(SprintStats sprintStats) {
-        List<Issue> issues = imsServiceExtension.getIssuesBySprints(List.of(sprintStats.getSprint()))
-                .get(sprintStats.getSprint());
+    private void calculateIssueStatistics(SprintStats sprintStats, List<Issue> issues) {
         sprintStats.setIssueCount(issues.size());
 
         sprintStats.setTotalStoryPoints(getTotalSpCompleted(issues));
@@ -155,6 +421,26 @@ public class SprintStatsService {
                 .sum() / issues.size();
     }
 
+    private static SprintStats copy(SprintStats sprintStats) {
+        SprintStats copy = new SprintStats();
+        copy.setSprint(sprintStats.getSprint());
+        copy.setSuccessState(sprintStats.getSuccessState());
+        copy.setStreak(sprintStats.getStreak());
+        copy.setTotalStoryPoints(sprintStats.getTotalStoryPoints());
+        copy.setAverageStoryPoints(sprintStats.getAverageStoryPoints());
+        copy.setPercentageStoryPointsCompleted(sprintStats.getPercentageStoryPointsCompleted());
+        copy.setPercentageStoryPointsInProgress(sprintStats.getPercentageStoryPointsInProgress());
+        copy.setPercentageStoryPointsNotStarted(sprintStats.getPercentageStoryPointsNotStarted());
+        copy.setIssueCount(sprintStats.getIssueCount());
+        copy.setDaysLeft(sprintStats.getDaysLeft());
+        copy.setDaysElapsed(sprintStats.getDaysElapsed());
+        copy.setPercentageTimeElapsed(sprintStats.getPercentageTimeElapsed());
+        copy.setStoryPointsByDay(sprintStats.getStoryPointsByDay());
+        copy.setBurnDown(sprintStats.getBurnDown());
+        copy.setUserStats(sprintStats.getUserStats());
+        return copy;
+    }
+
     private void calculateDateRelatedStats(SprintStats sprintStats) {
         Sprint sprint = sprintStats.getSprint();
         sprintStats.setDaysElapsed(calculateDaysElapsed(sprint));
@@ -228,58 +514,38 @@ public class SprintStatsService {
         }
 
         int totalDays = (int) Duration.between(startDate, endDate).toDays();
-        List<Integer> storyPointsByDay = new ArrayList<>(Collections.nCopies(totalDays, 0));
 
-        issues.stream()
+        List<Issue> doneIssues = issues.stream()
                 .filter(issue -> issue.getStoryPoints() != null)
-                .filter(issue -> issue.getState().getType() == IssueStateType.DONE
-                                 || issue.getState().getType() == IssueStateType.DONE_SPRINT)
-                .forEach(issue -> setSpDoneForIssue(issue, startDate, storyPointsByDay));
+                .filter(SprintProgress::isDone)
+                .toList();
 
-        sprintStats.setStoryPointsByDay(storyPointsByDay);
+        // load the events of all issues at once instead of one query per issue
+        Map<String, List<Event>> eventsByIssueId
+                = eventService.getEventsForIssues(doneIssues.stream().map(Issue::getId).toList());
+        SprintProgress progress = SprintProgress.of(sprintStats.getSprint(), doneIssues, eventsByIssueId);
+
+        int[] storyPointsByDay = BurnChartCalculator.sumPerBucket(
+                startDate.toInstant().toEpochMilli(),
+                Duration.ofDays(1).toMillis(),
+                totalDays,
+                progress.completedTimes(),
+                progress.completedStoryPoints());
+
+        sprintStats.setStoryPointsByDay(toList(storyPointsByDay));
     }
 
     private void calculateBurnDown(SprintStats sprintStats) {
-        List<Integer> storyPointsByDay = sprintStats.getStoryPointsByDay();
         Integer storyPointsPlanned = sprintStats.getSprint().getStoryPointsPlanned();
         if (storyPointsPlanned != null) {
-            sprintStats.setBurnDown(constructBurnDown(storyPointsPlanned, storyPointsByDay));
+            int[] storyPointsByDay = sprintStats.getStoryPointsByDay().stream().mapToInt(Integer::intValue).toArray();
+            sprintStats.setBurnDown(toList(BurnChartCalculator.burnDown(storyPointsPlanned, storyPointsByDay)));
         }
     }
 
-    private static List<Integer> constructBurnDown(
-            int storyPointsPlanned,
-            List<Integer> storyPointsByDay
-    ) {
-        return IntStream.range(0, storyPointsByDay.size())
-                .map(day -> storyPointsPlanned -
-                            storyPointsByDay.stream().limit(day + 1L).mapToInt(Integer::intValue).sum())
-                .boxed()
-                .toList();
-    }
-
-    private void setSpDoneForIssue(Issue issue, OffsetDateTime startDate, List<Integer> storyPointsByDay) {
-        var totalDays = storyPointsByDay.size();
-
-        getDoneDateOfIssue(issue).ifPresent(date -> {
-            int day = (int) Duration.between(startDate, date).toDays();
-            if (totalDays > 0) {
-                // ensure that the day is within the bounds of the sprint
-                day = Math.clamp(day, 0, totalDays - 1);
-                storyPointsByDay.set(day, storyPointsByDay.get(day) + issue.getStoryPoints());
-            }
-
-        });
-    }
-
-    private Optional<OffsetDateTime> getDoneDateOfIssue(Issue issue) {
-        var events = eventService.getEventsForIssue(issue);
-        return events.stream()
-                .filter(event -> event.getEventType()
-                        .getIdentifier()
-                        .equals(ImsEventTypes.ISSUE_COMPLETED.getIdentifier()))
-                .map(Event::getTimestamp)
-                .min(Comparator.naturalOrder());
+    // the generated DTOs require lists
+    private static List<Integer> toList(int[] values) {
+        return Arrays.stream(values).boxed().toList();
     }
 
     private void calculateUserStats(SprintStats sprintStats, List<Issue> issues) {
@@ -301,4 +567,21 @@ public class SprintStatsService {
                 .map(entry -> new SprintUserStats(entry.getKey(), entry.getValue()))
                 .toList());
     }
+
+    /**
+     * Identifies a sprint by its project and number.
+     */
+    private record SprintKey(UUID projectId, int number) {
+
+        private static SprintKey of(Sprint sprint) {
+            return new SprintKey(sprint.getProject().getId(), sprint.getNumber());
+        }
+
+        private SprintStatsId toId() {
+            return new SprintStatsId(projectId, number);
+        }
+    }
+
+    private record RunningSprintStats(SprintStats stats, Instant computedAt) {
+    }
 }
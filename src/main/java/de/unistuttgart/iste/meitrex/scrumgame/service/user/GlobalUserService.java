@@ -8,6 +8,7 @@ import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.role.GlobalUser
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.GlobalUserEntity;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.GlobalUserRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthService;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.PrivilegeCache;
 import de.unistuttgart.iste.meitrex.scrumgame.service.role.GlobalUserRoleService;
 import jakarta.transaction.Transactional;
 import org.modelmapper.ModelMapper;
@@ -23,17 +24,20 @@ public class GlobalUserService extends AbstractCrudService<UUID, GlobalUserEntit
     private final AuthService          auth;
     private final GlobalUserRepository globalUserRepository;
     private final GlobalUserRoleService globalUserRoleService;
+    private final PrivilegeCache        privilegeCache;
 
     public GlobalUserService(
             ModelMapper modelMapper,
             AuthService auth,
             GlobalUserRepository globalUserRepository,
-            GlobalUserRoleService globalUserRoleService
+            GlobalUserRoleService globalUserRoleService,
+            PrivilegeCache privilegeCache
     ) {
         super(globalUserRepository, modelMapper, GlobalUserEntity.class, GlobalUser.class);
         this.auth = auth;
         this.globalUserRepository = globalUserRepository;
         this.globalUserRoleService = globalUserRoleService;
+        this.privilegeCache = privilegeCache;
     }
 
     public List<GlobalUser> getAllGlobalUsers() {
@@ -61,20 +65,27 @@ public class GlobalUserService extends AbstractCrudService<UUID, GlobalUserEntit
     public GlobalUser grantRole(UUID userId, String roleName) {
         GlobalUserRoleEntity roleEntity = globalUserRoleService.getGlobalUserRoleEntity(roleName);
 
-        return update(userId, user -> user.getRoles().add(roleEntity));
+        GlobalUser user = update(userId, userEntity -> userEntity.getRoles().add(roleEntity));
+        privilegeCache.evictGlobalPrivileges(userId);
+        return user;
     }
 
     @PreAuthorize("@auth.hasPrivilegesOfGlobalRole(#roleName) and @auth.hasPrivilege(@globalPrivileges.CHANGE_ROLES)")
     public GlobalUser revokeRole(UUID userId, String roleName) {
         GlobalUserRoleEntity roleEntity = globalUserRoleService.getGlobalUserRoleEntity(roleName);
 
-        return update(userId, user -> user.getRoles().remove(roleEntity));
+        GlobalUser user = update(userId, userEntity -> userEntity.getRoles().remove(roleEntity));
+        privilegeCache.evictGlobalPrivileges(userId);
+        return user;
     }
 
     public GlobalUser registerNewUser(CreateGlobalUserInput input) {
         globalUserRepository.requireNotExists(auth.getCurrentUserId());
 
-        return create(() -> initNewUser(input));
+        GlobalUser user = create(() -> initNewUser(input));
+        // the user might have been checked before registering
+        privilegeCache.evictGlobalPrivileges(user.getId());
+        return user;
     }
 
     @PreAuthorize("@auth.currentUserId.equals(#id) or @auth.hasPrivilege(@globalPrivileges.UPDATE_USER)")
@@ -5,6 +5,7 @@ import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjec
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.GlobalUserRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.ProjectRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserInProjectRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.PrivilegeCache;
 import de.unistuttgart.iste.meitrex.scrumgame.service.role.ProjectRoleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,7 @@ public class UserInProjectInitializerService {
     private final UserInProjectRepository userInProjectRepository;
 
     private final ProjectRoleService userRoleInProjectService;
+    private final PrivilegeCache     privilegeCache;
 
     public UserInProjectEntity createUserInProject(UUID userId, UUID projectId) {
         UserInProjectEntity userInProjectEntity = UserInProjectEntity.builder()
@@ -29,6 +31,8 @@ public class UserInProjectInitializerService {
                 .build();
 
         userInProjectRepository.save(userInProjectEntity);
+        // the user might have been checked before joining the project
+        privilegeCache.evictProjectPrivileges(userId, projectId);
 
         return userInProjectEntity;
     }
@@ -39,7 +43,9 @@ public class UserInProjectInitializerService {
 
         userInProjectEntity.getRoles().add(userRoleInProjectService.getRoleEntity(projectId, roleName));
 
-        return userInProjectRepository.save(userInProjectEntity);
+        UserInProjectEntity savedEntity = userInProjectRepository.save(userInProjectEntity);
+        privilegeCache.evictProjectPrivileges(userId, projectId);
+        return savedEntity;
     }
 
 }
@@ -0,0 +1,128 @@
+package de.unistuttgart.iste.meitrex.scrumgame.config;
+
+import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.rulesengine.EventTypeRegistry;
+import de.unistuttgart.iste.meitrex.rulesengine.Rule;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules.MeetingXpRule;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules.PullRequestXpRule;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules.RuleDispatcher;
+import de.unistuttgart.iste.meitrex.scrumgame.service.gamification.rules.RuleIds;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GamificationConfigurationTest {
+
+    private final EventTypeRegistry eventTypeRegistry = mock(EventTypeRegistry.class);
+
+    @Test
+    void testRuleIdsAreStable() {
+        // Act & Assert
+        assertThat(RuleIds.of(MeetingXpRule.class), is(RuleIds.of(MeetingXpRule.class)));
+        assertThat(RuleIds.of(MeetingXpRule.class), is(not(RuleIds.of(PullRequestXpRule.class))));
+    }
+
+    @Test
+    void testRulesAreIndexedByEventType() {
+        // Arrange
+        Rule issueRule = rule(UUID.randomUUID(), "ISSUE_COMPLETED", "ISSUE_CREATED");
+        Rule commentRule = rule(UUID.randomUUID(), "COMMENT_ON_ISSUE", "ISSUE_COMPLETED");
+
+        // Act
+        Map<String, List<Rule>> index = GamificationConfiguration.indexRulesByEventType(
+                List.of(issueRule, commentRule), eventTypeRegistry);
+
+        // Assert
+        assertThat(index.get("ISSUE_COMPLETED"), contains(issueRule, commentRule));
+        assertThat(index.get("ISSUE_CREATED"), contains(issueRule));
+        assertThat(index.get("COMMENT_ON_ISSUE"), contains(commentRule));
+        assertThat(index, not(hasKey("USER_MESSAGE")));
+    }
+
+    @Test
+    void testRulesWithSameIdAreRejected() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        List<Rule> rules = List.of(rule(id, "ISSUE_CREATED"), rule(id, "ISSUE_COMPLETED"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> GamificationConfiguration.indexRulesByEventType(rules, eventTypeRegistry));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEventsAreOnlyDispatchedToRulesOfTheirEventType() {
+        // Arrange
+        EventPublisher<Event, CreateEventInput> eventPublisher = mock(EventPublisher.class);
+        Event event = DefaultEvent.builder()
+                .setId(UUID.randomUUID())
+                .setEventType((DefaultEventType) ImsEventTypes.ISSUE_CREATED)
+                .build();
+        CreateEventInput followUpEvent = CreateEventInput.builder()
+                .setEventTypeIdentifier(ImsEventTypes.ISSUE_CREATED.getIdentifier())
+                .build();
+        Rule issueRule = rule(UUID.randomUUID(), ImsEventTypes.ISSUE_CREATED.getIdentifier());
+        when(issueRule.checkCondition(event)).thenReturn(true);
+        when(issueRule.executeAction(event)).thenReturn(Optional.of(followUpEvent));
+        Rule commentRule = rule(UUID.randomUUID(), ImsEventTypes.COMMENT_ON_ISSUE.getIdentifier());
+        RuleDispatcher ruleDispatcher = new RuleDispatcher(GamificationConfiguration.indexRulesByEventType(
+                List.of(issueRule, commentRule), eventTypeRegistry), eventPublisher);
+
+        // Act
+        boolean matched = ruleDispatcher.checkCondition(event);
+        Optional<CreateEventInput> result = ruleDispatcher.executeAction(event);
+
+        // Assert
+        assertThat(matched, is(true));
+        assertThat(result.isEmpty(), is(true));
+        verify(eventPublisher).publishEvent(followUpEvent);
+        verify(commentRule, never()).checkCondition(any());
+        verify(commentRule, never()).executeAction(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRuleFailureIsRethrownAfterOtherRulesWereApplied() {
+        // Arrange
+        EventPublisher<Event, CreateEventInput> eventPublisher = mock(EventPublisher.class);
+        Event event = DefaultEvent.builder()
+                .setId(UUID.randomUUID())
+                .setEventType((DefaultEventType) ImsEventTypes.ISSUE_CREATED)
+                .build();
+        IllegalStateException failure = new IllegalStateException("rule failed");
+        Rule failingRule = rule(UUID.randomUUID(), ImsEventTypes.ISSUE_CREATED.getIdentifier());
+        when(failingRule.checkCondition(event)).thenReturn(true);
+        when(failingRule.executeAction(event)).thenThrow(failure);
+        Rule otherRule = rule(UUID.randomUUID(), ImsEventTypes.ISSUE_CREATED.getIdentifier());
+        when(otherRule.checkCondition(event)).thenReturn(true);
+        when(otherRule.executeAction(event)).thenReturn(Optional.empty());
+        RuleDispatcher ruleDispatcher = new RuleDispatcher(GamificationConfiguration.indexRulesByEventType(
+                List.of(failingRule, otherRule), eventTypeRegistry), eventPublisher);
+
+        // Act
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> ruleDispatcher.executeAction(event));
+
+        // Assert
+        assertThat(thrown, is(sameInstance(failure)));
+        verify(otherRule).executeAction(event);
+    }
+
+    private static Rule rule(UUID id, String... triggerEventTypes) {
+        Rule rule = mock(Rule.class);
+        when(rule.getId()).thenReturn(id);
+        when(rule.getTriggerEventTypeIdentifiers()).thenReturn(List.of(triggerEventTypes));
+        return rule;
+    }
+}
@@ -0,0 +1,125 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
+
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity.EventFeedEntryId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Runs the native feed queries and inserts against the PostgreSQL test container. The feed of a user is merged from the entries
+ * of the project and of all projects, each for the user and for everyone.
+ */
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventFeedEntryRepositoryTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private EventFeedEntryRepository feedRepository;
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID userId    = UUID.randomUUID();
+
+    private final List<EventFeedEntryEntity> insertedEntries = new ArrayList<>();
+
+    private UUID privateEvent;
+    private UUID publicEvent;
+    private UUID globalPrivateEvent;
+    private UUID globalPublicEvent;
+
+    @BeforeEach
+    void setUp() {
+        // the events of the four single feeds alternate, so the merged feed has to be sorted again
+        privateEvent = insertEntry(projectId, userId, 4);
+        publicEvent = insertEntry(projectId, EventFeedEntryEntity.EVERYONE, 3);
+        globalPrivateEvent = insertEntry(EventFeedEntryEntity.ALL_PROJECTS, userId, 2);
+        globalPublicEvent = insertEntry(EventFeedEntryEntity.ALL_PROJECTS, EventFeedEntryEntity.EVERYONE, 1);
+
+        // not in the feed of the user
+        insertEntry(projectId, UUID.randomUUID(), 5);
+        insertEntry(UUID.randomUUID(), userId, 5);
+    }
+
+    // entries of all projects are in the feeds of every project, so they must not be seen by other tests
+    @AfterEach
+    void tearDown() {
+        feedRepository.deleteAll(insertedEntries);
+    }
+
+    @Test
+    void testFeedIsMergedFromProjectAndGlobalEntriesNewestFirst() {
+        // Act
+        List<UUID> eventIds = feedRepository.findEventIdsForUser(projectId, userId,
+                EventFeedEntryEntity.EVERYONE, EventFeedEntryEntity.ALL_PROJECTS, PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(eventIds, contains(privateEvent, publicEvent, globalPrivateEvent, globalPublicEvent));
+    }
+
+    @Test
+    void testOffsetSkipsEventsOfPreviousPages() {
+        // Act
+        List<UUID> eventIds = feedRepository.findEventIdsForUser(projectId, userId,
+                EventFeedEntryEntity.EVERYONE, EventFeedEntryEntity.ALL_PROJECTS, PageRequest.of(1, 2));
+
+        // Assert
+        assertThat(eventIds, contains(globalPrivateEvent, globalPublicEvent));
+    }
+
+    @Test
+    void testEventsAfterPositionAreOlder() {
+        // Act
+        List<UUID> eventIds = feedRepository.findEventIdsForUserAfter(projectId, userId,
+                EventFeedEntryEntity.EVERYONE, EventFeedEntryEntity.ALL_PROJECTS,
+                START.plusMinutes(3), publicEvent, PageRequest.of(0, 1));
+
+        // Assert
+        assertThat(eventIds, contains(globalPrivateEvent));
+    }
+
+    @Test
+    void testInsertAllIfAbsentInsertsNewEntriesAndKeepsExistingEntries() {
+        // Arrange
+        EventFeedEntryId existingId = new EventFeedEntryId(projectId, userId, privateEvent);
+        EventFeedEntryId newId = new EventFeedEntryId(projectId, userId, UUID.randomUUID());
+
+        // Act
+        feedRepository.insertAllIfAbsent(List.of(
+                EventFeedEntryEntity.builder().id(existingId).timestamp(START).build(),
+                EventFeedEntryEntity.builder().id(newId).timestamp(START.plusMinutes(6)).build()));
+        EventFeedEntryEntity existing = feedRepository.findById(existingId).orElseThrow();
+        EventFeedEntryEntity inserted = feedRepository.findById(newId).orElseThrow();
+        insertedEntries.add(inserted);
+
+        // Assert
+        assertThat(existing.getTimestamp().isEqual(START.plusMinutes(4)), is(true));
+        assertThat(inserted.getTimestamp().isEqual(START.plusMinutes(6)), is(true));
+    }
+
+    private UUID insertEntry(UUID entryProjectId, UUID audienceUserId, int minutesAfterStart) {
+        UUID eventId = UUID.randomUUID();
+        insertedEntries.add(feedRepository.save(EventFeedEntryEntity.builder()
+                .id(new EventFeedEntryId(entryProjectId, audienceUserId, eventId))
+                .timestamp(START.plusMinutes(minutesAfterStart))
+                .build()));
+        return eventId;
+    }
+}
@@ -0,0 +1,111 @@
+package de.unistuttgart.iste.meitrex.scrumgame.persistence.repository;
+
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Runs the native upsert and the conditional update against the PostgreSQL test container. Each statement runs in
+ * its own transaction, like in the application.
+ */
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserStatsRepositoryTest {
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    private final UserProjectId userProjectId = new UserProjectId(UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    void testIncrementInsertsAndThenIncrementsStats() {
+        // Act
+        userStatsRepository.increment(userProjectId,
+                UserStatsIncrement.builder().issuesCompleted(1).virtualCurrency(5).build());
+        UserStatsEntity inserted = userStatsRepository.findById(userProjectId).orElseThrow();
+
+        userStatsRepository.increment(userProjectId, UserStatsIncrement.builder().issuesCompleted(2).build());
+        UserStatsEntity incremented = userStatsRepository.findById(userProjectId).orElseThrow();
+
+        // Assert
+        assertThat(inserted.getIssuesCompleted(), is(1));
+        assertThat(inserted.getVirtualCurrency(), is(5));
+        assertThat(inserted.getLevel(), is(0));
+        assertThat(incremented.getIssuesCompleted(), is(3));
+        assertThat(incremented.getVirtualCurrency(), is(5));
+    }
+
+    @Test
+    void testConcurrentIncrementsAreNotLost() throws Exception {
+        // Arrange
+        int threadCount = 8;
+        int incrementsPerThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Object>> increments = IntStream.range(0, threadCount)
+                .mapToObj(i -> Executors.callable(() -> {
+                    awaitUninterruptibly(start);
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        userStatsRepository.increment(userProjectId,
+                                UserStatsIncrement.builder().commentsWritten(1).build());
+                    }
+                }))
+                .toList();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadCount)) {
+            List<Future<Object>> results = increments.stream().map(executor::submit).toList();
+            // the first increments of all threads insert the same row at the same time
+            start.countDown();
+            for (Future<Object> result : results) {
+                result.get();
+            }
+        }
+
+        // Assert
+        assertThat(userStatsRepository.findById(userProjectId).orElseThrow().getCommentsWritten(),
+                is(threadCount * incrementsPerThread));
+    }
+
+    @Test
+    void testSpendWithInsufficientFundsDoesNotChangeCurrency() {
+        // Arrange
+        userStatsRepository.increment(userProjectId, UserStatsIncrement.builder().virtualCurrency(10).build());
+
+        // Act
+        int updatedWithInsufficientFunds = userStatsRepository.subtractVirtualCurrencyIfSufficient(
+                userProjectId.getUserId(), userProjectId.getProjectId(), 11);
+        int currencyAfterFailedSpend = userStatsRepository.findById(userProjectId).orElseThrow()
+                .getVirtualCurrency();
+        boolean spent = userStatsRepository.spendVirtualCurrency(userProjectId, 10);
+
+        // Assert
+        assertThat(updatedWithInsufficientFunds, is(0));
+        assertThat(currencyAfterFailedSpend, is(10));
+        assertThat(spent, is(true));
+        assertThat(userStatsRepository.findById(userProjectId).orElseThrow().getVirtualCurrency(), is(0));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -10,11 +10,13 @@ import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjec
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.GlobalUserRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserInProjectRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthService;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.PrivilegeCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -24,6 +26,7 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -40,6 +43,8 @@ class AuthServiceTest {
     private GlobalUserRepository globalUserRepository;
     @Mock
     private UserInProjectRepository userInProjectRepository;
+    @Spy
+    private PrivilegeCache privilegeCache = new PrivilegeCache(Duration.ofSeconds(60));
 
     @InjectMocks
     private AuthService authService;
@@ -138,6 +143,32 @@ class AuthServiceTest {
         verify(userInProjectRepository, atLeastOnce()).findById(new UserProjectId(userId, projectId));
     }
 
+    @Test
+    void testProjectPrivilegesAreCachedUntilEvicted() {
+        UUID userId = UUID.randomUUID();
+        UUID projectId = UUID.randomUUID();
+        injectJwtMockWithUserId(userId);
+
+        when(userInProjectRepository.findById(new UserProjectId(userId, projectId)))
+                .thenReturn(Optional.of(UserInProjectEntity.builder()
+                        .id(new UserProjectId(userId, projectId))
+                        .roles(List.of(ProjectRoleEntity.builder()
+                                .projectPrivileges(List.of(ProjectPrivilege.UPDATE_PROJECT))
+                                .build()))
+                        .build()));
+
+        assertThat(authService.hasPrivilege(ProjectPrivilege.UPDATE_PROJECT, projectId), is(true));
+        assertThat(authService.hasPrivilege(ProjectPrivilege.CREATE_SPRINT, projectId), is(false));
+
+        verify(userInProjectRepository, times(1)).findById(new UserProjectId(userId, projectId));
+
+        privilegeCache.evictProjectPrivileges(projectId);
+
+        assertThat(authService.hasPrivilege(ProjectPrivilege.UPDATE_PROJECT, projectId), is(true));
+
+        verify(userInProjectRepository, times(2)).findById(new UserProjectId(userId, projectId));
+    }
+
     private Jwt injectJwtMockWithUserId(UUID userId) {
         Jwt jwt = mock(Jwt.class);
         when(jwt.getSubject()).thenReturn(userId.toString());
@@ -7,6 +7,9 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -73,4 +76,28 @@ class AuthTokenFromHeaderSupplierTest {
         assertThrows(AccessDeniedException.class, supplier::get);
     }
 
+    @Test
+    void test_propagated_token_is_used_without_request() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(null);
+        AuthTokenFromHeaderSupplier supplier = new AuthTokenFromHeaderSupplier();
+        AtomicReference<String> token = new AtomicReference<>();
+
+        // Act
+        AuthTokenFromHeaderSupplier.runWithToken("propagated_token", () -> token.set(supplier.get()));
+
+        // Assert
+        assertThat(token.get(), equalTo("propagated_token"));
+        assertThrows(IllegalStateException.class, supplier::get);
+    }
+
+    @Test
+    void test_find_current_token_returns_empty_without_request() {
+        // Arrange
+        RequestContextHolder.setRequestAttributes(null);
+
+        // Act and Assert
+        assertThat(AuthTokenFromHeaderSupplier.findCurrentToken(), equalTo(Optional.empty()));
+    }
+
 }
@@ -0,0 +1,101 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.auth;
+
+import de.unistuttgart.iste.meitrex.generated.dto.BasicUserInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingAuthConnectorTest {
+
+    private final AuthConnector        delegate             = mock(AuthConnector.class);
+    private final CachingAuthConnector cachingAuthConnector = new CachingAuthConnector(delegate,
+            Duration.ofMinutes(5), Duration.ofSeconds(30));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testUserIsLoadedOncePerSubject() {
+        // Arrange
+        BasicUserInfo user = BasicUserInfo.builder().setId("user").setIsAdmin(true).build();
+        when(delegate.getUser()).thenReturn(Optional.of(user));
+        injectJwt("user", Instant.now().plus(Duration.ofHours(1)));
+
+        // Act
+        Optional<BasicUserInfo> first = cachingAuthConnector.getUser();
+        Optional<BasicUserInfo> second = cachingAuthConnector.getUser();
+
+        // Assert
+        assertThat(first, is(Optional.of(user)));
+        assertThat(second, is(Optional.of(user)));
+        verify(delegate, times(1)).getUser();
+    }
+
+    @Test
+    void testMissingUserIsCached() {
+        // Arrange
+        when(delegate.getUser()).thenReturn(Optional.empty());
+        injectJwt("unknown", Instant.now().plus(Duration.ofHours(1)));
+
+        // Act
+        cachingAuthConnector.getUser();
+        Optional<BasicUserInfo> user = cachingAuthConnector.getUser();
+
+        // Assert
+        assertThat(user.isPresent(), is(false));
+        verify(delegate, times(1)).getUser();
+    }
+
+    @Test
+    void testUserIsNotCachedBeyondTokenExpiry() {
+        // Arrange
+        when(delegate.getUser()).thenReturn(Optional.of(BasicUserInfo.builder().setId("user").build()));
+        injectJwt("user", Instant.now().minusSeconds(1));
+
+        // Act
+        cachingAuthConnector.getUser();
+        cachingAuthConnector.getUser();
+
+        // Assert
+        verify(delegate, times(2)).getUser();
+    }
+
+    @Test
+    void testUserIsNotCachedWithoutJwt() {
+        // Arrange
+        when(delegate.getUser()).thenReturn(Optional.empty());
+
+        // Act
+        cachingAuthConnector.getUser();
+        cachingAuthConnector.getUser();
+
+        // Assert
+        verify(delegate, times(2)).getUser();
+    }
+
+    private static void injectJwt(String subject, Instant expiresAt) {
+        Jwt jwt = mock(Jwt.class);
+        when(jwt.getSubject()).thenReturn(subject);
+        when(jwt.getExpiresAt()).thenReturn(expiresAt);
+
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new JwtAuthenticationToken(jwt));
+        SecurityContextHolder.setContext(securityContext);
+    }
+}
@@ -0,0 +1,38 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        // Arrange
+        EventCursor cursor = new EventCursor(
+                OffsetDateTime.of(2024, 5, 17, 13, 45, 12, 123456000, ZoneOffset.ofHours(2)),
+                UUID.randomUUID());
+
+        // Act
+        EventCursor decoded = EventCursor.decode(cursor.encode());
+
+        // Assert
+        assertThat(decoded, is(cursor));
+    }
+
+    @Test
+    void testDecodeNull() {
+        assertThat(EventCursor.decode(null), is(nullValue()));
+    }
+
+    @Test
+    void testDecodeInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> EventCursor.decode("not a cursor"));
+    }
+}
@@ -0,0 +1,98 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.EventVisibility;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventFeedEntryEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class EventFeedServiceTest {
+
+    private final UUID projectId = UUID.randomUUID();
+
+    @Test
+    void testPublicEventHasSingleEntryForEveryone() {
+        // Arrange
+        EventEntity event = EventEntity.builder()
+                .projectId(projectId)
+                .userId(UUID.randomUUID())
+                .timestamp(OffsetDateTime.now())
+                .visibility(EventVisibility.PUBLIC)
+                .build();
+
+        // Act
+        List<EventFeedEntryEntity> entries = EventFeedService.createFeedEntries(event);
+
+        // Assert
+        assertThat(entries, hasSize(1));
+        assertThat(entries.getFirst().getId().getProjectId(), is(projectId));
+        assertThat(entries.getFirst().getId().getAudienceUserId(), is(EventFeedEntryEntity.EVERYONE));
+        assertThat(entries.getFirst().getId().getEventId(), is(event.getId()));
+        assertThat(entries.getFirst().getTimestamp(), is(event.getTimestamp()));
+    }
+
+    @Test
+    void testPrivateEventHasEntryPerDistinctUser() {
+        // Arrange
+        UUID owner = UUID.randomUUID();
+        UUID otherUser = UUID.randomUUID();
+        EventEntity event = EventEntity.builder()
+                .projectId(projectId)
+                .userId(owner)
+                .timestamp(OffsetDateTime.now())
+                .visibility(EventVisibility.PRIVATE)
+                .visibleToUserIds(new ArrayList<>(List.of(owner, otherUser)))
+                .build();
+
+        // Act
+        List<EventFeedEntryEntity> entries = EventFeedService.createFeedEntries(event);
+
+        // Assert
+        assertThat(entries.stream().map(entry -> entry.getId().getAudienceUserId()).toList(),
+                containsInAnyOrder(owner, otherUser));
+    }
+
+    @Test
+    void testGlobalEventHasSingleEntryForAllProjects() {
+        // Arrange
+        EventEntity event = EventEntity.builder()
+                .timestamp(OffsetDateTime.now())
+                .visibility(EventVisibility.PUBLIC)
+                .build();
+
+        // Act
+        List<EventFeedEntryEntity> entries = EventFeedService.createFeedEntries(event);
+
+        // Assert
+        assertThat(entries, hasSize(1));
+        assertThat(entries.getFirst().getId().getProjectId(), is(EventFeedEntryEntity.ALL_PROJECTS));
+    }
+
+    @Test
+    void testChildAndInternalEventsAreNotInFeed() {
+        // Arrange
+        EventEntity parent = EventEntity.builder()
+                .projectId(projectId)
+                .timestamp(OffsetDateTime.now())
+                .build();
+        EventEntity child = EventEntity.builder()
+                .projectId(projectId)
+                .timestamp(OffsetDateTime.now())
+                .parent(parent)
+                .build();
+        EventEntity internal = EventEntity.builder()
+                .projectId(projectId)
+                .timestamp(OffsetDateTime.now())
+                .visibility(EventVisibility.INTERNAL)
+                .build();
+
+        // Act & Assert
+        assertThat(EventFeedService.createFeedEntries(child), is(empty()));
+        assertThat(EventFeedService.createFeedEntries(internal), is(empty()));
+    }
+}
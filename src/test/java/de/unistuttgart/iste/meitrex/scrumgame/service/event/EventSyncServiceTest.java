@@ -0,0 +1,137 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Project;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.events.EventSyncStateEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.EventSyncStateRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.service.ims.ImsService;
+import de.unistuttgart.iste.meitrex.scrumgame.service.project.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventSyncServiceTest {
+
+    @Mock
+    private ImsService imsService;
+
+    @Mock
+    private EventIngestionService eventIngestionService;
+
+    @Mock
+    private EventSyncStateRepository syncStateRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @InjectMocks
+    private EventSyncService eventSyncService;
+
+    private final Project project = Project.builder().setId(UUID.randomUUID()).build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(eventSyncService, "minSyncInterval", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(eventSyncService, "serviceToken", "service-token");
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneSync() throws Exception {
+        // Arrange
+        CountDownLatch imsCalled = new CountDownLatch(1);
+        CountDownLatch releaseIms = new CountDownLatch(1);
+        when(syncStateRepository.findById(project.getId())).thenReturn(Optional.empty());
+        when(imsService.getEventsForProject(eq(project), any())).thenAnswer(invocation -> {
+            imsCalled.countDown();
+            releaseIms.await();
+            return List.of();
+        });
+        when(eventIngestionService.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<Void> firstSync = eventSyncService.requestSync(project);
+        imsCalled.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> secondSync = eventSyncService.requestSync(project);
+        releaseIms.countDown();
+        firstSync.get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(secondSync, is(sameInstance(firstSync)));
+        verify(imsService, times(1)).getEventsForProject(eq(project), any());
+        verify(syncStateRepository).save(argThat(state -> state.getId().equals(project.getId())));
+    }
+
+    @Test
+    void testNoSyncIfPersistedWatermarkIsRecent() {
+        // Arrange
+        when(syncStateRepository.findById(project.getId()))
+                .thenReturn(Optional.of(new EventSyncStateEntity(project.getId(), OffsetDateTime.now())));
+
+        // Act
+        CompletableFuture<Void> sync = eventSyncService.requestSync(project);
+
+        // Assert
+        assertThat(sync.isDone(), is(true));
+        verify(imsService, never()).getEventsForProject(any(), any());
+    }
+
+    @Test
+    void testSyncStartsAtPersistedWatermark() throws Exception {
+        // Arrange
+        OffsetDateTime watermark = OffsetDateTime.now().minusHours(1);
+        when(syncStateRepository.findById(project.getId()))
+                .thenReturn(Optional.of(new EventSyncStateEntity(project.getId(), watermark)));
+        when(imsService.getEventsForProject(project, watermark)).thenReturn(List.of());
+        when(eventIngestionService.submit(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        eventSyncService.requestSync(project).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(imsService).getEventsForProject(project, watermark);
+        verify(syncStateRepository).save(argThat(state -> state.getLastSyncedAt().isAfter(watermark)));
+    }
+
+    @Test
+    void testSameEventsAreFetchedAgainIfPersistingFails() throws Exception {
+        // Arrange
+        OffsetDateTime watermark = OffsetDateTime.now().minusHours(1);
+        when(syncStateRepository.findById(project.getId()))
+                .thenReturn(Optional.of(new EventSyncStateEntity(project.getId(), watermark)));
+        when(imsService.getEventsForProject(project, watermark))
+                .thenReturn(List.of(CreateEventInput.builder().setProjectId(project.getId()).build()));
+        when(eventIngestionService.submit(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("database not available")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        CompletableFuture<Void> failedSync = eventSyncService.requestSync(project);
+        assertThrows(ExecutionException.class, () -> failedSync.get(5, TimeUnit.SECONDS));
+        eventSyncService.requestSync(project).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(imsService, times(2)).getEventsForProject(project, watermark);
+        verify(syncStateRepository, times(1)).save(any());
+    }
+}
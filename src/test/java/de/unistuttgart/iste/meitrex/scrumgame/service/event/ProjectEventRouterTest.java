@@ -0,0 +1,108 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.event;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.DefaultEvent;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.generated.dto.EventVisibility;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjectEventRouterTest {
+
+    @SuppressWarnings("unchecked")
+    private final EventPublisher<Event, CreateEventInput> eventPublisher = mock(EventPublisher.class);
+    private final Sinks.Many<Event>                       eventStream    = Sinks.many().multicast().directBestEffort();
+
+    private final ProjectEventRouter projectEventRouter = new ProjectEventRouter(eventPublisher);
+
+    private final UUID projectId      = UUID.randomUUID();
+    private final UUID otherProjectId = UUID.randomUUID();
+    private final UUID userId         = UUID.randomUUID();
+    private final UUID otherUserId    = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(eventPublisher.getEventStream()).thenReturn(eventStream.asFlux());
+        projectEventRouter.subscribeToEvents();
+    }
+
+    @Test
+    void testEventsAreOnlyDeliveredToSubscribersOfTheProject() {
+        // Arrange
+        List<Event> received = new CopyOnWriteArrayList<>();
+        List<Event> receivedInOtherProject = new CopyOnWriteArrayList<>();
+        projectEventRouter.getEvents(projectId, userId).subscribe(received::add);
+        projectEventRouter.getEvents(otherProjectId, userId).subscribe(receivedInOtherProject::add);
+        Event event = event(projectId, EventVisibility.PUBLIC, otherUserId, List.of());
+
+        // Act
+        eventStream.tryEmitNext(event);
+
+        // Assert
+        assertThat(received, contains(event));
+        assertThat(receivedInOtherProject, is(empty()));
+    }
+
+    @Test
+    void testPrivateEventsAreOnlyDeliveredToTheirAudience() {
+        // Arrange
+        UUID visibleToUserId = UUID.randomUUID();
+        List<Event> receivedByAuthor = new CopyOnWriteArrayList<>();
+        List<Event> receivedByVisibleTo = new CopyOnWriteArrayList<>();
+        List<Event> receivedByOther = new CopyOnWriteArrayList<>();
+        projectEventRouter.getEvents(projectId, userId).subscribe(receivedByAuthor::add);
+        projectEventRouter.getEvents(projectId, visibleToUserId).subscribe(receivedByVisibleTo::add);
+        projectEventRouter.getEvents(projectId, otherUserId).subscribe(receivedByOther::add);
+        Event event = event(projectId, EventVisibility.PRIVATE, userId, List.of(visibleToUserId));
+
+        // Act
+        eventStream.tryEmitNext(event);
+
+        // Assert
+        assertThat(receivedByAuthor, contains(event));
+        assertThat(receivedByVisibleTo, contains(event));
+        assertThat(receivedByOther, is(empty()));
+    }
+
+    @Test
+    void testTopicIsRemovedWhenLastSubscriptionIsCancelled() {
+        // Arrange
+        List<Event> received = new CopyOnWriteArrayList<>();
+        Disposable first = projectEventRouter.getEvents(projectId, userId).subscribe();
+        Disposable second = projectEventRouter.getEvents(projectId, userId).subscribe(received::add);
+
+        // Act
+        first.dispose();
+        eventStream.tryEmitNext(event(projectId, EventVisibility.PUBLIC, otherUserId, List.of()));
+        int subscribedUsersAfterFirstCancel = projectEventRouter.getSubscribedUserCount(projectId);
+        second.dispose();
+
+        // Assert
+        assertThat(received.size(), is(1));
+        assertThat(subscribedUsersAfterFirstCancel, is(1));
+        assertThat(projectEventRouter.getSubscribedUserCount(projectId), is(0));
+    }
+
+    private static Event event(UUID projectId, EventVisibility visibility, UUID userId, List<UUID> visibleTo) {
+        return DefaultEvent.builder()
+                .setId(UUID.randomUUID())
+                .setProjectId(projectId)
+                .setVisibility(visibility)
+                .setUserId(userId)
+                .setVisibleToUserIds(visibleTo)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification;
+
+import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
+import de.unistuttgart.iste.meitrex.generated.dto.AchievementProgress;
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.rulesengine.util.DefaultEventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.gamification.AchievementEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.gamification.AchievementProgressEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.gamification.AchievementProgressEntity.AchievementProgressId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.AchievementProgressRepository;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.AchievementRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AchievementServiceTest {
+
+    @Mock
+    private AchievementProgressRepository achievementProgressRepository;
+    @Mock
+    private AchievementRepository         achievementRepository;
+    @Spy
+    private AchievementRegistry           achievementRegistry = new AchievementRegistry();
+    @Mock
+    private DefaultEventPublisher         eventPublisher;
+    @Mock
+    private ModelMapper                   modelMapper;
+
+    @InjectMocks
+    private AchievementService achievementService;
+
+    private final UserProjectId userProjectId = new UserProjectId(UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    void testEventIsPublishedWhenGoalIsReached() {
+        // Arrange
+        List<String> achievementIds = List.of(DefaultAchievements.ACHIEVEMENT_FIRST_STEPS.getId(),
+                DefaultAchievements.ACHIEVEMENT_REVIEWER.getId());
+        // first steps has a goal of 1, reviewer a goal of 10
+        when(achievementProgressRepository.incrementProgress(userProjectId.getUserId(), userProjectId.getProjectId(),
+                achievementIds, 1))
+                .thenReturn(Map.of(
+                        DefaultAchievements.ACHIEVEMENT_FIRST_STEPS.getId(), 1,
+                        DefaultAchievements.ACHIEVEMENT_REVIEWER.getId(), 5));
+
+        // Act
+        achievementService.logAchievementProgress(userProjectId, achievementIds, 1);
+
+        // Assert
+        ArgumentCaptor<CreateEventInput> event = ArgumentCaptor.forClass(CreateEventInput.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getEventData().getFirst().getValue(),
+                is(DefaultAchievements.ACHIEVEMENT_FIRST_STEPS.getName()));
+    }
+
+    @Test
+    void testNoEventIsPublishedWhenGoalWasReachedBefore() {
+        // Arrange
+        String achievementId = DefaultAchievements.ACHIEVEMENT_FIRST_STEPS.getId();
+        when(achievementProgressRepository.incrementProgress(userProjectId.getUserId(), userProjectId.getProjectId(),
+                List.of(achievementId), 1))
+                .thenReturn(Map.of(achievementId, 2));
+
+        // Act
+        achievementService.logAchievementProgress(userProjectId, achievementId, 1);
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any(CreateEventInput.class));
+    }
+
+    @Test
+    void testProgressOfSeveralUsersIsLoadedWithOneQuery() {
+        // Arrange
+        UserProjectId otherUserProjectId = new UserProjectId(UUID.randomUUID(), userProjectId.getProjectId());
+        AchievementEntity firstSteps = DefaultAchievements.ACHIEVEMENT_FIRST_STEPS;
+        when(achievementProgressRepository.findAllForUsersInProjects(any(), any()))
+                .thenReturn(List.of(AchievementProgressEntity.builder()
+                        .setId(new AchievementProgressId(firstSteps.getId(),
+                                userProjectId.getProjectId(), userProjectId.getUserId()))
+                        .setAchievement(firstSteps)
+                        .setProgress(1)
+                        .build()));
+        when(modelMapper.map(any(AchievementProgressEntity.class), eq(AchievementProgress.class)))
+                .thenAnswer(invocation -> AchievementProgress.builder()
+                        .setProgress(invocation.<AchievementProgressEntity>getArgument(0).getProgress())
+                        .build());
+
+        // Act
+        Map<UserProjectId, List<AchievementProgress>> result
+                = achievementService.getForUsersInProjects(List.of(userProjectId, otherUserProjectId));
+
+        // Assert
+        int indexOfFirstSteps = achievementRegistry.getAchievements().indexOf(firstSteps);
+        assertThat(result.get(userProjectId), hasSize(achievementRegistry.getAchievements().size()));
+        assertThat(result.get(userProjectId).get(indexOfFirstSteps).getProgress(), is(1));
+        assertThat(result.get(otherUserProjectId).get(indexOfFirstSteps).getProgress(), is(0));
+
+        verify(achievementProgressRepository, times(1)).findAllForUsersInProjects(
+                Set.of(userProjectId.getUserId(), otherUserProjectId.getUserId()),
+                Set.of(userProjectId.getProjectId()));
+    }
+
+    @Test
+    void testUnknownAchievementIsRejected() {
+        // Act & Assert
+        assertThrows(MeitrexNotFoundException.class,
+                () -> achievementService.logAchievementProgress(userProjectId, "UNKNOWN", 1));
+
+        verifyNoInteractions(achievementProgressRepository);
+    }
+}
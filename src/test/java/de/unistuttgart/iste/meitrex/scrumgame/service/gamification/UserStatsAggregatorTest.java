@@ -0,0 +1,98 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification;
+
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserStatsIncrement;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class UserStatsAggregatorTest {
+
+    private final UserStatsRepository userStatsRepository = mock(UserStatsRepository.class);
+    private final UserStatsAggregator userStatsAggregator = new UserStatsAggregator(userStatsRepository);
+
+    private final UserProjectId userProjectId = new UserProjectId(UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    void testConcurrentIncrementsAreWrittenAsOneIncrement() throws Exception {
+        // Arrange
+        UserStatsIncrement reaction = UserStatsIncrement.builder().reactionsGiven(1).build();
+        List<Callable<Object>> increments = IntStream.range(0, 1000)
+                .mapToObj(i -> Executors.callable(() -> userStatsAggregator.add(userProjectId, reaction)))
+                .toList();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.invokeAll(increments);
+        }
+
+        // Act
+        userStatsAggregator.flush();
+
+        // Assert
+        verify(userStatsRepository, times(1))
+                .increment(userProjectId, UserStatsIncrement.builder().reactionsGiven(1000).build());
+        assertThat(userStatsAggregator.getPending(userProjectId).isEmpty(), is(true));
+    }
+
+    @Test
+    void testPendingIncrementsAreKeptIfWriteFails() {
+        // Arrange
+        UserStatsIncrement comment = UserStatsIncrement.builder().commentsWritten(1).build();
+        userStatsAggregator.add(userProjectId, comment);
+        doThrow(new IllegalStateException("database not available"))
+                .when(userStatsRepository).increment(any(), any());
+
+        // Act
+        userStatsAggregator.flush();
+
+        // Assert
+        assertThat(userStatsAggregator.getPending(userProjectId), is(comment));
+    }
+
+    @Test
+    void testIncrementIsNotPendingWhileItIsWritten() {
+        // Arrange
+        UserStatsIncrement comment = UserStatsIncrement.builder().commentsWritten(1).build();
+        userStatsAggregator.add(userProjectId, comment);
+        List<UserStatsIncrement> pendingWhileWriting = new ArrayList<>();
+        doAnswer(invocation -> pendingWhileWriting.add(userStatsAggregator.getPending(userProjectId)))
+                .when(userStatsRepository).increment(any(), any());
+
+        // Act
+        userStatsAggregator.flush();
+        userStatsAggregator.add(userProjectId, comment);
+        userStatsAggregator.flush();
+
+        // Assert
+        // otherwise the increment would be counted twice by reads after the write committed
+        assertThat(pendingWhileWriting, contains(UserStatsIncrement.builder().build(),
+                UserStatsIncrement.builder().build()));
+        // the second flush only writes the increment added after the first flush
+        verify(userStatsRepository, times(2)).increment(userProjectId, comment);
+    }
+
+    @Test
+    void testNothingIsWrittenWithoutIncrements() {
+        // Arrange
+        userStatsAggregator.add(userProjectId, UserStatsIncrement.builder().build());
+
+        // Act
+        userStatsAggregator.flush();
+
+        // Assert
+        verify(userStatsRepository, never()).increment(any(), any());
+    }
+}
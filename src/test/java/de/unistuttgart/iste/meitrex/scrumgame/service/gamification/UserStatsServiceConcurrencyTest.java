@@ -0,0 +1,154 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.gamification;
+
+import de.unistuttgart.iste.meitrex.scrumgame.config.ModelMapperConfiguration;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.user.UserProjectId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.UserStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Checks that concurrent updates of the stats of the same user are applied one after another, so no update is lost,
+ * and that transactions updating the stats of several users in different orders do not wait for each other forever.
+ * Runs against the PostgreSQL test container, as the stats are locked in the database.
+ */
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserStatsServiceConcurrencyTest {
+
+    private static final int USER_COUNT       = 4;
+    private static final int UPDATES_PER_USER = 25;
+    private static final int THREAD_COUNT     = 8;
+
+    @Autowired
+    private UserStatsRepository        userStatsRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserStatsService userStatsService;
+
+    @BeforeEach
+    void setUp() {
+        userStatsService = new UserStatsService(userStatsRepository, new ModelMapperConfiguration().modelMapper(),
+                transactionManager, new UserStatsAggregator(userStatsRepository));
+    }
+
+    @Test
+    void testConcurrentUpdatesOfSameUserAreNotLost() throws Exception {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        List<UUID> userIds = IntStream.range(0, USER_COUNT).mapToObj(i -> UUID.randomUUID()).toList();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<Object>> updates = userIds.stream()
+                .flatMap(userId -> IntStream.range(0, UPDATES_PER_USER)
+                        .mapToObj(i -> Executors.callable(() -> {
+                            awaitUninterruptibly(start);
+                            // read-modify-write, which loses updates if they are not applied one after another
+                            userStatsService.updateUserStats(userId, projectId,
+                                    userStats -> userStats.setIssuesCompleted(userStats.getIssuesCompleted() + 1));
+                        })))
+                .toList();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT)) {
+            List<Future<Object>> results = updates.stream().map(executor::submit).toList();
+            start.countDown();
+            for (Future<Object> result : results) {
+                result.get();
+            }
+        }
+
+        // Assert
+        for (UUID userId : userIds) {
+            assertThat(userStatsRepository.findById(new UserProjectId(userId, projectId)).orElseThrow()
+                    .getIssuesCompleted(), is(UPDATES_PER_USER));
+        }
+    }
+
+    @Test
+    void testTransactionsUpdatingUsersInDifferentOrdersDoNotWaitForever() throws Exception {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        UUID firstUserId = UUID.randomUUID();
+        UUID secondUserId = UUID.randomUUID();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // both transactions hold the lock of their first user before they update their second user
+        CyclicBarrier firstUsersLocked = new CyclicBarrier(2);
+
+        Callable<Object> firstToSecond = updateInOneTransaction(transactionTemplate, firstUsersLocked,
+                projectId, firstUserId, secondUserId);
+        Callable<Object> secondToFirst = updateInOneTransaction(transactionTemplate, firstUsersLocked,
+                projectId, secondUserId, firstUserId);
+
+        // Act
+        List<Boolean> succeeded = new ArrayList<>();
+        // not closed with try-with-resources, which would wait forever for hanging transactions
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (Future<Object> result : List.of(executor.submit(firstToSecond), executor.submit(secondToFirst))) {
+                try {
+                    // fails with a TimeoutException if the transactions wait for each other
+                    result.get(30, TimeUnit.SECONDS);
+                    succeeded.add(true);
+                } catch (ExecutionException e) {
+                    // the database aborted this transaction to resolve the deadlock
+                    succeeded.add(false);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertThat(succeeded, hasItem(true));
+    }
+
+    private Callable<Object> updateInOneTransaction(
+            TransactionTemplate transactionTemplate,
+            CyclicBarrier firstUsersLocked,
+            UUID projectId,
+            UUID firstUserId,
+            UUID secondUserId
+    ) {
+        return () -> transactionTemplate.execute(status -> {
+            userStatsService.updateUserStats(firstUserId, projectId, userStats -> userStats.setLevel(1));
+            awaitUninterruptibly(firstUsersLocked);
+            return userStatsService.updateUserStats(secondUserId, projectId, userStats -> userStats.setLevel(1));
+        });
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUninterruptibly(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
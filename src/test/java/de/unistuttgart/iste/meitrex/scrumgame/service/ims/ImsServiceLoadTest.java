@@ -0,0 +1,170 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
+
+import de.unistuttgart.iste.meitrex.generated.dto.Issue;
+import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsAdapter;
+import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventIngestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.stream.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks how many requests the issue lookups send to the IMS under concurrent load. The IMS is simulated with
+ * a stub that counts the requests and blocks them until the test releases them.
+ */
+@ExtendWith(MockitoExtension.class)
+class ImsServiceLoadTest {
+
+    private static final int ISSUE_COUNT         = 8;
+    private static final int LOOKUP_COUNT        = 16;
+    private static final int PERMITS_PER_PROJECT = 4;
+
+    @Mock
+    private ImsAdapterFactory imsAdapterFactory;
+
+    @Mock
+    private EventIngestionService eventIngestionService;
+
+    @Mock
+    private IssueStore issueStore;
+
+    @Spy
+    private ImsRequestLimiter imsRequestLimiter = new ImsRequestLimiter();
+
+    @InjectMocks
+    private ImsService imsService;
+
+    private final UUID           projectId             = UUID.randomUUID();
+    private final ImsAdapter     imsAdapter            = mock(ImsAdapter.class);
+    private final CountDownLatch releaseIms            = new CountDownLatch(1);
+    private final AtomicInteger  imsRequests           = new AtomicInteger();
+    private final AtomicInteger  runningImsRequests    = new AtomicInteger();
+    private final AtomicInteger  maxRunningImsRequests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(imsRequestLimiter, "maxConcurrentRequestsPerProject", PERMITS_PER_PROJECT);
+        ReflectionTestUtils.setField(imsRequestLimiter, "requestTimeout", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testConcurrentLookupsOfSameIssueShareOneImsRequest() throws Exception {
+        // Arrange
+        mockBlockingIms();
+
+        // Act
+        List<Thread> lookups = new ArrayList<>();
+        List<Optional<Issue>> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            lookups.add(Thread.ofPlatform().start(() -> results.add(imsService.findIssue(projectId, "issue"))));
+        }
+        // all lookups wait for the result before the IMS responds
+        for (Thread lookup : lookups) {
+            awaitWaiting(lookup);
+        }
+        releaseIms.countDown();
+        for (Thread lookup : lookups) {
+            lookup.join();
+        }
+
+        // Assert
+        assertThat(imsRequests.get(), is(1));
+        assertThat(results, hasSize(LOOKUP_COUNT));
+        assertThat(results, everyItem(is(Optional.of(Issue.builder().setId("issue").build()))));
+    }
+
+    @Test
+    void testConcurrentImsRequestsAreLimitedPerProject() throws Exception {
+        // Arrange
+        mockBlockingIms();
+        UUID otherProjectId = UUID.randomUUID();
+        ImsAdapter otherImsAdapter = mock(ImsAdapter.class);
+        when(imsAdapterFactory.getImsAdapterForProject(otherProjectId)).thenReturn(otherImsAdapter);
+        when(otherImsAdapter.findIssue("other-issue"))
+                .thenReturn(Optional.of(Issue.builder().setId("other-issue").build()));
+
+        // Act
+        List<Thread> lookups = IntStream.range(0, ISSUE_COUNT)
+                .mapToObj(i -> Thread.ofPlatform().start(() -> imsService.findIssue(projectId, "issue-" + i)))
+                .toList();
+        for (Thread lookup : lookups) {
+            awaitWaiting(lookup);
+        }
+        // the project uses all its permits, but the lookups of other projects do not wait for them
+        Optional<Issue> otherIssue = imsService.findIssue(otherProjectId, "other-issue");
+        int runningWhileBlocked = runningImsRequests.get();
+        releaseIms.countDown();
+        for (Thread lookup : lookups) {
+            lookup.join();
+        }
+
+        // Assert
+        assertThat(otherIssue.isPresent(), is(true));
+        assertThat(runningWhileBlocked, is(lessThanOrEqualTo(PERMITS_PER_PROJECT)));
+        assertThat(maxRunningImsRequests.get(), is(lessThanOrEqualTo(PERMITS_PER_PROJECT)));
+        assertThat(imsRequests.get(), is(ISSUE_COUNT));
+    }
+
+    @Test
+    void testIssuesAreLoadedWithOneBatchedImsRequest() {
+        // Arrange
+        List<String> issueIds = IntStream.range(0, ISSUE_COUNT).mapToObj(i -> "issue-" + i).toList();
+        when(imsAdapterFactory.getImsAdapterForProject(projectId)).thenReturn(imsAdapter);
+        when(imsAdapter.findIssuesBatched(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                .stream()
+                .map(id -> Issue.builder().setId(id).build())
+                .toList());
+
+        // Act
+        List<Issue> issues = imsService.getIssuesByIds(projectId, issueIds);
+
+        // Assert
+        assertThat(issues, hasSize(ISSUE_COUNT));
+        verify(imsAdapter, times(1)).findIssuesBatched(issueIds);
+        verify(imsAdapter, never()).findIssue(anyString());
+    }
+
+    private void mockBlockingIms() {
+        when(imsAdapterFactory.getImsAdapterForProject(projectId)).thenReturn(imsAdapter);
+        when(imsAdapter.findIssue(anyString())).thenAnswer(invocation -> {
+            imsRequests.incrementAndGet();
+            maxRunningImsRequests.accumulateAndGet(runningImsRequests.incrementAndGet(), Math::max);
+            try {
+                releaseIms.await();
+            } finally {
+                runningImsRequests.decrementAndGet();
+            }
+            return Optional.of(Issue.builder().setId(invocation.getArgument(0)).build());
+        });
+    }
+
+    /**
+     * Waits until the given thread waits for the result of its IMS request.
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertThat("lookup finished before the IMS responded", thread.isAlive(), is(true));
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
+
+import de.unistuttgart.iste.meitrex.generated.dto.Issue;
+import de.unistuttgart.iste.meitrex.generated.dto.IssueState;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class IssueIndexTest {
+
+    private final UUID assigneeId = UUID.randomUUID();
+
+    @Test
+    void testBucketsPreserveOrder() {
+        // Arrange
+        List<Issue> issues = List.of(
+                issue("1", "todo", 1, List.of(assigneeId)),
+                issue("2", "done", 1, List.of()),
+                issue("3", "todo", null, List.of(assigneeId)),
+                issue("4", "todo", 2, List.of()));
+
+        // Act
+        IssueIndex index = IssueIndex.of(issues);
+
+        // Assert
+        assertThat(ids(index.getByStateId("todo")), contains("1", "3", "4"));
+        assertThat(ids(index.getBySprintNumber(1)), contains("1", "2"));
+        assertThat(ids(index.getBySprintNumber(null)), contains("3"));
+        assertThat(ids(index.getByAssigneeId(assigneeId)), contains("1", "3"));
+        assertThat(index.getByStateId("unknown"), is(empty()));
+    }
+
+    @Test
+    void testWithIssuesMovesIssueBetweenBuckets() {
+        // Arrange
+        IssueIndex index = IssueIndex.of(List.of(
+                issue("1", "todo", 1, List.of()),
+                issue("2", "todo", 1, List.of())));
+
+        // Act
+        IssueIndex updated = index.withIssues(List.of(issue("1", "done", 1, List.of())));
+
+        // Assert
+        assertThat(ids(updated.getIssues()), contains("1", "2"));
+        assertThat(ids(updated.getByStateId("todo")), contains("2"));
+        assertThat(ids(updated.getByStateId("done")), contains("1"));
+        // the old index is not changed
+        assertThat(ids(index.getByStateId("todo")), contains("1", "2"));
+    }
+
+    private static List<String> ids(List<Issue> issues) {
+        return issues.stream().map(Issue::getId).toList();
+    }
+
+    private static Issue issue(String id, String stateId, Integer sprintNumber, List<UUID> assigneeIds) {
+        return Issue.builder()
+                .setId(id)
+                .setState(IssueState.builder().setImsStateId(stateId).build())
+                .setSprintNumber(sprintNumber)
+                .setAssigneeIds(assigneeIds)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.ims;
+
+import de.unistuttgart.iste.meitrex.generated.dto.CreateEventInput;
+import de.unistuttgart.iste.meitrex.generated.dto.Event;
+import de.unistuttgart.iste.meitrex.generated.dto.Issue;
+import de.unistuttgart.iste.meitrex.generated.dto.Project;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
+import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsAdapter;
+import de.unistuttgart.iste.meitrex.scrumgame.service.auth.AuthTokenFromHeaderSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IssueStoreTest {
+
+    @Mock
+    private ImsAdapterFactory imsAdapterFactory;
+
+    @Mock
+    private EventPublisher<Event, CreateEventInput> eventPublisher;
+
+    @Spy
+    private ImsRequestLimiter imsRequestLimiter = new ImsRequestLimiter();
+
+    @InjectMocks
+    private IssueStore issueStore;
+
+    private final ImsAdapter imsAdapter = mock(ImsAdapter.class);
+    private final Project    project    = Project.builder().setId(UUID.randomUUID()).build();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(issueStore, "fullRefreshInterval", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(imsRequestLimiter, "maxConcurrentRequestsPerProject", 4);
+        ReflectionTestUtils.setField(imsRequestLimiter, "requestTimeout", Duration.ofSeconds(5));
+        when(imsAdapterFactory.getImsAdapterForProject(project)).thenReturn(imsAdapter);
+        when(imsAdapter.getIssues(project.getId())).thenReturn(List.of(issue("1", 1), issue("2", 1)));
+    }
+
+    @Test
+    void testIssuesAreFetchedOnlyOnce() {
+        // Act
+        issueStore.getIssues(project);
+        List<Issue> issues = issueStore.getIssues(project);
+
+        // Assert
+        assertThat(issues.stream().map(Issue::getId).toList(), contains("1", "2"));
+        verify(imsAdapter, times(1)).getIssues(project.getId());
+    }
+
+    @Test
+    void testPutReplacesIssueAndKeepsOrder() {
+        // Arrange
+        issueStore.getIssues(project);
+
+        // Act
+        issueStore.put(project.getId(), issue("1", 2));
+        issueStore.put(project.getId(), issue("3", 2));
+        List<Issue> issues = issueStore.getIssues(project);
+
+        // Assert
+        assertThat(issues.stream().map(Issue::getId).toList(), contains("1", "2", "3"));
+        assertThat(issues.getFirst().getSprintNumber(), is(2));
+    }
+
+    @Test
+    void testChangedIssuesAreFetchedInBackground() {
+        // Arrange
+        when(imsAdapter.findIssuesBatched(List.of("2"))).thenReturn(List.of(issue("2", 3)));
+        issueStore.getIssues(project);
+
+        // Act
+        issueStore.markChanged(project.getId(), "2");
+        List<Issue> staleIssues = new ArrayList<>();
+        AuthTokenFromHeaderSupplier.runWithToken("token", () -> staleIssues.addAll(issueStore.getIssues(project)));
+
+        // Assert
+        assertThat(staleIssues.get(1).getSprintNumber(), is(1)); // served from memory, not waiting for the IMS
+        verify(imsAdapter, timeout(5000)).findIssuesBatched(List.of("2"));
+        verify(imsAdapter, times(1)).getIssues(project.getId());
+    }
+
+    private Issue issue(String id, Integer sprintNumber) {
+        return Issue.builder()
+                .setId(id)
+                .setProjectId(project.getId())
+                .setSprintNumber(sprintNumber)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.generated.dto.MeetingType;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that updates of a meeting that was changed concurrently are retried with the current state. The database
+ * is simulated with a versioned meeting that only accepts writes based on its current version.
+ */
+class MeetingConcurrencyControlTest {
+
+    private final MeetingConcurrencyControl meetingConcurrencyControl = new MeetingConcurrencyControl();
+
+    @Test
+    void testInterleavedUpdatesOfDifferentInstancesAreBothStored() {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        // the other instance of the service, which has its own locks
+        MeetingConcurrencyControl otherInstance = new MeetingConcurrencyControl();
+        AtomicReference<StoredMeeting> database = new AtomicReference<>(new StoredMeeting(0, List.of()));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        meetingConcurrencyControl.update(projectId, MeetingType.RETROSPECTIVE, () -> {
+            StoredMeeting meeting = database.get();
+            if (attempts.incrementAndGet() == 1) {
+                // the other instance updates the meeting between loading and saving it
+                otherInstance.update(projectId, MeetingType.RETROSPECTIVE,
+                        () -> save(database, database.get(), "other instance"));
+            }
+            return save(database, meeting, "this instance");
+        });
+
+        // Assert
+        assertThat(attempts.get(), is(2));
+        assertThat(database.get().version(), is(2));
+        assertThat(database.get().modifications(), contains("other instance", "this instance"));
+    }
+
+    @Test
+    void testConcurrentlyChangedMeetingIsRetried() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = meetingConcurrencyControl.update(UUID.randomUUID(), MeetingType.STANDUP, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new OptimisticLockingFailureException("changed by another instance");
+            }
+            return "updated";
+        });
+
+        // Assert
+        assertThat(result, is("updated"));
+        assertThat(attempts.get(), is(2));
+    }
+
+    @Test
+    void testNumberOfAttemptsIsBounded() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> meetingConcurrencyControl.update(UUID.randomUUID(), MeetingType.STANDUP, () -> {
+                    attempts.incrementAndGet();
+                    throw new OptimisticLockingFailureException("changed by another instance");
+                }));
+        assertThat(attempts.get(), is(3));
+    }
+
+    /**
+     * Saves the loaded meeting with the given modification if it was not changed since it was loaded.
+     */
+    private static StoredMeeting save(AtomicReference<StoredMeeting> database, StoredMeeting loaded,
+                                      String modification) {
+        List<String> modifications = new ArrayList<>(loaded.modifications());
+        modifications.add(modification);
+        StoredMeeting saved = new StoredMeeting(loaded.version() + 1, modifications);
+        if (!database.compareAndSet(loaded, saved)) {
+            throw new OptimisticLockingFailureException("changed by another instance");
+        }
+        return saved;
+    }
+
+    private record StoredMeeting(int version, List<String> modifications) {
+    }
+}
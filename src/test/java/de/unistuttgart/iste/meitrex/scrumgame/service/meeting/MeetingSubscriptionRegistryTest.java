@@ -0,0 +1,122 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.generated.dto.Meeting;
+import de.unistuttgart.iste.meitrex.generated.dto.MeetingType;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeeting;
+import de.unistuttgart.iste.meitrex.generated.dto.StandupMeeting;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+class MeetingSubscriptionRegistryTest {
+
+    private final UUID projectId = UUID.randomUUID();
+
+    private final AtomicInteger               loadCount      = new AtomicInteger();
+    private final Map<MeetingType, Meeting>   activeMeetings = new ConcurrentHashMap<>();
+    private final MeetingSubscriptionRegistry registry       = new MeetingSubscriptionRegistry(
+            (projectId, meetingType) -> {
+                loadCount.incrementAndGet();
+                return Optional.ofNullable(activeMeetings.get(meetingType));
+            });
+
+    @Test
+    void testActiveMeetingIsLoadedOnceForAllSubscribers() {
+        // Arrange
+        StandupMeeting standup = standupMeeting(true);
+        activeMeetings.put(MeetingType.STANDUP, standup);
+        List<StandupMeeting> first = new CopyOnWriteArrayList<>();
+        List<StandupMeeting> second = new CopyOnWriteArrayList<>();
+
+        // Act
+        registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe(first::add);
+        registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe(second::add);
+
+        // Assert
+        assertThat(first, contains(standup));
+        assertThat(second, contains(standup));
+        assertThat(loadCount.get(), is(1));
+    }
+
+    @Test
+    void testNewSubscriberReceivesLatestPublishedState() {
+        // Arrange
+        activeMeetings.put(MeetingType.STANDUP, standupMeeting(true));
+        registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe();
+        StandupMeeting updated = standupMeeting(true);
+        registry.publish(updated);
+        List<StandupMeeting> received = new CopyOnWriteArrayList<>();
+
+        // Act
+        registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe(received::add);
+
+        // Assert
+        assertThat(received, contains(updated));
+        assertThat(loadCount.get(), is(1));
+    }
+
+    @Test
+    void testMeetingsAreOnlyEmittedToTheirTopic() {
+        // Arrange
+        List<PlanningMeeting> planningUpdates = new CopyOnWriteArrayList<>();
+        registry.subscribe(projectId, MeetingType.PLANNING, PlanningMeeting.class).subscribe(planningUpdates::add);
+
+        // Act
+        registry.publish(standupMeeting(true));
+
+        // Assert
+        assertThat(planningUpdates, is(empty()));
+    }
+
+    @Test
+    void testFinishedMeetingIsNotReplayedToNewSubscribers() {
+        // Arrange
+        StandupMeeting active = standupMeeting(true);
+        activeMeetings.put(MeetingType.STANDUP, active);
+        List<StandupMeeting> live = new CopyOnWriteArrayList<>();
+        registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe(live::add);
+        StandupMeeting finished = standupMeeting(false);
+        registry.publish(finished);
+        List<StandupMeeting> late = new CopyOnWriteArrayList<>();
+
+        // Act
+        registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe(late::add);
+
+        // Assert
+        assertThat(live, contains(active, finished));
+        assertThat(late, is(empty()));
+    }
+
+    @Test
+    void testTopicIsRemovedWhenLastSubscriberLeaves() {
+        // Arrange
+        Disposable first = registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe();
+        Disposable second = registry.subscribe(projectId, MeetingType.STANDUP, StandupMeeting.class).subscribe();
+
+        // Act
+        first.dispose();
+        int topicsAfterFirstLeft = registry.getTopicCount();
+        second.dispose();
+
+        // Assert
+        assertThat(topicsAfterFirstLeft, is(1));
+        assertThat(registry.getTopicCount(), is(0));
+    }
+
+    private StandupMeeting standupMeeting(boolean active) {
+        return StandupMeeting.builder()
+                .setProjectId(projectId)
+                .setMeetingType(MeetingType.STANDUP)
+                .setActive(active)
+                .setAttendees(List.of())
+                .build();
+    }
+}
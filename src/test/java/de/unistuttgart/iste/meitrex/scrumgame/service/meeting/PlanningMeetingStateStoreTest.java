@@ -0,0 +1,242 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.common.exception.MeitrexNotFoundException;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeeting;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeetingPage;
+import de.unistuttgart.iste.meitrex.generated.dto.TShirtSizeEstimation;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.meeting.planning.PlanningMeetingEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.PlanningMeetingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlanningMeetingStateStoreTest {
+
+    @Mock
+    private PlanningMeetingRepository planningMeetingRepository;
+    @Mock
+    private ModelMapper               modelMapper;
+    @Spy
+    private MeetingConcurrencyControl meetingConcurrencyControl = new MeetingConcurrencyControl();
+
+    @InjectMocks
+    private PlanningMeetingStateStore planningMeetingStateStore;
+
+    private final UUID projectId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(planningMeetingRepository.save(any(PlanningMeetingEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(modelMapper.map(any(PlanningMeetingEntity.class), eq(PlanningMeeting.class)))
+                .thenAnswer(invocation -> PlanningMeeting.builder()
+                        .setCurrentPage(invocation.<PlanningMeetingEntity>getArgument(0).getCurrentPage())
+                        .setActive(invocation.<PlanningMeetingEntity>getArgument(0).isActive())
+                        .build());
+    }
+
+    @Test
+    void testVotesAreWrittenOnFlush() {
+        // Arrange
+        mockActiveMeeting();
+        UUID userId = UUID.randomUUID();
+
+        // Act
+        planningMeetingStateStore.update(projectId,
+                meeting -> meeting.getIssueEstimation().addVote(userId, TShirtSizeEstimation.M), false);
+        planningMeetingStateStore.update(projectId,
+                meeting -> meeting.getIssueEstimation().addVote(userId, TShirtSizeEstimation.L), false);
+
+        // Assert
+        verify(planningMeetingRepository, times(1)).findFirstByProjectIdAndActive(projectId, true);
+        verify(planningMeetingRepository, never()).save(any());
+
+        planningMeetingStateStore.flush();
+        planningMeetingStateStore.flush();
+        verify(planningMeetingRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testPhaseChangeIsWrittenImmediately() {
+        // Arrange
+        mockActiveMeeting();
+
+        // Act
+        PlanningMeeting result = planningMeetingStateStore.update(projectId,
+                meeting -> meeting.setCurrentPage(PlanningMeetingPage.ESTIMATE_ISSUES), true);
+
+        // Assert
+        assertThat(result.getCurrentPage(), is(PlanningMeetingPage.ESTIMATE_ISSUES));
+        verify(planningMeetingRepository, times(1)).save(any());
+        assertThat(planningMeetingStateStore.findInMemory(projectId).orElseThrow().getCurrentPage(),
+                is(PlanningMeetingPage.ESTIMATE_ISSUES));
+    }
+
+    @Test
+    void testStateIsReloadedAfterFailedUpdate() {
+        // Arrange
+        mockActiveMeeting();
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> planningMeetingStateStore.update(projectId, meeting -> {
+            meeting.setCurrentPage(PlanningMeetingPage.SPRINT_GOAL);
+            throw new IllegalStateException("IMS not available");
+        }, true));
+        PlanningMeeting result = planningMeetingStateStore.update(projectId, meeting -> {
+        }, false);
+
+        // Assert
+        assertThat(result.getCurrentPage(), is(PlanningMeetingPage.INFORMATION));
+        verify(planningMeetingRepository, times(2)).findFirstByProjectIdAndActive(projectId, true);
+    }
+
+    @Test
+    void testUnwrittenVotesAreKeptIfWriteBeforePhaseChangeFails() {
+        // Arrange
+        mockActiveMeeting();
+        planningMeetingStateStore.update(projectId,
+                meeting -> meeting.getIssueEstimation().addVote(UUID.randomUUID(), TShirtSizeEstimation.M), false);
+        AtomicBoolean databaseAvailable = new AtomicBoolean(false);
+        List<PlanningMeetingEntity> savedMeetings = mockSave(() -> {
+            if (!databaseAvailable.get()) {
+                throw new IllegalStateException("database not available");
+            }
+        });
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> planningMeetingStateStore.update(projectId,
+                meeting -> meeting.setCurrentPage(PlanningMeetingPage.ESTIMATE_ISSUES), true));
+        databaseAvailable.set(true);
+        planningMeetingStateStore.flush();
+
+        // Assert
+        // the meeting is loaded again, as it might not match the database after the failed write
+        verify(planningMeetingRepository, times(2)).findFirstByProjectIdAndActive(projectId, true);
+        assertThat(savedMeetings, hasSize(1));
+        assertThat(savedMeetings.getFirst().getIssueEstimation().getVotes(), hasSize(1));
+        assertThat(savedMeetings.getFirst().getCurrentPage(), is(PlanningMeetingPage.INFORMATION));
+    }
+
+    @Test
+    void testUnwrittenVotesOfOtherUsersAreKeptIfUpdateConflictsInEveryAttempt() {
+        // Arrange
+        mockActiveMeeting();
+        planningMeetingStateStore.update(projectId,
+                meeting -> meeting.getIssueEstimation().addVote(UUID.randomUUID(), TShirtSizeEstimation.M), false);
+        AtomicBoolean conflicting = new AtomicBoolean(true);
+        List<PlanningMeetingEntity> savedMeetings = mockSave(() -> {
+            if (conflicting.get()) {
+                throw new OptimisticLockingFailureException("changed by another instance");
+            }
+        });
+
+        // Act
+        assertThrows(OptimisticLockingFailureException.class, () -> planningMeetingStateStore.update(projectId,
+                meeting -> meeting.setCurrentPage(PlanningMeetingPage.ESTIMATE_ISSUES), true));
+        conflicting.set(false);
+        planningMeetingStateStore.flush();
+
+        // Assert
+        // the conflict is thrown to the caller of the phase change, the vote of the other user is still written
+        assertThat(savedMeetings, hasSize(1));
+        assertThat(savedMeetings.getFirst().getIssueEstimation().getVotes(), hasSize(1));
+        assertThat(savedMeetings.getFirst().getCurrentPage(), is(PlanningMeetingPage.INFORMATION));
+    }
+
+    @Test
+    void testUnwrittenVotesAreAppliedAgainIfMeetingWasChangedConcurrently() {
+        // Arrange
+        mockActiveMeeting();
+        planningMeetingStateStore.update(projectId,
+                meeting -> meeting.getIssueEstimation().addVote(UUID.randomUUID(), TShirtSizeEstimation.M), false);
+        List<PlanningMeetingEntity> savedMeetings = new ArrayList<>();
+        when(planningMeetingRepository.save(any(PlanningMeetingEntity.class)))
+                .thenThrow(new OptimisticLockingFailureException("changed by another instance"))
+                .thenAnswer(invocation -> {
+                    savedMeetings.add(invocation.getArgument(0));
+                    return invocation.getArgument(0);
+                });
+
+        // Act
+        planningMeetingStateStore.flush();
+
+        // Assert
+        // the vote is applied to the meeting loaded again instead of being discarded
+        verify(planningMeetingRepository, times(2)).findFirstByProjectIdAndActive(projectId, true);
+        assertThat(savedMeetings, hasSize(1));
+        assertThat(savedMeetings.getFirst().getIssueEstimation().getVotes(), hasSize(1));
+        assertThat(planningMeetingStateStore.findInMemory(projectId).isPresent(), is(true));
+    }
+
+    @Test
+    void testFinishedMeetingIsWrittenAndRemovedFromMemory() {
+        // Arrange
+        mockActiveMeeting();
+
+        // Act
+        planningMeetingStateStore.update(projectId, meeting -> meeting.setActive(false), false);
+
+        // Assert
+        verify(planningMeetingRepository, times(1)).save(any());
+        assertThat(planningMeetingStateStore.findInMemory(projectId).isPresent(), is(false));
+    }
+
+    @Test
+    void testUpdateWithoutActiveMeetingFails() {
+        // Arrange
+        when(planningMeetingRepository.findFirstByProjectIdAndActive(projectId, true)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(MeitrexNotFoundException.class,
+                () -> planningMeetingStateStore.update(projectId, meeting -> {
+                }, false));
+        assertThat(planningMeetingStateStore.findInMemory(projectId).isPresent(), is(false));
+    }
+
+    /**
+     * Mocks the save method of the repository, which runs the given check before saving the meeting.
+     *
+     * @return the saved meetings
+     */
+    private List<PlanningMeetingEntity> mockSave(Runnable check) {
+        List<PlanningMeetingEntity> savedMeetings = new ArrayList<>();
+        when(planningMeetingRepository.save(any(PlanningMeetingEntity.class))).thenAnswer(invocation -> {
+            check.run();
+            savedMeetings.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        return savedMeetings;
+    }
+
+    private void mockActiveMeeting() {
+        // a new entity for every load, like entities loaded in different persistence contexts
+        when(planningMeetingRepository.findFirstByProjectIdAndActive(projectId, true))
+                .thenAnswer(invocation -> {
+                    PlanningMeetingEntity meeting = PlanningMeetingEntity.builder().build();
+                    meeting.setActive(true);
+                    return Optional.of(meeting);
+                });
+    }
+}
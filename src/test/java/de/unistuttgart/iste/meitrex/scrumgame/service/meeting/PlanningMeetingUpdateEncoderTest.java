@@ -0,0 +1,110 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.meeting;
+
+import de.unistuttgart.iste.meitrex.generated.dto.MeetingType;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeeting;
+import de.unistuttgart.iste.meitrex.generated.dto.PlanningMeetingPage;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class PlanningMeetingUpdateEncoderTest {
+
+    private static final Duration FRAME_WINDOW = Duration.ofMillis(50);
+
+    private final UUID                        projectId = UUID.randomUUID();
+    private final Sinks.Many<PlanningMeeting> meetings  = Sinks.many().replay().latest();
+
+    private final PlanningMeetingUpdateEncoder encoder
+            = new PlanningMeetingUpdateEncoder(id -> meetings.asFlux(), FRAME_WINDOW);
+
+    @Test
+    void testSnapshotIsFollowedByChanges() {
+        // Arrange
+        meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.INFORMATION));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> encoder.getUpdates(projectId))
+                .thenAwait(FRAME_WINDOW)
+                .assertNext(update -> {
+                    assertThat(update.getVersion(), is(0));
+                    assertThat(update.getSnapshot().getCurrentPage(), is(PlanningMeetingPage.INFORMATION));
+                    assertThat(update.getChanges(), is(nullValue()));
+                })
+                .then(() -> meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.CHOOSE_ANIMAL)))
+                .thenAwait(FRAME_WINDOW)
+                .assertNext(update -> {
+                    assertThat(update.getVersion(), is(1));
+                    assertThat(update.getSnapshot(), is(nullValue()));
+                    assertThat(update.getChanges().getCurrentPage(), is(PlanningMeetingPage.CHOOSE_ANIMAL));
+                    assertThat(update.getChanges().getAnimalVoting(), is(nullValue()));
+                    assertThat(update.getChanges().getAttendees(), is(nullValue()));
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testUpdatesWithinOneFrameAreCombined() {
+        // Arrange
+        meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.INFORMATION));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> encoder.getUpdates(projectId))
+                .thenAwait(FRAME_WINDOW)
+                .expectNextCount(1)
+                .then(() -> {
+                    meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.CHOOSE_ANIMAL));
+                    meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.NAME_ANIMAL));
+                })
+                .thenAwait(FRAME_WINDOW)
+                .assertNext(update -> {
+                    assertThat(update.getVersion(), is(1));
+                    assertThat(update.getChanges().getCurrentPage(), is(PlanningMeetingPage.NAME_ANIMAL));
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testUnchangedMeetingIsNotSent() {
+        // Arrange
+        meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.INFORMATION));
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> encoder.getUpdates(projectId))
+                .thenAwait(FRAME_WINDOW)
+                .expectNextCount(1)
+                .then(() -> meetings.tryEmitNext(planningMeeting(PlanningMeetingPage.INFORMATION)))
+                .thenAwait(FRAME_WINDOW)
+                .expectNoEvent(FRAME_WINDOW)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testDiffOfEqualMeetingsIsNull() {
+        // Act
+        var diff = PlanningMeetingUpdateEncoder.diff(planningMeeting(PlanningMeetingPage.SPRINT_GOAL),
+                planningMeeting(PlanningMeetingPage.SPRINT_GOAL));
+
+        // Assert
+        assertThat(diff, is(nullValue()));
+    }
+
+    private PlanningMeeting planningMeeting(PlanningMeetingPage page) {
+        return PlanningMeeting.builder()
+                .setProjectId(projectId)
+                .setMeetingType(MeetingType.PLANNING)
+                .setActive(true)
+                .setAttendees(List.of())
+                .setCurrentPage(page)
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BurnChartCalculatorTest {
+
+    @Test
+    void testSumPerBucketClampsToSprint() {
+        // Arrange
+        long[] times = {-5, 0, 15, 25, 100};
+        int[] storyPoints = {1, 2, 3, 4, 5};
+
+        // Act
+        int[] result = BurnChartCalculator.sumPerBucket(0, 10, 3, times, storyPoints);
+
+        // Assert
+        assertThat(result, is(new int[]{3, 3, 9}));
+    }
+
+    @Test
+    void testBurnDownAndBurnUp() {
+        // Arrange
+        int[] completed = {0, 3, 0, 5, 2};
+
+        // Act
+        int[] burnDown = BurnChartCalculator.burnDown(10, completed);
+        int[] burnUp = BurnChartCalculator.prefixSum(completed);
+
+        // Assert
+        assertThat(burnDown, is(new int[]{10, 7, 7, 2, 0}));
+        assertThat(burnUp, is(new int[]{0, 3, 3, 8, 10}));
+    }
+
+    @Test
+    void testScopeChange() {
+        // Arrange
+        int[] added = {0, 4, 0};
+        int[] burnUp = {2, 2, 6};
+
+        // Act
+        int[] scope = BurnChartCalculator.scope(10, added);
+        int[] remaining = BurnChartCalculator.remaining(scope, burnUp);
+
+        // Assert
+        assertThat(scope, is(new int[]{10, 14, 14}));
+        assertThat(remaining, is(new int[]{8, 12, 8}));
+    }
+
+    @Test
+    void testIdealLine() {
+        assertThat(BurnChartCalculator.idealLine(10, 5), is(new int[]{8, 6, 4, 2, 0}));
+        assertThat(BurnChartCalculator.idealLine(10, 0), is(new int[0]));
+    }
+}
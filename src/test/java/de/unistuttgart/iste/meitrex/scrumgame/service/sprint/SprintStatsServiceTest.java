@@ -1,7 +1,11 @@
 package de.unistuttgart.iste.meitrex.scrumgame.service.sprint;
 
 import de.unistuttgart.iste.meitrex.generated.dto.*;
+import de.unistuttgart.iste.meitrex.rulesengine.util.EventPublisher;
 import de.unistuttgart.iste.meitrex.scrumgame.ims.ImsEventTypes;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintStatsEntity;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.entity.sprint.SprintStatsEntity.SprintStatsId;
+import de.unistuttgart.iste.meitrex.scrumgame.persistence.repository.SprintStatsRepository;
 import de.unistuttgart.iste.meitrex.scrumgame.service.event.EventService;
 import de.unistuttgart.iste.meitrex.scrumgame.service.ims.ImsServiceExtension;
 import org.junit.jupiter.api.Test;
@@ -16,6 +20,9 @@ import java.util.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +37,12 @@ class SprintStatsServiceTest {
     @Mock
     private SprintService sprintService;
 
+    @Mock
+    private SprintStatsRepository sprintStatsRepository;
+
+    @Mock
+    private EventPublisher<Event, CreateEventInput> eventPublisher;
+
     @InjectMocks
     private SprintStatsService sprintStatsService;
 
@@ -84,10 +97,42 @@ class SprintStatsServiceTest {
 
         // Act
         SprintStats sprintStats1 = sprintStatsService.getSprintStats(sprint);
+        int hashCode = sprintStats1.hashCode();
         SprintStats sprintStats2 = sprintStatsService.getSprintStats(sprint);
 
         // Assert
-        assertThat(sprintStats1, is(sameInstance(sprintStats2)));
+        verify(imsServiceExtension, times(1)).getIssuesBySprints(any());
+        assertThat(sprintStats2, is(sprintStats1));
+        // the cached stats are not updated in place, so they can still be found in maps, e.g., of batch mappings
+        assertThat(sprintStats2, is(not(sameInstance(sprintStats1))));
+        assertThat(sprintStats1.hashCode(), is(hashCode));
+    }
+
+    @Test
+    void testRunningSprintStatsInvalidatedDuringCalculationAreNotCached() {
+        // Arrange
+        UUID projectId = UUID.randomUUID();
+        Sprint sprint = Sprint.builder()
+                .setProject(Project.builder().setId(projectId).build())
+                .setStartDate(OffsetDateTime.now().minusDays(1))
+                .setEndDate(OffsetDateTime.now().plusDays(7))
+                .build();
+
+        // an issue event is received while the issues of the first calculation are fetched
+        when(imsServiceExtension.getIssuesBySprints(any()))
+                .thenAnswer(invocation -> {
+                    sprintStatsService.invalidateRunningSprintStats(projectId);
+                    return Map.of(sprint, List.of());
+                })
+                .thenReturn(Map.of(sprint, List.of()));
+
+        // Act
+        sprintStatsService.getSprintStats(sprint);
+        sprintStatsService.getSprintStats(sprint);
+        sprintStatsService.getSprintStats(sprint);
+
+        // Assert
+        verify(imsServiceExtension, times(2)).getIssuesBySprints(any());
     }
 
     @Test
@@ -111,9 +156,11 @@ class SprintStatsServiceTest {
         when(imsServiceExtension.getIssuesBySprints(any()))
                 .thenReturn(Map.of(sprint, List.of(issue1, issue2, issue3)));
 
-        when(eventService.getEventsForIssue(issue1)).thenReturn(List.of(issue1Completed));
-        when(eventService.getEventsForIssue(issue2)).thenReturn(List.of(issue2Completed));
-        when(eventService.getEventsForIssue(issue3)).thenReturn(List.of(issue3Completed));
+        when(eventService.getEventsForIssues(List.of(issue1.getId(), issue2.getId(), issue3.getId())))
+                .thenReturn(Map.of(
+                        issue1.getId(), List.of(issue1Completed),
+                        issue2.getId(), List.of(issue2Completed),
+                        issue3.getId(), List.of(issue3Completed)));
 
         when(sprintService.findSprint(any(), any())).thenReturn(Optional.empty());
 
@@ -161,6 +208,42 @@ class SprintStatsServiceTest {
     }
 
 
+    @Test
+    void testStreakUsesStoredStatsOfPreviousSprint() {
+        // Arrange
+        Project project = Project.builder().setId(UUID.randomUUID()).build();
+        Sprint previousSprint = Sprint.builder()
+                .setProject(project)
+                .setNumber(1)
+                .setStoryPointsPlanned(5)
+                .build();
+        Sprint sprint = Sprint.builder()
+                .setProject(project)
+                .setNumber(2)
+                .setStoryPointsPlanned(3)
+                .build();
+
+        when(sprintService.findSprint(project.getId(), 1)).thenReturn(Optional.of(previousSprint));
+        when(sprintStatsRepository.findById(new SprintStatsId(project.getId(), 1)))
+                .thenReturn(Optional.of(SprintStatsEntity.builder()
+                        .id(new SprintStatsId(project.getId(), 1))
+                        .storyPointsPlanned(5)
+                        .successState(SprintSuccessState.SUCCESS)
+                        .streak(2)
+                        .totalStoryPoints(5)
+                        .build()));
+        when(imsServiceExtension.getIssuesBySprints(List.of(sprint)))
+                .thenReturn(Map.of(sprint, List.of(createIssue(3, IssueStateType.DONE))));
+
+        // Act
+        SprintStats sprintStats = sprintStatsService.getSprintStats(sprint);
+
+        // Assert
+        assertThat(sprintStats.getSuccessState(), is(SprintSuccessState.SUCCESS));
+        assertThat(sprintStats.getStreak(), is(3));
+        verify(imsServiceExtension, never()).getIssuesBySprints(List.of(sprint, previousSprint));
+    }
+
     private Issue createIssue(int sp, IssueStateType stateType) {
         return Issue.builder()
                 .setStoryPoints(sp)